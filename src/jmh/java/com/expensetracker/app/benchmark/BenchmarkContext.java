@@ -0,0 +1,131 @@
+package com.expensetracker.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.expensetracker.app.ExpenseTrackerApplication;
+import com.expensetracker.app.dto.RegisterRequest;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.AuthService;
+import com.expensetracker.app.service.ExpenseService;
+
+/**
+ * Application context backed by a private in-memory H2 database created from
+ * schema.sql, with a synthetic dataset of expenses owned by a single user.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    static final String USERNAME = "benchuser";
+    static final String PASSWORD = "benchpassword";
+
+    private final ConfigurableApplicationContext context;
+    private final User user;
+    private final String token;
+
+    private BenchmarkContext(ConfigurableApplicationContext context, User user, String token) {
+        this.context = context;
+        this.user = user;
+        this.token = token;
+    }
+
+    /**
+     * Start the application and load the dataset
+     *
+     * @param rows number of expenses owned by the benchmark user
+     * @return the started context
+     */
+    static BenchmarkContext start(int rows) {
+        return start(rows, WebApplicationType.NONE);
+    }
+
+    /**
+     * Start the application with its web server on a random port and load the dataset
+     *
+     * @param rows number of expenses owned by the benchmark user
+     * @param extraArgs additional application arguments, e.g. --spring.threads.virtual.enabled=true
+     * @return the started context
+     */
+    static BenchmarkContext startWeb(int rows, String... extraArgs) {
+        return start(rows, WebApplicationType.SERVLET, extraArgs);
+    }
+
+    private static BenchmarkContext start(int rows, WebApplicationType webApplicationType, String... extraArgs) {
+        // Passed as arguments so they take precedence over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                        + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.sql.init.mode=always",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--spring.devtools.restart.enabled=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.expensetracker=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        args.addAll(Arrays.asList(extraArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+
+        AuthService authService = context.getBean(AuthService.class);
+        String token = authService.register(
+                new RegisterRequest(USERNAME, USERNAME + "@example.com", PASSWORD)).getToken();
+        User user = authService.getUserByUsername(USERNAME);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (rows > 0) {
+            jdbcTemplate.update("INSERT INTO categories (name) SELECT 'Category' || X FROM SYSTEM_RANGE(0, 7)");
+            jdbcTemplate.update("INSERT INTO expenses (user_id, amount, category_id, expense_date, payment_method, " +
+                    "cash_amount, upi_amount, upi_vpa, transaction_id, payer_name, notes) " +
+                    "SELECT ?, 10 + MOD(X, 500), " +
+                    "(SELECT id FROM categories WHERE name = 'Category' || MOD(X, 8)), " +
+                    "DATEADD('DAY', -MOD(X, 1095), DATE '2025-01-01'), " +
+                    "CASE WHEN MOD(X, 2) = 0 THEN 'CASH' ELSE 'UPI' END, " +
+                    "CASE WHEN MOD(X, 2) = 0 THEN 10 + MOD(X, 500) ELSE 0 END, " +
+                    "CASE WHEN MOD(X, 2) = 0 THEN 0 ELSE 10 + MOD(X, 500) END, " +
+                    "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE 'payee' || MOD(X, 1000) || '@upi' END, " +
+                    "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE 'TXN' || X END, " +
+                    "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE 'Payer ' || MOD(X, 1000) END, " +
+                    "'Synthetic expense ' || X " +
+                    "FROM SYSTEM_RANGE(1, ?)", user.getId(), rows);
+        }
+        jdbcTemplate.execute("ANALYZE");
+
+        // Rows were inserted behind the service, so the summary aggregates start from a rebuild
+        context.getBean(ExpenseService.class).rebuildExpenseSummary(user);
+
+        return new BenchmarkContext(context, user, token);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    User getUser() {
+        return user;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    int getPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensetracker.app.benchmark;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.CsvExportService;
+import com.expensetracker.app.service.ExpenseService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks for the expense service and export hot paths at several
+ * dataset sizes, all expenses being owned by the benchmarked user.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ExpenseBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkContext context;
+    private ExpenseService expenseService;
+    private CsvExportService csvExportService;
+    private ObjectMapper objectMapper;
+    private User user;
+    private ExpenseFilterDTO categoryFilter;
+    private List<Expense> expenses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows);
+        expenseService = context.getBean(ExpenseService.class);
+        csvExportService = context.getBean(CsvExportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        user = context.getUser();
+
+        // One category out of eight, the common dashboard filter
+        categoryFilter = new ExpenseFilterDTO("Category3", null, null, null, null, null);
+        expenses = expenseService.getFilteredExpenses(new ExpenseFilterDTO(), user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Expense> getFilteredExpenses() {
+        return expenseService.getFilteredExpenses(categoryFilter, user);
+    }
+
+    @Benchmark
+    public ExpenseSummaryDTO getExpenseSummary() {
+        return expenseService.getExpenseSummary(user);
+    }
+
+    @Benchmark
+    public String exportExpensesToCsv() {
+        return csvExportService.exportExpensesToCsv(expenses);
+    }
+
+    @Benchmark
+    public long streamExpensesToCsv() {
+        return csvExportService.streamExpensesToCsv(new ExpenseFilterDTO(), user, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] serializeExpensesToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(expenses);
+    }
+}
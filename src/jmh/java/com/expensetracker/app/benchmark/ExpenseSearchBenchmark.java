@@ -0,0 +1,135 @@
+package com.expensetracker.app.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.ExpenseSearchIndex;
+import com.expensetracker.app.service.ExpenseService;
+
+/**
+ * Benchmarks for transaction ID substring search: the trigram index lookup
+ * alone, the expense list filtered through it, and the LIKE query it
+ * replaces. The search text matches 11 of the user's expenses. The cost of
+ * keeping the index current is measured too: building it from scratch, and
+ * the first search after a write, which applies the changed row to the
+ * previous index.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ExpenseSearchBenchmark {
+
+    private static final String TEXT = "txn12345";
+
+    @Param({"100000"})
+    public int rows;
+
+    private BenchmarkContext context;
+    private ExpenseSearchIndex searchIndex;
+    private ExpenseService expenseService;
+    private ExpenseRepository expenseRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private User user;
+    private ExpenseFilterDTO filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows);
+        searchIndex = context.getBean(ExpenseSearchIndex.class);
+        expenseService = context.getBean(ExpenseService.class);
+        expenseRepository = context.getBean(ExpenseRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        user = context.getUser();
+
+        filter = new ExpenseFilterDTO();
+        filter.setTransactionId(TEXT);
+        // Build the index once; the data does not change during the trial
+        expenseService.getExpenseList(filter, user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<List<Long>> findInIndex() {
+        return readOnly.execute(status -> searchIndex.find(user, ExpenseSearchIndex.Field.TRANSACTION_ID, TEXT));
+    }
+
+    @Benchmark
+    public List<ExpenseListItemDTO> listThroughIndex() {
+        return expenseService.getExpenseList(filter, user);
+    }
+
+    @Benchmark
+    public List<Expense> listWithLike() {
+        return expenseRepository.findByUserAndTransactionIdContainingIgnoreCase(user, TEXT);
+    }
+
+    @Benchmark
+    public Optional<List<Long>> buildIndex() {
+        // A new index has nothing cached, so the first search builds it from every row
+        ExpenseSearchIndex empty = new ExpenseSearchIndex(expenseRepository, jdbcTemplate, 5_000_000, 1000);
+        return readOnly.execute(status -> empty.find(user, ExpenseSearchIndex.Field.TRANSACTION_ID, TEXT));
+    }
+
+    @Benchmark
+    public Optional<List<Long>> findAfterWrite(Write write) {
+        return findInIndex();
+    }
+
+    /**
+     * Updates one of the user's expenses before each invocation, so that the
+     * search that follows refreshes the index
+     */
+    @State(Scope.Benchmark)
+    public static class Write {
+
+        private Expense expense;
+        private int edits;
+
+        @Setup(Level.Invocation)
+        public void write(ExpenseSearchBenchmark benchmark) {
+            if (expense == null) {
+                expense = benchmark.expenseRepository
+                        .findByUserAndTransactionIdContainingIgnoreCase(benchmark.user, TEXT).get(0);
+            }
+            expense.setNotes("Edit " + edits++);
+            expense.setVersion(null);
+            benchmark.expenseService.updateExpense(expense.getId(), expense, benchmark.user);
+        }
+    }
+}
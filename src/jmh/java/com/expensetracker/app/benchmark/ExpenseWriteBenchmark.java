@@ -0,0 +1,89 @@
+package com.expensetracker.app.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.app.dto.BulkExpenseResultDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.ExpenseBulkService;
+import com.expensetracker.app.service.ExpenseService;
+
+/**
+ * Benchmarks comparing expense creation one row per transaction with the
+ * batched bulk path. Both report throughput in rows per second.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ExpenseWriteBenchmark {
+
+    private static final int BULK_ROWS = 1000;
+
+    private BenchmarkContext context;
+    private ExpenseService expenseService;
+    private ExpenseBulkService expenseBulkService;
+    private User user;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(0);
+        expenseService = context.getBean(ExpenseService.class);
+        expenseBulkService = context.getBean(ExpenseBulkService.class);
+        user = context.getUser();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Expense createExpense() {
+        return expenseService.createExpense(newExpense(), user);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_ROWS)
+    public BulkExpenseResultDTO createExpensesBulk() {
+        List<Expense> expenses = new ArrayList<>(BULK_ROWS);
+        for (int i = 0; i < BULK_ROWS; i++) {
+            expenses.add(newExpense());
+        }
+        return expenseBulkService.createExpenses(expenses, user);
+    }
+
+    private Expense newExpense() {
+        long n = sequence++;
+        Expense expense = new Expense(BigDecimal.valueOf(10 + n % 500), "Category" + n % 8,
+                LocalDate.of(2025, 1, 1).minusDays(n % 1095), PaymentMethod.UPI, null);
+        expense.setUpiVpa("payee" + n % 1000 + "@upi");
+        expense.setTransactionId("TXN" + n);
+        return expense;
+    }
+}
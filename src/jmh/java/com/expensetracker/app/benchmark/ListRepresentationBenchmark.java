@@ -0,0 +1,112 @@
+package com.expensetracker.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.ExpenseService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks for the expense list endpoint: loading entities versus
+ * selecting list items, and encoding them as JSON, CBOR or Smile. The
+ * encoded payload sizes are printed once per trial.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class ListRepresentationBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private BenchmarkContext context;
+    private ExpenseService expenseService;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private User user;
+    private ExpenseFilterDTO allExpenses;
+    private List<Expense> entities;
+    private List<ExpenseListItemDTO> items;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = BenchmarkContext.start(rows);
+        expenseService = context.getBean(ExpenseService.class);
+        jsonMapper = context.getBean(ObjectMapper.class);
+        cborMapper = context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+        smileMapper = context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+        user = context.getUser();
+
+        allExpenses = new ExpenseFilterDTO();
+        entities = expenseService.getFilteredExpenses(allExpenses, user);
+        items = expenseService.getExpenseList(allExpenses, user);
+
+        System.out.printf("%nPayload for %d expenses: entity JSON %d bytes, item JSON %d bytes, "
+                        + "item CBOR %d bytes, item Smile %d bytes%n",
+                rows, jsonMapper.writeValueAsBytes(entities).length, jsonMapper.writeValueAsBytes(items).length,
+                cborMapper.writeValueAsBytes(items).length, smileMapper.writeValueAsBytes(items).length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Expense> loadEntities() {
+        return expenseService.getFilteredExpenses(allExpenses, user);
+    }
+
+    @Benchmark
+    public List<ExpenseListItemDTO> loadListItems() {
+        return expenseService.getExpenseList(allExpenses, user);
+    }
+
+    @Benchmark
+    public byte[] serializeEntitiesToJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] serializeListItemsToJson() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] serializeListItemsToSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] serializeListItemsToCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(items);
+    }
+}
@@ -0,0 +1,99 @@
+package com.expensetracker.app.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.MinorUnits;
+import com.expensetracker.app.model.PaymentMethod;
+
+/**
+ * Benchmarks for summing expense amounts the way a bulk insert updates the
+ * aggregates: overall, per payment method and per category. Compares a
+ * BigDecimal per addition with summing in minor units. Run with
+ * {@code -prof gc} to see the allocation per operation.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    // A bulk insert chunk, and a large import
+    @Param({"500", "10000"})
+    public int rows;
+
+    private List<Expense> expenses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        expenses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2);
+            expenses.add(new Expense(amount, "Category" + i % 8, null,
+                    i % 2 == 0 ? PaymentMethod.CASH : PaymentMethod.UPI, null));
+        }
+    }
+
+    @Benchmark
+    public Object sumBigDecimal() {
+        BigDecimal amount = BigDecimal.ZERO;
+        BigDecimal cashAmount = BigDecimal.ZERO;
+        BigDecimal upiAmount = BigDecimal.ZERO;
+        Map<String, BigDecimal> categories = new HashMap<>();
+        for (Expense expense : expenses) {
+            amount = amount.add(expense.getAmount());
+            if (expense.getPaymentMethod() == PaymentMethod.CASH) {
+                cashAmount = cashAmount.add(expense.getAmount());
+            } else {
+                upiAmount = upiAmount.add(expense.getAmount());
+            }
+            categories.merge(expense.getCategory(), expense.getAmount(), BigDecimal::add);
+        }
+        return new Object[] {amount, cashAmount, upiAmount, categories};
+    }
+
+    @Benchmark
+    public Object sumMinorUnits() {
+        long amount = 0;
+        long cashAmount = 0;
+        long upiAmount = 0;
+        Map<String, MinorUnits.Total> categories = new HashMap<>();
+        for (Expense expense : expenses) {
+            long minorUnits = MinorUnits.of(expense.getAmount());
+            amount = MinorUnits.add(amount, minorUnits);
+            if (expense.getPaymentMethod() == PaymentMethod.CASH) {
+                cashAmount = MinorUnits.add(cashAmount, minorUnits);
+            } else {
+                upiAmount = MinorUnits.add(upiAmount, minorUnits);
+            }
+            categories.computeIfAbsent(expense.getCategory(), category -> new MinorUnits.Total()).add(minorUnits);
+        }
+        return new Object[] {MinorUnits.toDecimal(amount), MinorUnits.toDecimal(cashAmount),
+                MinorUnits.toDecimal(upiAmount), categories};
+    }
+}
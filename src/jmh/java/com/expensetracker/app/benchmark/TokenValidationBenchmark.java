@@ -0,0 +1,70 @@
+package com.expensetracker.app.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.app.service.AuthService;
+import com.expensetracker.app.service.AuthenticatedUserCache;
+import com.expensetracker.app.service.VerifiedTokenCache;
+
+/**
+ * Benchmarks for JWT validation, answered from the verified-token cache
+ * and with the signature checked on every call. Token validation does not
+ * depend on the number of expenses, so no dataset is loaded.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+    private BenchmarkContext context;
+    private AuthService cachingAuthService;
+    private AuthService verifyingAuthService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(0);
+        cachingAuthService = context.getBean(AuthService.class);
+        token = context.getToken();
+
+        // A zero-sized token cache keeps nothing, so every call verifies the signature
+        verifyingAuthService = new AuthService(null, null,
+                new VerifiedTokenCache(0, Duration.ofMinutes(15)),
+                new AuthenticatedUserCache(0, Duration.ofMinutes(5)), null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String validateCachedToken() {
+        return cachingAuthService.validateTokenAndGetUsername(token);
+    }
+
+    @Benchmark
+    public String validateUncachedToken() {
+        return verifyingAuthService.validateTokenAndGetUsername(token);
+    }
+}
@@ -0,0 +1,112 @@
+package com.expensetracker.app.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that caps how many threads may hold a connection at once.
+ * A permit is taken before a connection is borrowed and returned when it is
+ * closed; a thread that cannot get a permit within the maximum wait fails
+ * fast instead of queueing on the pool. With virtual threads this keeps
+ * thousands of request threads from piling onto a small connection pool and
+ * from pinning carrier threads inside the driver.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadDataSource.class);
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+
+    public BulkheadDataSource(DataSource targetDataSource, int maxConcurrent, Duration maxWait) {
+        super(targetDataSource);
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Bulkhead size must be greater than 0");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasing(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasing(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Number of connections currently held through the bulkhead
+     */
+    public int getActiveConnections() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                logger.warn("Connection bulkhead full: {} connections in use", maxConcurrent);
+                throw new SQLTransientConnectionException(
+                        "Connection bulkhead full, " + maxConcurrent + " connections in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    /**
+     * Wraps a connection so that closing it returns the permit exactly once
+     */
+    private Connection releasing(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,122 @@
+package com.expensetracker.app.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Migrates databases created before the category dictionary, whose expenses
+ * and aggregates still hold the category name in a {@code category} column,
+ * to the {@code category_id} columns. Runs once on startup, after schema.sql
+ * and before Hibernate; every step is skipped on a migrated database.
+ * <p>
+ * Expense names are added to the categories table and mapped in place. The
+ * aggregates are emptied rather than mapped, as they are rebuilt from the
+ * expenses on next use.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Configuration
+@DependsOnDatabaseInitialization
+public class CategoryMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryMigration.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CategoryMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Make Hibernate wait for the migration, so ddl-auto=update sees the migrated tables
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor categoryMigrationDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor("categoryMigration");
+    }
+
+    /**
+     * Migrate every table that still has a category name column
+     */
+    @PostConstruct
+    public void migrate() {
+        if (hasColumn("user_category_totals", "category")) {
+            migrateAggregate("user_category_totals", "uk_user_category_totals", "user_id, category_id");
+        }
+        if (hasColumn("user_monthly_totals", "category")) {
+            migrateAggregate("user_monthly_totals", "uk_user_monthly_totals",
+                    "user_id, expense_year, expense_month, category_id, payment_method");
+        }
+        if (hasColumn("expenses", "category")) {
+            migrateExpenses();
+        }
+    }
+
+    private void migrateAggregate(String table, String uniqueKey, String uniqueColumns) {
+        logger.info("Migrating {} to category ids", table);
+        // Summaries without category rows would read as complete, so they go as well
+        jdbcTemplate.update("DELETE FROM user_expense_summaries");
+        jdbcTemplate.update("DELETE FROM " + table);
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT IF EXISTS " + uniqueKey);
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN category");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS category_id INT NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + uniqueKey + " UNIQUE (" + uniqueColumns + ")");
+    }
+
+    private void migrateExpenses() {
+        logger.info("Migrating expenses to category ids");
+        jdbcTemplate.execute("ALTER TABLE expenses ADD COLUMN IF NOT EXISTS category_id INT");
+        int added = jdbcTemplate.update("INSERT INTO categories (name) " +
+                "SELECT DISTINCT e.category FROM expenses e " +
+                "WHERE NOT EXISTS (SELECT 1 FROM categories c WHERE c.name = e.category)");
+        int mapped = jdbcTemplate.update("UPDATE expenses SET category_id = " +
+                "(SELECT c.id FROM categories c WHERE c.name = expenses.category) WHERE category_id IS NULL");
+        // Both indexes cover the name column; the category index is recreated on the id below
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_category");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_expenses_user_category_date");
+        jdbcTemplate.execute("ALTER TABLE expenses DROP COLUMN category");
+        jdbcTemplate.execute("ALTER TABLE expenses ALTER COLUMN category_id SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE expenses ADD CONSTRAINT fk_expenses_category " +
+                "FOREIGN KEY (category_id) REFERENCES categories(id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_expenses_user_category_date " +
+                "ON expenses (user_id, category_id, expense_date)");
+        logger.info("Migrated {} expenses to category ids ({} new categories)", mapped, added);
+    }
+
+    private boolean hasColumn(String table, String column) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Unquoted identifiers are stored upper case by H2 and lower case by PostgreSQL
+            return hasColumn(metaData, table.toUpperCase(), column.toUpperCase())
+                    || hasColumn(metaData, table.toLowerCase(), column.toLowerCase());
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not read the columns of " + table, e);
+        }
+    }
+
+    private static boolean hasColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        try (ResultSet columns = metaData.getColumns(null, null, table, column)) {
+            return columns.next();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.expensetracker.app.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Puts a {@link BulkheadDataSource} in front of the application's DataSource
+ * when app.datasource.bulkhead.enabled is set, which it is by default when
+ * virtual threads are enabled.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+public class ConnectionBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                int maxConcurrent = environment.getRequiredProperty(
+                        "app.datasource.bulkhead.max-concurrent", Integer.class);
+                Duration maxWait = environment.getProperty(
+                        "app.datasource.bulkhead.max-wait", Duration.class, Duration.ofSeconds(5));
+                return new BulkheadDataSource(dataSource, maxConcurrent, maxWait);
+            }
+        };
+    }
+}
@@ -6,13 +6,13 @@ import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.expensetracker.app.dto.AuthenticatedUser;
+import com.expensetracker.app.service.ApplicationMetrics;
 import com.expensetracker.app.service.AuthService;
 
 import jakarta.servlet.FilterChain;
@@ -22,6 +22,8 @@ import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * JWT Authentication Filter for processing JWT tokens in requests.
+ * The user is resolved once here and stored as an {@link AuthenticatedUser}
+ * principal, which controllers receive through {@code @AuthenticationPrincipal}.
  *
  * @author Expense Tracker Team
  * @version 1.0
@@ -32,35 +34,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private ApplicationMetrics applicationMetrics;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        long start = System.nanoTime();
         try {
             String jwt = parseJwt(request);
 
             if (jwt != null) {
                 String username = authService.validateTokenAndGetUsername(jwt);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Create UserDetails
-                    UserDetails userDetails = User.withUsername(username)
-                            .password("")
-                            .authorities(Collections.emptyList())
-                            .build();
-
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (username == null) {
+                    applicationMetrics.invalidToken();
+                } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    // Resolve the user snapshot (cached) so controllers do not load it again
+                    AuthenticatedUser principal = authService.loadAuthenticatedUser(username);
+
+                    if (principal != null) {
+                        // Create authentication token
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                        // Set authentication in security context
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    } else {
+                        // Signed for a user that no longer exists
+                        applicationMetrics.invalidToken();
+                    }
                 }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
         }
+        RequestAccounting.recordAuthentication(System.nanoTime() - start);
 
         filterChain.doFilter(request, response);
     }
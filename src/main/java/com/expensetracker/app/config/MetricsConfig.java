@@ -0,0 +1,23 @@
+package com.expensetracker.app.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records {@code @Timed} methods, such as those of the expense service,
+ * next to the HTTP, JVM and connection pool meters Spring Boot registers.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
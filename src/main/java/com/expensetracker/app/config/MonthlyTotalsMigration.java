@@ -0,0 +1,102 @@
+package com.expensetracker.app.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Migrates databases created before the monthly rollups, whose expense
+ * summaries were built without {@code user_monthly_totals} rows. Those
+ * summaries are deleted so they are rebuilt, rollups included, on next use.
+ * <p>
+ * Runs once on startup, after schema.sql and before Hibernate. Nothing in the
+ * schema tells a summary built before the rollups from one whose user has
+ * since deleted every expense, so the migration records itself in the
+ * {@code schema_migrations} table and is skipped on later starts.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Configuration
+@DependsOnDatabaseInitialization
+public class MonthlyTotalsMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyTotalsMigration.class);
+
+    /** The name recorded in schema_migrations once the migration has run */
+    static final String NAME = "monthly-totals";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public MonthlyTotalsMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Make Hibernate wait for the migration, so no summary is read before it
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor monthlyTotalsMigrationDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor("monthlyTotalsMigration");
+    }
+
+    /**
+     * Delete the summaries without rollups, unless that was done before
+     */
+    @PostConstruct
+    public void migrate() {
+        // Without schema.sql there is no earlier data to migrate
+        if (!hasTable("schema_migrations")) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer applied = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM schema_migrations WHERE name = ?", Integer.class, NAME);
+            if (applied != null && applied > 0) {
+                return;
+            }
+            int deleted = jdbcTemplate.update("DELETE FROM user_expense_summaries s " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM user_monthly_totals m WHERE m.user_id = s.user_id)");
+            jdbcTemplate.update("INSERT INTO schema_migrations (name) VALUES (?)", NAME);
+            logger.info("Deleted {} expense summaries built before the monthly rollups", deleted);
+        });
+    }
+
+    private boolean hasTable(String table) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Unquoted identifiers are stored upper case by H2 and lower case by PostgreSQL
+            return hasTable(metaData, table.toUpperCase()) || hasTable(metaData, table.toLowerCase());
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not read the tables", e);
+        }
+    }
+
+    private static boolean hasTable(DatabaseMetaData metaData, String table) throws SQLException {
+        try (ResultSet tables = metaData.getTables(null, null, table, null)) {
+            return tables.next();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.expensetracker.app.config;
+
+/**
+ * JDBC statements, rows fetched and time spent in the database, in
+ * authentication and in response serialization, accumulated for the work on
+ * one thread between {@link #start()} and {@link #stop()}.
+ * <p>
+ * Scopes nest: what is recorded in an inner scope, such as one HTTP request,
+ * also counts towards the scopes around it. Work handed to other threads,
+ * like streamed CSV exports, is not attributed to the request.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public final class RequestAccounting {
+
+    private static final ThreadLocal<RequestAccounting> CURRENT = new ThreadLocal<>();
+
+    private final RequestAccounting parent;
+    private final long startNanos = System.nanoTime();
+    private long statements;
+    private long rows;
+    private long databaseNanos;
+    private long authenticationNanos;
+    private long serializationStartNanos;
+    private boolean serializing;
+
+    private RequestAccounting(RequestAccounting parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Open a scope on the current thread, inside any scope already open
+     *
+     * @return the new scope
+     */
+    public static RequestAccounting start() {
+        RequestAccounting accounting = new RequestAccounting(CURRENT.get());
+        CURRENT.set(accounting);
+        return accounting;
+    }
+
+    /**
+     * Close this scope, making the one around it current again
+     */
+    public void stop() {
+        if (CURRENT.get() != this) {
+            return;
+        }
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    /**
+     * Record one statement execution
+     *
+     * @param nanos time spent executing it
+     */
+    static void recordStatement(long nanos) {
+        for (RequestAccounting accounting = CURRENT.get(); accounting != null; accounting = accounting.parent) {
+            accounting.statements++;
+            accounting.databaseNanos += nanos;
+        }
+    }
+
+    /**
+     * Record one call to {@code ResultSet.next()}
+     *
+     * @param row whether it moved to a row
+     * @param nanos time spent fetching it
+     */
+    static void recordFetch(boolean row, long nanos) {
+        for (RequestAccounting accounting = CURRENT.get(); accounting != null; accounting = accounting.parent) {
+            if (row) {
+                accounting.rows++;
+            }
+            accounting.databaseNanos += nanos;
+        }
+    }
+
+    /**
+     * Record time spent authenticating the request
+     *
+     * @param nanos the time spent
+     */
+    static void recordAuthentication(long nanos) {
+        for (RequestAccounting accounting = CURRENT.get(); accounting != null; accounting = accounting.parent) {
+            accounting.authenticationNanos += nanos;
+        }
+    }
+
+    /**
+     * Record that the response body is about to be serialized
+     */
+    static void serializationStarted() {
+        long now = System.nanoTime();
+        for (RequestAccounting accounting = CURRENT.get(); accounting != null; accounting = accounting.parent) {
+            if (!accounting.serializing) {
+                accounting.serializing = true;
+                accounting.serializationStartNanos = now;
+            }
+        }
+    }
+
+    /**
+     * @return statements executed, counting a JDBC batch as one
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return rows read from result sets
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return nanoseconds spent executing statements and fetching rows
+     */
+    public long getDatabaseNanos() {
+        return databaseNanos;
+    }
+
+    /**
+     * @return nanoseconds spent authenticating, including its own database time
+     */
+    public long getAuthenticationNanos() {
+        return authenticationNanos;
+    }
+
+    /**
+     * @return nanoseconds since the response body started being serialized, or 0 if it has not
+     */
+    public long getSerializationNanos() {
+        return serializing ? System.nanoTime() - serializationStartNanos : 0;
+    }
+
+    /**
+     * @return nanoseconds since the scope was opened
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensetracker.app.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL statement accounting: wraps the application's DataSource in
+ * a {@link StatementAccountingDataSource} and registers the
+ * {@link RequestAccountingFilter} that logs requests running too many
+ * statements, and reports each request's statements in a Server-Timing header
+ * if app.request-accounting.server-timing.enabled is true. On unless
+ * app.request-accounting.enabled is false.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.request-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestAccountingConfig {
+
+    @Bean
+    public static BeanPostProcessor statementAccountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof StatementAccountingDataSource) {
+                    return bean;
+                }
+                return new StatementAccountingDataSource(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    public RequestAccountingFilter requestAccountingFilter(
+            @Value("${app.request-accounting.log.statement-threshold:10}") long statementThreshold,
+            @Value("${app.request-accounting.log.database-time-threshold:PT0.5S}") Duration databaseTimeThreshold,
+            @Value("${app.request-accounting.server-timing.enabled:false}") boolean serverTimingEnabled,
+            @Value("${app.request-accounting.buffer-limit:65536}") int bufferLimit) {
+        return new RequestAccountingFilter(statementThreshold, databaseTimeThreshold, serverTimingEnabled, bufferLimit);
+    }
+}
@@ -0,0 +1,115 @@
+package com.expensetracker.app.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Accounts each HTTP request's JDBC statements, rows fetched and database time
+ * (see {@link StatementAccountingDataSource}) with the time spent
+ * authenticating and serializing the response. Requests over the statement or
+ * database time threshold are logged as warnings, so N+1 queries show up
+ * before they reach production.
+ * <p>
+ * The breakdown can also be sent in a {@code Server-Timing} header. It tells
+ * any client how long the database took, so it is only sent when enabled.
+ * <p>
+ * Runs ahead of the security filter chain so authentication is included. With
+ * the header enabled, the body is buffered up to a limit so the header can
+ * follow serialization; larger and streamed responses are sent with the
+ * timings known when they start.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class RequestAccountingFilter extends OncePerRequestFilter implements OrderedFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestAccountingFilter.class);
+
+    /** Response header carrying the breakdown */
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final long statementThreshold;
+    private final long databaseNanosThreshold;
+    private final boolean serverTimingEnabled;
+    private final int bufferLimit;
+
+    public RequestAccountingFilter(long statementThreshold, Duration databaseTimeThreshold,
+                                   boolean serverTimingEnabled, int bufferLimit) {
+        this.statementThreshold = statementThreshold;
+        this.databaseNanosThreshold = databaseTimeThreshold.toNanos();
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    public int getOrder() {
+        return SecurityProperties.DEFAULT_FILTER_ORDER - 10;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestAccounting accounting = RequestAccounting.start();
+        try {
+            if (serverTimingEnabled) {
+                ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, bufferLimit,
+                        () -> response.setHeader(SERVER_TIMING, serverTiming(accounting)));
+                filterChain.doFilter(request, wrapper);
+                wrapper.commit();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            accounting.stop();
+            report(request, response, accounting);
+        }
+    }
+
+    /**
+     * Format the breakdown as Server-Timing metrics, durations in milliseconds
+     */
+    static String serverTiming(RequestAccounting accounting) {
+        return String.format(Locale.ROOT,
+                "auth;dur=%.1f, db;dur=%.1f;desc=\"%d statements, %d rows\", ser;dur=%.1f, total;dur=%.1f",
+                millis(accounting.getAuthenticationNanos()), millis(accounting.getDatabaseNanos()),
+                accounting.getStatements(), accounting.getRows(),
+                millis(accounting.getSerializationNanos()), millis(accounting.getElapsedNanos()));
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, RequestAccounting accounting) {
+        boolean over = accounting.getStatements() > statementThreshold
+                || accounting.getDatabaseNanos() > databaseNanosThreshold;
+        if (!over && !log.isDebugEnabled()) {
+            return;
+        }
+        String message = "{} {} -> {}: {} statements, {} rows, {} ms in database"
+                + " (auth {} ms, serialization {} ms, total {} ms)";
+        Object[] args = {request.getMethod(), request.getRequestURI(), response.getStatus(),
+                accounting.getStatements(), accounting.getRows(), Math.round(millis(accounting.getDatabaseNanos())),
+                Math.round(millis(accounting.getAuthenticationNanos())),
+                Math.round(millis(accounting.getSerializationNanos())),
+                Math.round(millis(accounting.getElapsedNanos()))};
+        if (over) {
+            log.warn(message, args);
+        } else {
+            log.debug(message, args);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.expensetracker.app.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache regions, held in Caffeine through JCache.
+ * Users are cached by ID and their IDs by username, the natural id, so
+ * resolving a user by username needs no SQL once cached. Entries are
+ * replaced as Hibernate writes the user and otherwise expire after the TTL.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** Region of the cached {@link com.expensetracker.app.model.User} entities */
+    public static final String USERS_REGION = "users";
+
+    /** Region resolving usernames to user IDs */
+    public static final String USERNAMES_REGION = "usernames";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${app.cache.users.max-size:10000}") long maxSize,
+                                                @Value("${app.cache.users.ttl:PT1H}") Duration ttl) {
+        // JCache shares a manager per URI; each application context gets its own, as it may use another database
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:expenseflow:" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : List.of(USERS_REGION, USERNAMES_REGION)) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // The regions above are the only ones; an unknown region is a mapping error
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
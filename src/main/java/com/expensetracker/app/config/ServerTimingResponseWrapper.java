@@ -0,0 +1,188 @@
+package com.expensetracker.app.config;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.springframework.util.FastByteArrayOutputStream;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Holds back the response body until {@link #commit()}, so that headers
+ * measured while the body was written can still be sent before it. The
+ * callback given is run once, just before the response is committed.
+ * <p>
+ * A body larger than the buffer limit, an explicit flush once buffering has
+ * been released, and an error or redirect all commit early, so streamed
+ * responses keep streaming. Writes may come from another thread once the
+ * request has gone async, hence the synchronization.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int bufferLimit;
+    private final Runnable beforeCommit;
+    private final FastByteArrayOutputStream buffer = new FastByteArrayOutputStream(1024);
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean committed;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, int bufferLimit, Runnable beforeCommit) {
+        super(response);
+        this.bufferLimit = bufferLimit;
+        this.beforeCommit = beforeCommit;
+    }
+
+    /**
+     * Run the callback and pass the buffered body on; later writes go straight through
+     */
+    synchronized void commit() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        release();
+    }
+
+    private synchronized void release() throws IOException {
+        if (committed) {
+            return;
+        }
+        committed = true;
+        beforeCommit.run();
+        if (buffer.size() > 0) {
+            buffer.writeTo(getResponse().getOutputStream());
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new BufferingOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null && writer == null) {
+            throw new IllegalStateException("getOutputStream() has already been called on this response");
+        }
+        if (writer == null) {
+            outputStream = new BufferingOutputStream(getResponse().getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public synchronized void flushBuffer() throws IOException {
+        if (committed) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public synchronized void resetBuffer() {
+        super.resetBuffer();
+        buffer.reset();
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        buffer.reset();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discardAndCommit();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discardAndCommit();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        discardAndCommit();
+        super.sendRedirect(location);
+    }
+
+    private synchronized void discardAndCommit() throws IOException {
+        buffer.reset();
+        release();
+    }
+
+    /**
+     * Writes to the buffer until the response is committed, and to the response after
+     */
+    private final class BufferingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+
+        BufferingOutputStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            synchronized (ServerTimingResponseWrapper.this) {
+                if (!committed && buffer.size() + 1 > bufferLimit) {
+                    release();
+                }
+                if (committed) {
+                    target.write(b);
+                } else {
+                    buffer.write(b);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            synchronized (ServerTimingResponseWrapper.this) {
+                if (!committed && buffer.size() + len > bufferLimit) {
+                    release();
+                }
+                if (committed) {
+                    target.write(b, off, len);
+                } else {
+                    buffer.write(b, off, len);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (ServerTimingResponseWrapper.this) {
+                // Converters flush when done; only a committed response is flushed to the client
+                if (committed) {
+                    target.flush();
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.expensetracker.app.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource that records every statement executed and every row fetched,
+ * with the time spent in the driver, in the {@link RequestAccounting} scope of
+ * the calling thread. Connections, statements and result sets are wrapped in
+ * proxies, so JPA, JdbcTemplate and native queries are all counted; a JDBC
+ * batch counts as one statement, as it is one round trip.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class StatementAccountingDataSource extends DelegatingDataSource {
+
+    public StatementAccountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return accounting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return accounting(super.getConnection(username, password));
+    }
+
+    private static Connection accounting(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            // createStatement, prepareStatement and prepareCall, as the interface they declare
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return accounting(method.getReturnType(), statement);
+            }
+            return result;
+        });
+    }
+
+    private static Object accounting(Class<?> type, Statement statement) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    Object result = invoke(statement, method, args);
+                    return result instanceof ResultSet resultSet ? accounting(resultSet) : result;
+                } finally {
+                    RequestAccounting.recordStatement(System.nanoTime() - start);
+                }
+            }
+            Object result = invoke(statement, method, args);
+            if ("getResultSet".equals(method.getName()) && result instanceof ResultSet resultSet) {
+                return accounting(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet accounting(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            if ("next".equals(method.getName())) {
+                long start = System.nanoTime();
+                boolean row = resultSet.next();
+                RequestAccounting.recordFetch(row, System.nanoTime() - start);
+                return row;
+            }
+            return invoke(resultSet, method, args);
+        });
+    }
+
+    /**
+     * Proxies a JDBC object, keeping identity semantics so the proxies can key
+     * the maps Hibernate tracks its statements and result sets in
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : handler.invoke(proxy, method, args);
+                    case "hashCode" -> method.getParameterCount() == 0
+                            ? System.identityHashCode(proxy) : handler.invoke(proxy, method, args);
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -85,4 +85,4 @@ public class AuthController {
             return ResponseEntity.badRequest().body(new AuthResponse(null, null, null, "Invalid token"));
         }
     }
-}
\ No newline at end of file
+}
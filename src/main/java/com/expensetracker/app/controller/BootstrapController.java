@@ -0,0 +1,74 @@
+package com.expensetracker.app.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import com.expensetracker.app.dto.AuthenticatedUser;
+import com.expensetracker.app.dto.BootstrapDTO;
+import com.expensetracker.app.service.BootstrapService;
+import com.expensetracker.app.service.DataVersionService;
+
+/**
+ * REST Controller serving the dashboard page's initial data in one request,
+ * instead of separate requests for expenses, summary, budget and categories.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/bootstrap")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class BootstrapController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BootstrapController.class);
+
+    private final BootstrapService bootstrapService;
+    private final DataVersionService dataVersionService;
+
+    @Autowired
+    public BootstrapController(BootstrapService bootstrapService, DataVersionService dataVersionService) {
+        this.bootstrapService = bootstrapService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Get the first page of expenses, the summary, the budget and the
+     * categories of the authenticated user
+     *
+     * @param principal the authenticated user
+     * @param size optional size of the first expense page (bounded by the server)
+     * @return initial dashboard data
+     */
+    @GetMapping
+    public ResponseEntity<BootstrapDTO> getBootstrap(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                     @RequestParam(required = false) Integer size,
+                                                     NativeWebRequest webRequest) {
+        logger.debug("GET /api/bootstrap - size: {}", size);
+
+        try {
+            String encoding = ExpenseController.encodingOf(webRequest);
+            // The page size changes the body, so it is part of the tag
+            String variant = size != null ? size + (encoding != null ? "-" + encoding : "") : encoding;
+            if (webRequest.checkNotModified(dataVersionService.getETag(principal.getId(), variant))) {
+                return ExpenseController.notModified();
+            }
+            BootstrapDTO bootstrap = bootstrapService.getBootstrap(principal.toUser(), size);
+            return ResponseEntity.ok().cacheControl(ExpenseController.REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                    .body(bootstrap);
+        } catch (Exception e) {
+            logger.error("Error loading bootstrap data", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -2,15 +2,24 @@ package com.expensetracker.app.controller;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,15 +31,29 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.expensetracker.app.config.BinaryEncodingConfig;
+import com.expensetracker.app.dto.AuthenticatedUser;
+import com.expensetracker.app.dto.BulkCategoryChangeDTO;
+import com.expensetracker.app.dto.BulkExpenseResultDTO;
 import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.dto.ExpensePageDTO;
 import com.expensetracker.app.dto.ExpenseSummaryDTO;
 import com.expensetracker.app.model.Expense;
 import com.expensetracker.app.model.PaymentMethod;
 import com.expensetracker.app.model.User;
 import com.expensetracker.app.service.AuthService;
 import com.expensetracker.app.service.CsvExportService;
+import com.expensetracker.app.service.DataVersionService;
+import com.expensetracker.app.service.ExpenseBulkService;
 import com.expensetracker.app.service.ExpenseService;
+import com.expensetracker.app.service.ExpenseStreamService;
+import com.expensetracker.app.service.IdempotencyKeyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -48,78 +71,142 @@ public class ExpenseController {
     
     private static final Logger logger = LoggerFactory.getLogger(ExpenseController.class);
     
+    // Conditional responses may be stored by the browser only, and must be revalidated before every use
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    private static final ContentNegotiationStrategy ACCEPT_HEADER = new HeaderContentNegotiationStrategy();
+    
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    
+    // Seconds a retry should wait while the first request with its Idempotency-Key is in progress
+    static final String IDEMPOTENCY_RETRY_AFTER = "1";
+    
     private final ExpenseService expenseService;
     private final CsvExportService csvExportService;
     private final AuthService authService;
+    private final ExpenseBulkService expenseBulkService;
+    private final DataVersionService dataVersionService;
+    private final ExpenseStreamService expenseStreamService;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ExpenseController(ExpenseService expenseService, CsvExportService csvExportService, AuthService authService) {
+    public ExpenseController(ExpenseService expenseService, CsvExportService csvExportService, AuthService authService,
+                             ExpenseBulkService expenseBulkService, DataVersionService dataVersionService,
+                             ExpenseStreamService expenseStreamService, IdempotencyKeyStore idempotencyKeyStore,
+                             ObjectMapper objectMapper) {
         this.expenseService = expenseService;
         this.csvExportService = csvExportService;
         this.authService = authService;
+        this.expenseBulkService = expenseBulkService;
+        this.dataVersionService = dataVersionService;
+        this.expenseStreamService = expenseStreamService;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.objectMapper = objectMapper;
     }
 
-    /**
-     * Helper method to get authenticated user from token
-     *
-     * @param token the JWT token
-     * @return the authenticated user
-     */
-    private User getAuthenticatedUser(String token) {
-        String username = authService.validateTokenAndGetUsername(token.replace("Bearer ", ""));
-        return authService.getUserByUsername(username);
-    }
-    
     /**
      * Get all expenses or filtered expenses for authenticated user
      *
-     * @param token the JWT token
+     * @param principal the authenticated user
      * @param category optional category filter
      * @param paymentMethod optional payment method filter
      * @param startDate optional start date filter (yyyy-MM-dd)
      * @param endDate optional end date filter (yyyy-MM-dd)
      * @param upiVpa optional UPI VPA filter
      * @param transactionId optional transaction ID filter
+     * @param payerName optional payer name filter
      * @return list of expenses
      */
     @GetMapping
-    public ResponseEntity<List<Expense>> getAllExpenses(
-            @RequestHeader("Authorization") String token,
+    public ResponseEntity<List<ExpenseListItemDTO>> getAllExpenses(
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) PaymentMethod paymentMethod,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String upiVpa,
-            @RequestParam(required = false) String transactionId) {
+            @RequestParam(required = false) String transactionId,
+            @RequestParam(required = false) String payerName,
+            NativeWebRequest webRequest) {
 
         logger.debug("GET /api/expenses - category: {}, paymentMethod: {}, startDate: {}, endDate: {}",
                     category, paymentMethod, startDate, endDate);
 
         try {
-            User user = getAuthenticatedUser(token);
+            if (webRequest.checkNotModified(dataVersionService.getETag(principal.getId(), encodingOf(webRequest)))) {
+                return notModified();
+            }
+            User user = principal.toUser();
             ExpenseFilterDTO filter = new ExpenseFilterDTO(category, paymentMethod, startDate, endDate, upiVpa, transactionId);
-            List<Expense> expenses = expenseService.getFilteredExpenses(filter, user);
+            filter.setPayerName(payerName);
+            List<ExpenseListItemDTO> expenses = expenseService.getExpenseList(filter, user);
 
-            return ResponseEntity.ok(expenses);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(expenses);
         } catch (Exception e) {
             logger.error("Error retrieving expenses", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Get one keyset-paginated page of expenses for authenticated user
+     *
+     * @param principal the authenticated user
+     * @param cursor optional cursor returned as nextCursor by the previous page
+     * @param size optional page size (bounded by the server)
+     * @param category optional category filter
+     * @param paymentMethod optional payment method filter
+     * @param startDate optional start date filter (yyyy-MM-dd)
+     * @param endDate optional end date filter (yyyy-MM-dd)
+     * @param upiVpa optional UPI VPA filter
+     * @param transactionId optional transaction ID filter
+     * @param payerName optional payer name filter
+     * @return page of expenses with the cursor for the next page
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ExpensePageDTO> getExpensePage(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String upiVpa,
+            @RequestParam(required = false) String transactionId,
+            @RequestParam(required = false) String payerName) {
+
+        logger.debug("GET /api/expenses/page - cursor: {}, size: {}", cursor, size);
+
+        try {
+            User user = principal.toUser();
+            ExpenseFilterDTO filter = new ExpenseFilterDTO(category, paymentMethod, startDate, endDate, upiVpa, transactionId);
+            filter.setPayerName(payerName);
+            return ResponseEntity.ok(expenseService.getExpensePage(filter, cursor, size, user));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving expense page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Get expense by ID for authenticated user
      *
      * @param id the expense ID
-     * @param token the JWT token
+     * @param principal the authenticated user
      * @return the expense
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Expense> getExpenseById(@PathVariable Long id, @RequestHeader("Authorization") String token) {
+    public ResponseEntity<Expense> getExpenseById(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("GET /api/expenses/{}", id);
 
         try {
-            User user = getAuthenticatedUser(token);
+            User user = principal.toUser();
             Expense expense = expenseService.getExpenseById(id, user);
             return ResponseEntity.ok(expense);
         } catch (IllegalArgumentException e) {
@@ -132,23 +219,48 @@ public class ExpenseController {
     }
     
     /**
-     * Create a new expense for authenticated user
+     * Create a new expense for authenticated user.
+     * With an Idempotency-Key header, a retry of a request that succeeded returns the expense
+     * it created (marked Idempotent-Replayed: true) instead of creating another. The key sent
+     * with a different expense is answered with 422, and while the first request with it is
+     * still in progress after a wait, with 409 and Retry-After.
+     * A UPI transaction ID the user has already stored is answered with 409 and that expense.
      *
      * @param expense the expense to create
-     * @param token the JWT token
+     * @param idempotencyKey optional client-chosen key identifying this create request
+     * @param principal the authenticated user
      * @return the created expense
      */
     @PostMapping
-    public ResponseEntity<Expense> createExpense(@Valid @RequestBody Expense expense, @RequestHeader("Authorization") String token) {
+    public ResponseEntity<Expense> createExpense(@Valid @RequestBody Expense expense,
+                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                 @AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("POST /api/expenses - {}", expense);
 
+        User user = principal.toUser();
         try {
-            User user = getAuthenticatedUser(token);
-            Expense createdExpense = expenseService.createExpense(expense, user);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdExpense);
+            if (idempotencyKey == null) {
+                Expense createdExpense = expenseService.createExpense(expense, user);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdExpense);
+            }
+            // The expense as parsed, so retries encoded differently still count as the same request
+            byte[] request = objectMapper.writeValueAsBytes(expense);
+            IdempotencyKeyStore.Result result = idempotencyKeyStore.createOnce(user.getId(), idempotencyKey, request,
+                    () -> expenseService.createExpense(expense, user));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                    .body(result.expense());
+        } catch (IdempotencyKeyStore.KeyReusedException e) {
+            logger.warn("Rejected create: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        } catch (IdempotencyKeyStore.InProgressException e) {
+            logger.warn("Rejected create: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, IDEMPOTENCY_RETRY_AFTER).build();
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid expense data: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            return duplicateTransaction(expense, user, e);
         } catch (Exception e) {
             logger.error("Error creating expense", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -156,24 +268,108 @@ public class ExpenseController {
     }
     
     /**
-     * Update an existing expense for authenticated user
+     * Create many expenses for authenticated user in one request.
+     * Invalid rows are reported individually and do not prevent the valid rows from being saved.
+     *
+     * @param expenses the expenses to create
+     * @param principal the authenticated user
+     * @return per-row results with the created IDs or validation errors
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkExpenseResultDTO> createExpenses(@RequestBody List<Expense> expenses, @AuthenticationPrincipal AuthenticatedUser principal) {
+        logger.debug("POST /api/expenses/bulk - {} rows", expenses.size());
+
+        try {
+            User user = principal.toUser();
+            return ResponseEntity.ok(expenseBulkService.createExpenses(expenses, user));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid bulk expense request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error bulk creating expenses", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Delete many expenses of authenticated user in one statement.
+     * IDs that do not exist or belong to another user are skipped.
+     *
+     * @param ids the IDs of the expenses to delete, at most 1000
+     * @param principal the authenticated user
+     * @return the IDs deleted
+     */
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<List<Long>> deleteExpenses(@RequestBody List<Long> ids, @AuthenticationPrincipal AuthenticatedUser principal) {
+        logger.debug("POST /api/expenses/bulk/delete - {} IDs", ids.size());
+
+        try {
+            User user = principal.toUser();
+            return ResponseEntity.ok(expenseService.deleteExpenses(ids, user));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid bulk delete request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error bulk deleting expenses", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Move many expenses of authenticated user to one category in one statement.
+     * IDs that do not exist or belong to another user are skipped.
+     *
+     * @param change the IDs of the expenses, at most 1000, and their new category
+     * @param principal the authenticated user
+     * @return the IDs updated
+     */
+    @PostMapping("/bulk/category")
+    public ResponseEntity<List<Long>> recategorizeExpenses(@RequestBody BulkCategoryChangeDTO change,
+                                                           @AuthenticationPrincipal AuthenticatedUser principal) {
+        logger.debug("POST /api/expenses/bulk/category - {}", change);
+
+        try {
+            User user = principal.toUser();
+            return ResponseEntity.ok(expenseService.recategorizeExpenses(change.getIds(), change.getCategory(), user));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid bulk category request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error bulk recategorizing expenses", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Update an existing expense for authenticated user.
+     * When the body carries the version last read, an expense changed since then is
+     * answered with 409 instead of being overwritten. A missing expense, or another
+     * user's, is answered with 404 before the body is validated.
      *
      * @param id the expense ID
      * @param expense the updated expense data
-     * @param token the JWT token
-     * @return the updated expense
+     * @param principal the authenticated user
+     * @return the updated expense, with its new version
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Expense> updateExpense(@PathVariable Long id, @Valid @RequestBody Expense expense, @RequestHeader("Authorization") String token) {
+    public ResponseEntity<Expense> updateExpense(@PathVariable Long id, @Valid @RequestBody Expense expense, @AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("PUT /api/expenses/{} - {}", id, expense);
 
+        User user = principal.toUser();
         try {
-            User user = getAuthenticatedUser(token);
             Expense updatedExpense = expenseService.updateExpense(id, expense, user);
             return ResponseEntity.ok(updatedExpense);
+        } catch (EmptyResultDataAccessException e) {
+            logger.warn("Expense not found with ID: {}", id);
+            return ResponseEntity.notFound().build();
         } catch (IllegalArgumentException e) {
             logger.warn("Error updating expense: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Conflicting update: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (DataIntegrityViolationException e) {
+            return duplicateTransaction(expense, user, e);
         } catch (Exception e) {
             logger.error("Error updating expense with ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -184,20 +380,23 @@ public class ExpenseController {
      * Delete an expense for authenticated user
      *
      * @param id the expense ID
-     * @param token the JWT token
+     * @param principal the authenticated user
      * @return no content response
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteExpense(@PathVariable Long id, @RequestHeader("Authorization") String token) {
+    public ResponseEntity<Void> deleteExpense(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("DELETE /api/expenses/{}", id);
 
         try {
-            User user = getAuthenticatedUser(token);
+            User user = principal.toUser();
             expenseService.deleteExpense(id, user);
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             logger.warn("Expense not found with ID: {}", id);
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Conflicting delete: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             logger.error("Error deleting expense with ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -207,36 +406,69 @@ public class ExpenseController {
     /**
      * Get expense summary with totals and breakdowns
      *
+     * @param principal the authenticated user
+     * @param startDate optional start date (yyyy-MM-dd)
+     * @param endDate optional end date (yyyy-MM-dd)
      * @return expense summary
      */
     @GetMapping("/summary")
-    public ResponseEntity<ExpenseSummaryDTO> getExpenseSummary(@RequestHeader("Authorization") String token) {
-        logger.debug("GET /api/expenses/summary");
+    public ResponseEntity<ExpenseSummaryDTO> getExpenseSummary(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            NativeWebRequest webRequest) {
+        logger.debug("GET /api/expenses/summary - startDate: {}, endDate: {}", startDate, endDate);
 
         try {
-            String username = authService.validateTokenAndGetUsername(token.replace("Bearer ", ""));
-            User user = authService.getUserByUsername(username);
-            ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user);
-            return ResponseEntity.ok(summary);
+            if (webRequest.checkNotModified(dataVersionService.getETag(principal.getId(), encodingOf(webRequest)))) {
+                return notModified();
+            }
+            User user = principal.toUser();
+            ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user, startDate, endDate);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(summary);
         } catch (Exception e) {
             logger.error("Error generating expense summary", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Rebuild the expense summary aggregates of the authenticated user from their expenses
+     *
+     * @param principal the authenticated user
+     * @return the rebuilt expense summary
+     */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<ExpenseSummaryDTO> rebuildExpenseSummary(@AuthenticationPrincipal AuthenticatedUser principal) {
+        logger.debug("POST /api/expenses/summary/rebuild");
+
+        try {
+            User user = principal.toUser();
+            return ResponseEntity.ok(expenseService.rebuildExpenseSummary(user));
+        } catch (Exception e) {
+            logger.error("Error rebuilding expense summary", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get user budget
      *
+     * @param principal the authenticated user
      * @return user budget
      */
     @GetMapping("/budget")
-    public ResponseEntity<java.math.BigDecimal> getBudget(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<java.math.BigDecimal> getBudget(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                           NativeWebRequest webRequest) {
         logger.debug("GET /api/expenses/budget");
 
         try {
-            String username = authService.validateTokenAndGetUsername(token.replace("Bearer ", ""));
-            User user = authService.getUserByUsername(username);
-            return ResponseEntity.ok(user.getBudget() != null ? user.getBudget() : java.math.BigDecimal.ZERO);
+            java.math.BigDecimal budget = principal.getBudget() != null ? principal.getBudget() : java.math.BigDecimal.ZERO;
+            // Tagged with the value itself: the principal may be cached, so it can predate the current data version
+            if (webRequest.checkNotModified(budgetETag(principal.getId(), budget, encodingOf(webRequest)))) {
+                return notModified();
+            }
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(budget);
         } catch (Exception e) {
             logger.error("Error retrieving budget", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -246,18 +478,16 @@ public class ExpenseController {
     /**
      * Update user budget
      *
-     * @param budget the new budget amount
+     * @param principal the authenticated user
+     * @param budgetString the new budget amount
      * @return updated budget
      */
     @PutMapping("/budget")
-    public ResponseEntity<java.math.BigDecimal> updateBudget(@RequestHeader("Authorization") String token,
+    public ResponseEntity<java.math.BigDecimal> updateBudget(@AuthenticationPrincipal AuthenticatedUser principal,
                                                               @RequestBody String budgetString) {
         logger.debug("PUT /api/expenses/budget - {}", budgetString);
 
         try {
-            String username = authService.validateTokenAndGetUsername(token.replace("Bearer ", ""));
-            User user = authService.getUserByUsername(username);
-
             // Parse the budget amount from string to BigDecimal
             java.math.BigDecimal budget = new java.math.BigDecimal(budgetString.trim());
 
@@ -266,8 +496,7 @@ public class ExpenseController {
                 return ResponseEntity.badRequest().build();
             }
 
-            user.setBudget(budget);
-            authService.updateUser(user);
+            authService.updateBudget(principal, budget);
             return ResponseEntity.ok(budget);
         } catch (NumberFormatException e) {
             logger.error("Invalid budget format: {}", budgetString, e);
@@ -281,17 +510,21 @@ public class ExpenseController {
     /**
      * Get all distinct categories for authenticated user
      *
-     * @param token the JWT token
+     * @param principal the authenticated user
      * @return list of categories
      */
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getCategories(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<String>> getCategories(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                      NativeWebRequest webRequest) {
         logger.debug("GET /api/expenses/categories");
 
         try {
-            User user = getAuthenticatedUser(token);
+            if (webRequest.checkNotModified(dataVersionService.getETag(principal.getId(), encodingOf(webRequest)))) {
+                return notModified();
+            }
+            User user = principal.toUser();
             List<String> categories = expenseService.getDistinctCategories(user);
-            return ResponseEntity.ok(categories);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(categories);
         } catch (Exception e) {
             logger.error("Error retrieving categories", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -301,7 +534,7 @@ public class ExpenseController {
     /**
      * Export expenses to CSV for authenticated user
      *
-     * @param token the JWT token
+     * @param principal the authenticated user
      * @param category optional category filter
      * @param paymentMethod optional payment method filter
      * @param startDate optional start date filter
@@ -309,8 +542,8 @@ public class ExpenseController {
      * @return CSV file as response
      */
     @GetMapping("/export/csv")
-    public ResponseEntity<String> exportExpensesToCsv(
-            @RequestHeader("Authorization") String token,
+    public ResponseEntity<StreamingResponseBody> exportExpensesToCsv(
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) PaymentMethod paymentMethod,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -319,21 +552,100 @@ public class ExpenseController {
         logger.debug("GET /api/expenses/export/csv");
 
         try {
-            User user = getAuthenticatedUser(token);
+            User user = principal.toUser();
             ExpenseFilterDTO filter = new ExpenseFilterDTO(category, paymentMethod, startDate, endDate, null, null);
-            List<Expense> expenses = expenseService.getFilteredExpenses(filter, user);
-            String csvContent = csvExportService.exportExpensesToCsv(expenses);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("text/csv"));
             headers.setContentDispositionFormData("attachment", csvExportService.getCsvFilename());
 
+            // Rows are streamed from a database cursor after the handler returns
+            StreamingResponseBody body = outputStream -> csvExportService.streamExpensesToCsv(filter, user, outputStream);
+
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(csvContent);
+                    .body(body);
         } catch (Exception e) {
             logger.error("Error exporting expenses to CSV", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Stream changes to the authenticated user's expenses as Server-Sent Events:
+     * expense-created, expense-updated and expense-deleted deltas, the new
+     * summary after each change, and resync when the client must reload.
+     *
+     * @param principal the authenticated user
+     * @return the event stream, or 429 when the user has too many open streams
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamExpenses(@AuthenticationPrincipal AuthenticatedUser principal) {
+        logger.debug("GET /api/expenses/stream");
+
+        try {
+            // Tell reverse proxies not to buffer the stream
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(expenseStreamService.subscribe(principal));
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected expense stream: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    /**
+     * Answer a write rejected by the database: 409 with the stored expense when the
+     * UPI transaction ID is already taken, as for a retried create, and 500 otherwise
+     */
+    private ResponseEntity<Expense> duplicateTransaction(Expense expense, User user, DataIntegrityViolationException e) {
+        Optional<Expense> existing = expenseService.findUpiExpense(expense.getUpiTransactionId(), user);
+        if (existing.isEmpty()) {
+            logger.error("Error saving expense", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        logger.warn("UPI transaction {} already stored as expense {}", expense.getUpiTransactionId(), existing.get().getId());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(existing.get());
+    }
+
+    /**
+     * Build the 304 response for a matching If-None-Match; the ETag header
+     * has already been written by {@link NativeWebRequest#checkNotModified(String)}
+     */
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    private static String budgetETag(Long userId, java.math.BigDecimal budget, String encoding) {
+        return "\"" + userId + "-" + budget.toPlainString() + (encoding != null ? "-" + encoding : "") + "\"";
+    }
+
+    /**
+     * Name the non-default encoding the Accept header negotiates, so that each
+     * encoding of the same data carries its own strong entity tag
+     *
+     * @return "cbor" or "smile" when a binary encoding is preferred, null for JSON
+     */
+    static String encodingOf(NativeWebRequest webRequest) {
+        try {
+            // Sorted by quality then specificity, as the message converters will see them
+            for (MediaType mediaType : ACCEPT_HEADER.resolveMediaTypes(webRequest)) {
+                if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                    return null;
+                }
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    return "cbor";
+                }
+                if (mediaType.equalsTypeAndSubtype(BinaryEncodingConfig.APPLICATION_SMILE)) {
+                    return "smile";
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return null;
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // An unparseable Accept header is rejected when the body is written
+        }
+        return null;
+    }
 }
@@ -1,21 +1,24 @@
 package com.expensetracker.app.controller;
 
-import com.expensetracker.app.service.ExpenseService;
-import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.dto.AuthenticatedUser;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.DashboardService;
+import com.expensetracker.app.service.ReportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * REST Controller for reporting and analytics operations.
- * Provides endpoints for various expense reports and analytics.
+ * Provides endpoints for various expense reports and analytics, all scoped
+ * to the authenticated user and served from the persisted aggregates.
  * 
  * @author Expense Tracker Team
  * @version 1.0
@@ -27,26 +30,28 @@ public class ReportController {
     
     private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
     
-    private final ExpenseRepository expenseRepository;
-    private final ExpenseService expenseService;
+    private final ReportService reportService;
+    private final DashboardService dashboardService;
     
     @Autowired
-    public ReportController(ExpenseRepository expenseRepository, ExpenseService expenseService) {
-        this.expenseRepository = expenseRepository;
-        this.expenseService = expenseService;
+    public ReportController(ReportService reportService, DashboardService dashboardService) {
+        this.reportService = reportService;
+        this.dashboardService = dashboardService;
     }
     
     /**
-     * Get monthly expense summary
+     * Get monthly expense summary for authenticated user
      * 
+     * @param principal the authenticated user
      * @return monthly summary data
      */
     @GetMapping("/monthly-summary")
-    public ResponseEntity<List<Object[]>> getMonthlySummary() {
+    public ResponseEntity<List<Object[]>> getMonthlySummary(@AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("GET /api/reports/monthly-summary");
         
         try {
-            List<Object[]> monthlySummary = expenseRepository.getMonthlyExpenseSummary();
+            User user = principal.toUser();
+            List<Object[]> monthlySummary = reportService.getMonthlySummary(user);
             return ResponseEntity.ok(monthlySummary);
         } catch (Exception e) {
             logger.error("Error generating monthly summary", e);
@@ -55,16 +60,18 @@ public class ReportController {
     }
     
     /**
-     * Get category-wise totals
+     * Get category-wise totals for authenticated user
      * 
+     * @param principal the authenticated user
      * @return category totals
      */
     @GetMapping("/category-totals")
-    public ResponseEntity<List<Object[]>> getCategoryTotals() {
+    public ResponseEntity<List<Object[]>> getCategoryTotals(@AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("GET /api/reports/category-totals");
         
         try {
-            List<Object[]> categoryTotals = expenseRepository.getTotalAmountByCategory();
+            User user = principal.toUser();
+            List<Object[]> categoryTotals = reportService.getCategoryTotals(user);
             return ResponseEntity.ok(categoryTotals);
         } catch (Exception e) {
             logger.error("Error generating category totals", e);
@@ -73,16 +80,18 @@ public class ReportController {
     }
     
     /**
-     * Get payment method totals
+     * Get payment method totals for authenticated user
      * 
+     * @param principal the authenticated user
      * @return payment method totals
      */
     @GetMapping("/payment-method-totals")
-    public ResponseEntity<List<Object[]>> getPaymentMethodTotals() {
+    public ResponseEntity<List<Object[]>> getPaymentMethodTotals(@AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("GET /api/reports/payment-method-totals");
         
         try {
-            List<Object[]> paymentMethodTotals = expenseRepository.getTotalAmountByPaymentMethod();
+            User user = principal.toUser();
+            List<Object[]> paymentMethodTotals = reportService.getPaymentMethodTotals(user);
             return ResponseEntity.ok(paymentMethodTotals);
         } catch (Exception e) {
             logger.error("Error generating payment method totals", e);
@@ -91,22 +100,28 @@ public class ReportController {
     }
     
     /**
-     * Get category-wise monthly summary for a specific month
+     * Get category-wise monthly summary for a specific month for authenticated user
      * 
+     * @param principal the authenticated user
      * @param year the year
      * @param month the month (1-12)
      * @return category-wise monthly summary
      */
     @GetMapping("/monthly-category-summary")
     public ResponseEntity<List<Object[]>> getMonthlyCategorySummary(
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam int year,
             @RequestParam int month) {
         
         logger.debug("GET /api/reports/monthly-category-summary - year: {}, month: {}", year, month);
         
         try {
-            List<Object[]> monthlyCategorySummary = expenseRepository.getCategoryWiseMonthlySummary(year, month);
+            User user = principal.toUser();
+            List<Object[]> monthlyCategorySummary = reportService.getMonthlyCategorySummary(user, year, month);
             return ResponseEntity.ok(monthlyCategorySummary);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid monthly category summary request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error generating monthly category summary", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -114,22 +129,18 @@ public class ReportController {
     }
     
     /**
-     * Get cash vs UPI totals
+     * Get cash vs UPI totals for authenticated user
      * 
+     * @param principal the authenticated user
      * @return cash and UPI totals
      */
     @GetMapping("/cash-upi-totals")
-    public ResponseEntity<Map<String, Object>> getCashUpiTotals() {
+    public ResponseEntity<Map<String, Object>> getCashUpiTotals(@AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("GET /api/reports/cash-upi-totals");
         
         try {
-            Object[] totals = expenseRepository.getTotalCashAndUpiAmounts();
-            
-            Map<String, Object> result = new HashMap<>();
-            result.put("totalCash", totals[0]);
-            result.put("totalUpi", totals[1]);
-            
-            return ResponseEntity.ok(result);
+            User user = principal.toUser();
+            return ResponseEntity.ok(reportService.getCashUpiTotals(user));
         } catch (Exception e) {
             logger.error("Error generating cash/UPI totals", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -137,35 +148,19 @@ public class ReportController {
     }
     
     /**
-     * Get comprehensive dashboard data
+     * Get comprehensive dashboard data for authenticated user.
+     * Parts that fail or time out are listed under "degraded" and per-part timings under "timings".
      * 
+     * @param principal the authenticated user
      * @return dashboard data with various metrics
      */
     @GetMapping("/dashboard")
-    public ResponseEntity<Map<String, Object>> getDashboardData() {
+    public ResponseEntity<Map<String, Object>> getDashboardData(@AuthenticationPrincipal AuthenticatedUser principal) {
         logger.debug("GET /api/reports/dashboard");
         
         try {
-            Map<String, Object> dashboard = new HashMap<>();
-            
-            // Get summary
-            dashboard.put("summary", expenseService.getExpenseSummary());
-            
-            // Get monthly summary
-            dashboard.put("monthlySummary", expenseRepository.getMonthlyExpenseSummary());
-            
-            // Get category totals
-            dashboard.put("categoryTotals", expenseRepository.getTotalAmountByCategory());
-            
-            // Get payment method totals
-            dashboard.put("paymentMethodTotals", expenseRepository.getTotalAmountByPaymentMethod());
-            
-            // Get cash/UPI totals
-            Object[] cashUpiTotals = expenseRepository.getTotalCashAndUpiAmounts();
-            Map<String, Object> cashUpi = new HashMap<>();
-            cashUpi.put("totalCash", cashUpiTotals[0]);
-            cashUpi.put("totalUpi", cashUpiTotals[1]);
-            dashboard.put("cashUpiTotals", cashUpi);
+            User user = principal.toUser();
+            Map<String, Object> dashboard = dashboardService.getDashboard(user);
             
             return ResponseEntity.ok(dashboard);
         } catch (Exception e) {
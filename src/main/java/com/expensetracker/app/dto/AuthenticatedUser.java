@@ -0,0 +1,74 @@
+package com.expensetracker.app.dto;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+
+import com.expensetracker.app.model.User;
+
+/**
+ * Immutable snapshot of the authenticated user, resolved once per request by
+ * the JWT filter and stored as the security principal so controllers do not
+ * have to parse the token or load the user again.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public final class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final BigDecimal budget;
+
+    public AuthenticatedUser(Long id, String username, BigDecimal budget) {
+        this.id = id;
+        this.username = username;
+        this.budget = budget;
+    }
+
+    /**
+     * Create a snapshot of a user entity
+     *
+     * @param user the user entity
+     * @return the snapshot
+     */
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getBudget());
+    }
+
+    /**
+     * Create a detached user reference carrying the snapshot's identity and budget.
+     * It is only meant for scoping queries and associating new expenses; it does
+     * not hold the email or password and must never be saved itself.
+     *
+     * @return detached user reference
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setBudget(budget);
+        return user;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public BigDecimal getBudget() {
+        return budget;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{id=" + id + ", username='" + username + "'}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.expensetracker.app.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object with everything the dashboard page needs on load:
+ * the first page of expenses, the summary, the budget and the categories.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class BootstrapDTO {
+
+    private ExpensePageDTO expenses;
+    private ExpenseSummaryDTO summary;
+    private BigDecimal budget;
+    private List<String> categories;
+
+    /**
+     * Default constructor
+     */
+    public BootstrapDTO() {
+    }
+
+    /**
+     * Constructor with all fields
+     */
+    public BootstrapDTO(ExpensePageDTO expenses, ExpenseSummaryDTO summary, BigDecimal budget,
+                        List<String> categories) {
+        this.expenses = expenses;
+        this.summary = summary;
+        this.budget = budget;
+        this.categories = categories;
+    }
+
+    // Getters and Setters
+    public ExpensePageDTO getExpenses() {
+        return expenses;
+    }
+
+    public void setExpenses(ExpensePageDTO expenses) {
+        this.expenses = expenses;
+    }
+
+    public ExpenseSummaryDTO getSummary() {
+        return summary;
+    }
+
+    public void setSummary(ExpenseSummaryDTO summary) {
+        this.summary = summary;
+    }
+
+    public BigDecimal getBudget() {
+        return budget;
+    }
+
+    public void setBudget(BigDecimal budget) {
+        this.budget = budget;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<String> categories) {
+        this.categories = categories;
+    }
+
+    @Override
+    public String toString() {
+        return "BootstrapDTO{" +
+                "expenses=" + expenses +
+                ", budget=" + budget +
+                ", categories=" + categories +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.expensetracker.app.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for moving many expenses to one category.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class BulkCategoryChangeDTO {
+    
+    private List<Long> ids;
+    private String category;
+    
+    /**
+     * Default constructor
+     */
+    public BulkCategoryChangeDTO() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public BulkCategoryChangeDTO(List<Long> ids, String category) {
+        this.ids = ids;
+        this.category = category;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    @Override
+    public String toString() {
+        return "BulkCategoryChangeDTO{" +
+                "ids=" + (ids != null ? ids.size() : 0) +
+                ", category='" + category + '\'' +
+                '}';
+    }
+}
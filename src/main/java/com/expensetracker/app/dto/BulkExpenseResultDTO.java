@@ -0,0 +1,76 @@
+package com.expensetracker.app.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk expense upload,
+ * with one entry per submitted row in request order.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class BulkExpenseResultDTO {
+    
+    private int received;
+    private int created;
+    private int failed;
+    private List<BulkExpenseRowDTO> rows;
+    
+    /**
+     * Default constructor
+     */
+    public BulkExpenseResultDTO() {
+    }
+    
+    /**
+     * Constructor counting the created and failed rows
+     */
+    public BulkExpenseResultDTO(List<BulkExpenseRowDTO> rows) {
+        this.rows = rows;
+        this.received = rows.size();
+        this.created = (int) rows.stream().filter(BulkExpenseRowDTO::isCreated).count();
+        this.failed = received - created;
+    }
+    
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+    
+    public void setReceived(int received) {
+        this.received = received;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<BulkExpenseRowDTO> getRows() {
+        return rows;
+    }
+    
+    public void setRows(List<BulkExpenseRowDTO> rows) {
+        this.rows = rows;
+    }
+    
+    @Override
+    public String toString() {
+        return "BulkExpenseResultDTO{" +
+                "received=" + received +
+                ", created=" + created +
+                ", failed=" + failed +
+                '}';
+    }
+}
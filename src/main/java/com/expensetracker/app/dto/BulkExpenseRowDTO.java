@@ -0,0 +1,71 @@
+package com.expensetracker.app.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of one row of a bulk expense upload.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class BulkExpenseRowDTO {
+    
+    private int index;
+    private Long id;
+    private List<String> errors = new ArrayList<>();
+    
+    /**
+     * Default constructor
+     */
+    public BulkExpenseRowDTO() {
+    }
+    
+    /**
+     * Constructor with the row's position in the request
+     */
+    public BulkExpenseRowDTO(int index) {
+        this.index = index;
+    }
+    
+    /**
+     * Whether the row was saved
+     */
+    public boolean isCreated() {
+        return id != null;
+    }
+    
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+    
+    @Override
+    public String toString() {
+        return "BulkExpenseRowDTO{" +
+                "index=" + index +
+                ", id=" + id +
+                ", errors=" + errors +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package com.expensetracker.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (expenseDate DESC, id DESC) expense ordering.
+ * Clients only ever see the opaque encoded form.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public final class ExpenseCursor {
+    
+    private static final char SEPARATOR = ':';
+    
+    private final LocalDate expenseDate;
+    private final Long id;
+    
+    /**
+     * Constructor with both key columns
+     */
+    public ExpenseCursor(LocalDate expenseDate, Long id) {
+        this.expenseDate = expenseDate;
+        this.id = id;
+    }
+    
+    /**
+     * Creates a cursor positioned at the given expense
+     * 
+     * @param expense the last expense of a page
+     * @return cursor pointing at the expense
+     */
+    public static ExpenseCursor of(ExpenseListItemDTO expense) {
+        return new ExpenseCursor(expense.getExpenseDate(), expense.getId());
+    }
+    
+    /**
+     * Decodes an opaque cursor token
+     * 
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ExpenseCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ExpenseCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    /**
+     * Encodes this cursor as an opaque URL-safe token
+     * 
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = expenseDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDate getExpenseDate() {
+        return expenseDate;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    @Override
+    public String toString() {
+        return "ExpenseCursor{" +
+                "expenseDate=" + expenseDate +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -25,6 +25,7 @@ public class ExpenseFilterDTO {
     
     private String upiVpa;
     private String transactionId;
+    private String payerName;
     
     /**
      * Default constructor
@@ -95,6 +96,14 @@ public class ExpenseFilterDTO {
         this.transactionId = transactionId;
     }
     
+    public String getPayerName() {
+        return payerName;
+    }
+    
+    public void setPayerName(String payerName) {
+        this.payerName = payerName;
+    }
+    
     /**
      * Checks if any filter criteria is specified
      * 
@@ -103,7 +112,7 @@ public class ExpenseFilterDTO {
     public boolean hasFilters() {
         return category != null || paymentMethod != null || 
                startDate != null || endDate != null || 
-               upiVpa != null || transactionId != null;
+               upiVpa != null || transactionId != null || payerName != null;
     }
     
     @Override
@@ -115,6 +124,7 @@ public class ExpenseFilterDTO {
                 ", endDate=" + endDate +
                 ", upiVpa='" + upiVpa + '\'' +
                 ", transactionId='" + transactionId + '\'' +
+                ", payerName='" + payerName + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,130 @@
+package com.expensetracker.app.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Read-only view of an expense for list responses. It is selected column by
+ * column rather than loaded as an entity. It carries the fields of
+ * {@link com.expensetracker.app.model.Expense} except the audit timestamps,
+ * and leaves out null fields, such as the UPI details of a cash expense.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ExpenseListItemDTO {
+
+    private final Long id;
+    private final BigDecimal amount;
+    private final String category;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private final LocalDate expenseDate;
+    private final PaymentMethod paymentMethod;
+    private final BigDecimal cashAmount;
+    private final BigDecimal upiAmount;
+    private final String upiVpa;
+    private final String transactionId;
+    private final String payerName;
+    private final String notes;
+    private final Long version;
+
+    /**
+     * Constructor with all fields, in the order selected by the list queries
+     */
+    public ExpenseListItemDTO(Long id, BigDecimal amount, String category, LocalDate expenseDate,
+                              PaymentMethod paymentMethod, BigDecimal cashAmount, BigDecimal upiAmount,
+                              String upiVpa, String transactionId, String payerName, String notes,
+                              Long version) {
+        this.id = id;
+        this.amount = amount;
+        this.category = category;
+        this.expenseDate = expenseDate;
+        this.paymentMethod = paymentMethod;
+        this.cashAmount = cashAmount;
+        this.upiAmount = upiAmount;
+        this.upiVpa = upiVpa;
+        this.transactionId = transactionId;
+        this.payerName = payerName;
+        this.notes = notes;
+        this.version = version;
+    }
+
+    /**
+     * Creates the list item of an expense entity
+     *
+     * @param expense the expense
+     * @return list item with the expense's fields
+     */
+    public static ExpenseListItemDTO of(Expense expense) {
+        return new ExpenseListItemDTO(expense.getId(), expense.getAmount(), expense.getCategory(),
+                expense.getExpenseDate(), expense.getPaymentMethod(), expense.getCashAmount(),
+                expense.getUpiAmount(), expense.getUpiVpa(), expense.getTransactionId(),
+                expense.getPayerName(), expense.getNotes(), expense.getVersion());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDate getExpenseDate() {
+        return expenseDate;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public BigDecimal getCashAmount() {
+        return cashAmount;
+    }
+
+    public BigDecimal getUpiAmount() {
+        return upiAmount;
+    }
+
+    public String getUpiVpa() {
+        return upiVpa;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getPayerName() {
+        return payerName;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpenseListItemDTO{" +
+                "id=" + id +
+                ", amount=" + amount +
+                ", category='" + category + '\'' +
+                ", expenseDate=" + expenseDate +
+                ", paymentMethod=" + paymentMethod +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package com.expensetracker.app.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a single keyset-paginated page of expenses.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public class ExpensePageDTO {
+    
+    private List<ExpenseListItemDTO> content;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+    
+    /**
+     * Default constructor
+     */
+    public ExpensePageDTO() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public ExpensePageDTO(List<ExpenseListItemDTO> content, String nextCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.size = size;
+    }
+    
+    // Getters and Setters
+    public List<ExpenseListItemDTO> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<ExpenseListItemDTO> content) {
+        this.content = content;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    @Override
+    public String toString() {
+        return "ExpensePageDTO{" +
+                "size=" + size +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
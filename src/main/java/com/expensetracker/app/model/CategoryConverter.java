@@ -0,0 +1,39 @@
+package com.expensetracker.app.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.expensetracker.app.repository.CategoryDictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores category names as their dictionary id. Entities, queries and the
+ * JSON API keep working with names, while the columns, indexes, group-bys
+ * and comparisons work on a small integer. Hibernate creates the converter
+ * through Spring, which supplies the dictionary.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Integer> {
+
+    private final CategoryDictionary categoryDictionary;
+
+    @Autowired
+    public CategoryConverter(CategoryDictionary categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        // Names written for the first time are added to the dictionary
+        return name != null ? categoryDictionary.intern(name) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id != null ? categoryDictionary.nameOf(id) : null;
+    }
+}
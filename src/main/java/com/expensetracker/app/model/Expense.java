@@ -5,8 +5,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -19,6 +21,8 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -32,13 +36,17 @@ import jakarta.validation.constraints.Size;
  * @version 1.0
  */
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses",
+       uniqueConstraints = @UniqueConstraint(name = "uk_expenses_user_upi_transaction",
+                                             columnNames = {"user_id", "upi_transaction_id"}))
 public class Expense {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Never serialized: the owner is always the caller, and the entity carries the password hash
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -50,7 +58,8 @@ public class Expense {
     
     @NotBlank(message = "Category is required")
     @Size(max = 50, message = "Category must not exceed 50 characters")
-    @Column(name = "category", nullable = false, length = 50)
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
     private String category;
     
     @NotNull(message = "Expense date is required")
@@ -79,6 +88,11 @@ public class Expense {
     @Column(name = "transaction_id", length = 100)
     private String transactionId;
     
+    // The transaction ID of UPI payments only, so that a retried UPI create cannot be stored twice
+    @JsonIgnore
+    @Column(name = "upi_transaction_id", length = 100)
+    private String upiTransactionId;
+    
     @Size(max = 100, message = "Payer name must not exceed 100 characters")
     @Column(name = "payer_name", length = 100)
     private String payerName;
@@ -87,6 +101,11 @@ public class Expense {
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
     
+    // Incremented by every update; a write made against an older version is rejected
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -112,26 +131,28 @@ public class Expense {
     }
     
     /**
-     * Sets timestamps before persisting
+     * Sets timestamps before persisting.
+     * Also called directly by batched inserts that bypass the persistence context.
      */
     @PrePersist
-    protected void onCreate() {
+    public void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         updateAmountFields();
     }
     
     /**
-     * Updates timestamp before updating
+     * Updates timestamp before updating.
+     * Also called directly by updates issued as a single statement.
      */
     @PreUpdate
-    protected void onUpdate() {
+    public void onUpdate() {
         updatedAt = LocalDateTime.now();
         updateAmountFields();
     }
     
     /**
-     * Updates cash and UPI amount fields based on payment method
+     * Updates cash and UPI amount fields, and the unique UPI transaction ID, based on payment method
      */
     private void updateAmountFields() {
         if (paymentMethod == PaymentMethod.CASH) {
@@ -141,6 +162,7 @@ public class Expense {
             this.upiAmount = this.amount;
             this.cashAmount = BigDecimal.ZERO;
         }
+        this.upiTransactionId = paymentMethod == PaymentMethod.UPI ? transactionId : null;
     }
     
     // Getters and Setters
@@ -224,6 +246,11 @@ public class Expense {
     
     public void setTransactionId(String transactionId) {
         this.transactionId = transactionId;
+        updateAmountFields();
+    }
+    
+    public String getUpiTransactionId() {
+        return upiTransactionId;
     }
     
     public String getPayerName() {
@@ -242,6 +269,14 @@ public class Expense {
         this.notes = notes;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
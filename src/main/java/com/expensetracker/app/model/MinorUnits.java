@@ -0,0 +1,98 @@
+package com.expensetracker.app.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Money as a {@code long} count of minor units (paise/cents), for summing
+ * amounts in memory. Every amount column has scale 2, so the conversion is
+ * exact both ways; an amount with more decimals, or a total beyond
+ * {@code Long.MAX_VALUE} minor units, fails with an {@link ArithmeticException}
+ * instead of being rounded or wrapped. Amounts are converted back to
+ * {@link BigDecimal} wherever they leave the service layer.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public final class MinorUnits {
+
+    /** Decimal places of every amount column */
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Convert an amount to minor units
+     *
+     * @param amount the amount
+     * @return the amount in minor units
+     * @throws ArithmeticException if the amount has more than two decimals or does not fit a long
+     */
+    public static long of(BigDecimal amount) {
+        // A compact value with scale 0 is returned as is, without inflating to a BigInteger
+        return amount.scaleByPowerOfTen(SCALE).longValueExact();
+    }
+
+    /**
+     * Convert minor units back to an amount with two decimals
+     *
+     * @param minorUnits the amount in minor units
+     * @return the amount
+     */
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Add two amounts in minor units
+     *
+     * @throws ArithmeticException if the sum overflows
+     */
+    public static long add(long augend, long addend) {
+        return Math.addExact(augend, addend);
+    }
+
+    /**
+     * Running total and count of amounts in minor units, updated in place so
+     * grouping many amounts allocates one accumulator per group
+     */
+    public static final class Total {
+
+        private long amount;
+        private long count;
+
+        /**
+         * Add one amount
+         *
+         * @param minorUnits the amount in minor units
+         * @throws ArithmeticException if the total overflows
+         */
+        public void add(long minorUnits) {
+            amount = MinorUnits.add(amount, minorUnits);
+            count++;
+        }
+
+        /**
+         * Take one amount back out
+         *
+         * @param minorUnits the amount in minor units
+         * @throws ArithmeticException if the total overflows
+         */
+        public void remove(long minorUnits) {
+            amount = Math.subtractExact(amount, minorUnits);
+            count--;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public BigDecimal getDecimalAmount() {
+            return toDecimal(amount);
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
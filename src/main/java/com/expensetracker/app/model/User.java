@@ -3,6 +3,13 @@ package com.expensetracker.app.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -16,12 +23,17 @@ import jakarta.validation.constraints.Size;
 
 /**
  * User entity for authentication and user management.
+ * Held in the second-level cache, by ID and by username (its natural id);
+ * see {@code SecondLevelCacheConfig}.
  *
  * @author Expense Tracker Team
  * @version 1.0
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "usernames")
 public class User {
 
     @Id
@@ -30,6 +42,7 @@ public class User {
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
 
@@ -46,6 +59,12 @@ public class User {
     @Column(name = "budget", precision = 10, scale = 2)
     private BigDecimal budget;
 
+    // Incremented in the database on every expense or budget write, never written through the entity.
+    // The increment leaves cached users alone, so read the current value with UserRepository.findDataVersionById
+    @ColumnDefault("0")
+    @Column(name = "data_version", nullable = false, insertable = false, updatable = false)
+    private long dataVersion;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -112,6 +131,10 @@ public class User {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
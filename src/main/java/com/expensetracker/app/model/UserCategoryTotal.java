@@ -0,0 +1,109 @@
+package com.expensetracker.app.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Persisted running total of a user's expenses in one category.
+ * Rows are removed once their transaction count drops to zero.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "user_category_totals",
+       uniqueConstraints = @UniqueConstraint(name = "uk_user_category_totals", columnNames = {"user_id", "category_id"}))
+public class UserCategoryTotal {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
+    private String category;
+    
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+    
+    /**
+     * Default constructor
+     */
+    public UserCategoryTotal() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public UserCategoryTotal(Long userId, String category, BigDecimal totalAmount, long transactionCount) {
+        this.userId = userId;
+        this.category = category;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+    
+    @Override
+    public String toString() {
+        return "UserCategoryTotal{" +
+                "userId=" + userId +
+                ", category='" + category + '\'' +
+                ", totalAmount=" + totalAmount +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
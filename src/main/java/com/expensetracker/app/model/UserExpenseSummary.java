@@ -0,0 +1,149 @@
+package com.expensetracker.app.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+/**
+ * Persisted running totals of a user's expenses.
+ * Maintained incrementally by every expense write so the summary can be read
+ * without scanning the expenses table.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "user_expense_summaries")
+public class UserExpenseSummary {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "cash_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal cashAmount = BigDecimal.ZERO;
+    
+    @Column(name = "upi_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal upiAmount = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+    
+    @Column(name = "cash_count", nullable = false)
+    private long cashCount;
+    
+    @Column(name = "upi_count", nullable = false)
+    private long upiCount;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Default constructor
+     */
+    public UserExpenseSummary() {
+    }
+    
+    /**
+     * Constructor for an empty summary of a user
+     */
+    public UserExpenseSummary(Long userId) {
+        this.userId = userId;
+    }
+    
+    /**
+     * Updates timestamp before persisting or updating
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public BigDecimal getCashAmount() {
+        return cashAmount;
+    }
+    
+    public void setCashAmount(BigDecimal cashAmount) {
+        this.cashAmount = cashAmount;
+    }
+    
+    public BigDecimal getUpiAmount() {
+        return upiAmount;
+    }
+    
+    public void setUpiAmount(BigDecimal upiAmount) {
+        this.upiAmount = upiAmount;
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+    
+    public long getCashCount() {
+        return cashCount;
+    }
+    
+    public void setCashCount(long cashCount) {
+        this.cashCount = cashCount;
+    }
+    
+    public long getUpiCount() {
+        return upiCount;
+    }
+    
+    public void setUpiCount(long upiCount) {
+        this.upiCount = upiCount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "UserExpenseSummary{" +
+                "userId=" + userId +
+                ", totalAmount=" + totalAmount +
+                ", cashAmount=" + cashAmount +
+                ", upiAmount=" + upiAmount +
+                ", transactionCount=" + transactionCount +
+                ", cashCount=" + cashCount +
+                ", upiCount=" + upiCount +
+                '}';
+    }
+}
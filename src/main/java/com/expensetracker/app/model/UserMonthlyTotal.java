@@ -0,0 +1,155 @@
+package com.expensetracker.app.model;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Persisted running total of a user's expenses in one calendar month,
+ * category and payment method. Monthly reports read these rollups instead
+ * of grouping the expenses table by date functions.
+ * Rows are removed once their transaction count drops to zero.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "user_monthly_totals",
+       uniqueConstraints = @UniqueConstraint(name = "uk_user_monthly_totals",
+               columnNames = {"user_id", "expense_year", "expense_month", "category_id", "payment_method"}))
+public class UserMonthlyTotal {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "expense_year", nullable = false)
+    private int expenseYear;
+    
+    @Column(name = "expense_month", nullable = false)
+    private int expenseMonth;
+    
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
+    private String category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 10)
+    private PaymentMethod paymentMethod;
+    
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+    
+    /**
+     * Default constructor
+     */
+    public UserMonthlyTotal() {
+    }
+    
+    /**
+     * Constructor with all fields
+     */
+    public UserMonthlyTotal(Long userId, int expenseYear, int expenseMonth, String category,
+                            PaymentMethod paymentMethod, BigDecimal totalAmount, long transactionCount) {
+        this.userId = userId;
+        this.expenseYear = expenseYear;
+        this.expenseMonth = expenseMonth;
+        this.category = category;
+        this.paymentMethod = paymentMethod;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public int getExpenseYear() {
+        return expenseYear;
+    }
+    
+    public void setExpenseYear(int expenseYear) {
+        this.expenseYear = expenseYear;
+    }
+    
+    public int getExpenseMonth() {
+        return expenseMonth;
+    }
+    
+    public void setExpenseMonth(int expenseMonth) {
+        this.expenseMonth = expenseMonth;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+    
+    @Override
+    public String toString() {
+        return "UserMonthlyTotal{" +
+                "userId=" + userId +
+                ", expenseYear=" + expenseYear +
+                ", expenseMonth=" + expenseMonth +
+                ", category='" + category + '\'' +
+                ", paymentMethod=" + paymentMethod +
+                ", totalAmount=" + totalAmount +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
@@ -0,0 +1,203 @@
+package com.expensetracker.app.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Dictionary interning category names to the small integer ids of the
+ * categories table, with both directions held in memory. Entries are never
+ * changed or removed, so cached mappings never go stale.
+ * <p>
+ * New names are inserted on the caller's transaction connection, as it may be
+ * in the middle of a flush and must not wait for a second pooled connection.
+ * The insert skips names added concurrently, and ids inserted by a transaction
+ * are only cached once it commits, so a rolled-back expense leaves no id
+ * behind that refers to a missing row.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Component
+public class CategoryDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryDictionary.class);
+
+    private static final String SELECT_ID = "SELECT id FROM categories WHERE name = ?";
+    private static final String SELECT_NAME = "SELECT name FROM categories WHERE id = ?";
+    private static final String INSERT_POSTGRESQL = "INSERT INTO categories (name) VALUES (?) ON CONFLICT (name) DO NOTHING";
+    private static final String INSERT_H2 = "MERGE INTO categories (name) KEY (name) VALUES (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Integer> ids;
+    private final Cache<Integer, String> names;
+    private volatile String insertIfAbsent;
+
+    @Autowired
+    public CategoryDictionary(JdbcTemplate jdbcTemplate,
+                              @Value("${app.categories.cache.max-size:10000}") long maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ids = Caffeine.newBuilder().maximumSize(maxSize).build();
+        this.names = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /**
+     * Get the id of a category name, adding the name to the dictionary if it
+     * is not in it yet
+     *
+     * @param name the category name
+     * @return the category id
+     */
+    public Integer intern(String name) {
+        Integer id = lookup(name);
+        if (id != null) {
+            return id;
+        }
+        jdbcTemplate.update(insertIfAbsent(), name);
+        id = selectId(name);
+        if (id == null) {
+            throw new DataRetrievalFailureException("Could not add category '" + name + "'");
+        }
+        logger.debug("Added category '{}' to the dictionary", name);
+        Map<String, Integer> pending = pending();
+        if (pending == null) {
+            cache(name, id);
+        } else {
+            pending.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Get the id of a category name without adding it, for lookups driven by
+     * user input such as filters
+     *
+     * @param name the category name
+     * @return the category id, or empty if no expense ever used the name
+     */
+    public Optional<Integer> findId(String name) {
+        return Optional.ofNullable(lookup(name));
+    }
+
+    /**
+     * Get the name of a category id
+     *
+     * @param id the category id
+     * @return the category name
+     * @throws DataRetrievalFailureException if the id is not in the dictionary
+     */
+    public String nameOf(Integer id) {
+        String name = names.getIfPresent(id);
+        if (name != null) {
+            return name;
+        }
+        Map<String, Integer> pending = currentPending();
+        if (pending != null) {
+            for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                if (entry.getValue().equals(id)) {
+                    return entry.getKey();
+                }
+            }
+        }
+        name = names.get(id, this::selectName);
+        if (name == null) {
+            throw new DataRetrievalFailureException("Unknown category id " + id);
+        }
+        return name;
+    }
+
+    private Integer lookup(String name) {
+        Integer id = ids.getIfPresent(name);
+        if (id != null) {
+            return id;
+        }
+        Map<String, Integer> pending = currentPending();
+        if (pending != null && pending.containsKey(name)) {
+            return pending.get(name);
+        }
+        // Any row found that this transaction did not insert is committed, so it can be cached
+        id = selectId(name);
+        if (id != null) {
+            cache(name, id);
+        }
+        return id;
+    }
+
+    private void cache(String name, Integer id) {
+        ids.put(name, id);
+        names.put(id, name);
+    }
+
+    private Integer selectId(String name) {
+        // Runs on the caller's transaction connection when there is one, so lookups need no extra connection
+        List<Integer> found = jdbcTemplate.queryForList(SELECT_ID, Integer.class, name);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private String selectName(Integer id) {
+        List<String> found = jdbcTemplate.queryForList(SELECT_NAME, String.class, id);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private String insertIfAbsent() {
+        String sql = insertIfAbsent;
+        if (sql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equals(product) ? INSERT_POSTGRESQL : INSERT_H2;
+            insertIfAbsent = sql;
+        }
+        return sql;
+    }
+
+    /**
+     * Names inserted by the current transaction, or null outside one
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> currentPending() {
+        return (Map<String, Integer>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Names inserted by the current transaction, registering them to be cached
+     * on commit; null when there is no transaction and inserts commit at once
+     */
+    private Map<String, Integer> pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<String, Integer> pending = currentPending();
+        if (pending == null) {
+            Map<String, Integer> inserted = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, inserted);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inserted.forEach(CategoryDictionary.this::cache);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CategoryDictionary.this);
+                }
+            });
+            pending = inserted;
+        }
+        return pending;
+    }
+}
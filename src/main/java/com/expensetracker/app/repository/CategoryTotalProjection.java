@@ -0,0 +1,18 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of an expense total grouped by category.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface CategoryTotalProjection {
+
+    String getCategory();
+
+    BigDecimal getTotalAmount();
+
+    long getTransactionCount();
+}
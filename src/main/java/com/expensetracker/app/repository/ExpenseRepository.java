@@ -1,9 +1,15 @@
 package com.expensetracker.app.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,6 +18,8 @@ import com.expensetracker.app.model.Expense;
 import com.expensetracker.app.model.PaymentMethod;
 import com.expensetracker.app.model.User;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * Repository interface for Expense entity operations.
  * Provides CRUD operations and custom query methods for expense management.
@@ -20,7 +28,8 @@ import com.expensetracker.app.model.User;
  * @version 1.0
  */
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense>,
+        ExpenseRepositoryCustom {
     
     /**
      * Find expenses by user
@@ -31,103 +40,245 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByUser(User user);
 
     /**
-     * Find expenses by user and category
+     * Find expenses by user ordered by date (most recent first)
      *
      * @param user the user to filter by
-     * @param category the category to filter by
-     * @return list of expenses for the specified user and category
+     * @return list of expenses for the specified user ordered by expense date descending
      */
-    List<Expense> findByUserAndCategory(User user, String category);
+    List<Expense> findByUserOrderByExpenseDateDesc(User user);
 
     /**
-     * Find expenses by user and payment method
+     * Find expenses by user and UPI VPA
      *
      * @param user the user to filter by
-     * @param paymentMethod the payment method to filter by
-     * @return list of expenses for the specified user and payment method
+     * @param upiVpa the UPI VPA to search for
+     * @return list of expenses for the specified user with the specified UPI VPA
      */
-    List<Expense> findByUserAndPaymentMethod(User user, PaymentMethod paymentMethod);
+    List<Expense> findByUserAndUpiVpaContainingIgnoreCase(User user, String upiVpa);
 
     /**
-     * Find expenses by user within a date range
+     * Find expenses by user and transaction ID
      *
      * @param user the user to filter by
-     * @param startDate the start date (inclusive)
-     * @param endDate the end date (inclusive)
-     * @return list of expenses for the specified user within the date range
+     * @param transactionId the transaction ID to search for
+     * @return list of expenses for the specified user with the specified transaction ID
      */
-    List<Expense> findByUserAndExpenseDateBetween(User user, LocalDate startDate, LocalDate endDate);
+    List<Expense> findByUserAndTransactionIdContainingIgnoreCase(User user, String transactionId);
 
     /**
-     * Find expenses by user, category and date range
+     * Get the stored state of a user's expense without loading the entity
      *
-     * @param user the user to filter by
-     * @param category the category to filter by
-     * @param startDate the start date (inclusive)
-     * @param endDate the end date (inclusive)
-     * @return list of expenses matching the criteria
+     * @param id the expense ID
+     * @param userId the user who must own it
+     * @return the state, or empty if the user has no expense with that ID
+     */
+    @Query("SELECT e.id AS id, e.amount AS amount, e.category AS category, e.paymentMethod AS paymentMethod, " +
+           "e.expenseDate AS expenseDate, e.version AS version, e.createdAt AS createdAt " +
+           "FROM Expense e WHERE e.id = :id AND e.user.id = :userId")
+    Optional<ExpenseStateProjection> findStateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Get the stored state of many of a user's expenses, locking their rows
+     * until the transaction ends so that the state stays current for the
+     * write that follows
+     *
+     * @param ids the expense IDs
+     * @param userId the user who must own them
+     * @return the state of those of the expenses that the user owns
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id AS id, e.amount AS amount, e.category AS category, e.paymentMethod AS paymentMethod, " +
+           "e.expenseDate AS expenseDate, e.version AS version, e.createdAt AS createdAt " +
+           "FROM Expense e WHERE e.id IN :ids AND e.user.id = :userId")
+    List<ExpenseStateProjection> findStatesForUpdate(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    /**
+     * Delete a user's expense with a single statement, if it is still at the given version
+     *
+     * @param id the expense ID
+     * @param userId the user who must own it
+     * @param version the version last read
+     * @return 1 if deleted, 0 if no expense with that ID, owner and version exists
      */
-    List<Expense> findByUserAndCategoryAndExpenseDateBetween(User user, String category, LocalDate startDate, LocalDate endDate);
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Expense e WHERE e.id = :id AND e.user.id = :userId AND e.version = :version")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId, @Param("version") long version);
 
     /**
-     * Find expenses by user, payment method and date range
+     * Delete many of a user's expenses with a single statement
+     *
+     * @param ids the expense IDs
+     * @param userId the user who must own them
+     * @return number of expenses deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Expense e WHERE e.id IN :ids AND e.user.id = :userId")
+    int deleteAllOwned(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    /**
+     * Move many of a user's expenses to one category with a single statement
+     *
+     * @param ids the expense IDs
+     * @param userId the user who must own them
+     * @param category the new category
+     * @param updatedAt the update timestamp
+     * @return number of expenses updated
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Expense e SET e.category = :category, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+           "WHERE e.id IN :ids AND e.user.id = :userId")
+    int updateCategoryOfOwned(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                              @Param("category") String category, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find a user's UPI expense by its exact transaction ID, which is unique per user
      *
      * @param user the user to filter by
-     * @param paymentMethod the payment method to filter by
-     * @param startDate the start date (inclusive)
-     * @param endDate the end date (inclusive)
-     * @return list of expenses matching the criteria
+     * @param upiTransactionId the transaction ID
+     * @return the expense, if the user has stored that UPI transaction
      */
-    List<Expense> findByUserAndPaymentMethodAndExpenseDateBetween(User user, PaymentMethod paymentMethod, LocalDate startDate, LocalDate endDate);
+    Optional<Expense> findByUserAndUpiTransactionId(User user, String upiTransactionId);
 
     /**
-     * Find expenses by user, category, payment method and date range
+     * Get which of the given UPI transaction IDs a user has already stored
      *
      * @param user the user to filter by
-     * @param category the category to filter by
-     * @param paymentMethod the payment method to filter by
-     * @param startDate the start date (inclusive)
-     * @param endDate the end date (inclusive)
-     * @return list of expenses matching all criteria
+     * @param upiTransactionIds the transaction IDs to look up
+     * @return the subset of the IDs already stored
      */
-    List<Expense> findByUserAndCategoryAndPaymentMethodAndExpenseDateBetween(
-            User user, String category, PaymentMethod paymentMethod, LocalDate startDate, LocalDate endDate);
+    @Query("SELECT e.upiTransactionId FROM Expense e WHERE e.user = :user AND e.upiTransactionId IN :upiTransactionIds")
+    List<String> findUpiTransactionIds(@Param("user") User user,
+                                       @Param("upiTransactionIds") Collection<String> upiTransactionIds);
 
     /**
-     * Find expenses by user ordered by date (most recent first)
+     * Get the UPI VPA, transaction ID and payer name of every expense of a
+     * user that has at least one of them, for building the search index
      *
      * @param user the user to filter by
-     * @return list of expenses for the specified user ordered by expense date descending
+     * @return the searchable text of the user's expenses
      */
-    List<Expense> findByUserOrderByExpenseDateDesc(User user);
+    @Query("SELECT e.id AS id, e.version AS version, e.upiVpa AS upiVpa, e.transactionId AS transactionId, " +
+           "e.payerName AS payerName FROM Expense e WHERE e.user = :user " +
+           "AND (e.upiVpa IS NOT NULL OR e.transactionId IS NOT NULL OR e.payerName IS NOT NULL)")
+    List<SearchableTextProjection> findSearchableTextByUser(@Param("user") User user);
 
     /**
-     * Find expenses by user and UPI VPA
+     * Get the searchable text of some of a user's expenses, for applying the
+     * rows changed since the search index was built
      *
      * @param user the user to filter by
-     * @param upiVpa the UPI VPA to search for
-     * @return list of expenses for the specified user with the specified UPI VPA
+     * @param ids the expense IDs
+     * @return the searchable text of those of the expenses that have any
      */
-    List<Expense> findByUserAndUpiVpaContainingIgnoreCase(User user, String upiVpa);
+    @Query("SELECT e.id AS id, e.version AS version, e.upiVpa AS upiVpa, e.transactionId AS transactionId, " +
+           "e.payerName AS payerName FROM Expense e WHERE e.user = :user AND e.id IN :ids " +
+           "AND (e.upiVpa IS NOT NULL OR e.transactionId IS NOT NULL OR e.payerName IS NOT NULL)")
+    List<SearchableTextProjection> findSearchableTextByUserAndIdIn(@Param("user") User user,
+                                                                   @Param("ids") Collection<Long> ids);
 
     /**
-     * Find expenses by user and transaction ID
+     * Get the id and version of each of a user's expenses with searchable
+     * text, without the text itself
      *
      * @param user the user to filter by
-     * @param transactionId the transaction ID to search for
-     * @return list of expenses for the specified user with the specified transaction ID
+     * @return the id and version of the expenses the search index holds, as
+     *         rows of [id, version]
      */
-    List<Expense> findByUserAndTransactionIdContainingIgnoreCase(User user, String transactionId);
+    @Query("SELECT e.id, e.version FROM Expense e WHERE e.user = :user " +
+           "AND (e.upiVpa IS NOT NULL OR e.transactionId IS NOT NULL OR e.payerName IS NOT NULL)")
+    List<Object[]> findSearchableVersionsByUser(@Param("user") User user);
 
     /**
-     * Get distinct categories for a user
+     * Get distinct categories for a user.
+     * Distinct runs on the category ids, so the names come back unordered.
      *
      * @param user the user to filter by
      * @return list of distinct categories for the specified user
      */
-    @Query("SELECT DISTINCT e.category FROM Expense e WHERE e.user = :user ORDER BY e.category")
+    @Query("SELECT DISTINCT e.category FROM Expense e WHERE e.user = :user")
     List<String> findDistinctCategoriesByUser(@Param("user") User user);
 
+    /**
+     * Get total amount and transaction count by category for a user
+     *
+     * @param user the user to filter by
+     * @return category totals for the specified user
+     */
+    @Query("SELECT e.category AS category, SUM(e.amount) AS totalAmount, COUNT(e) AS transactionCount " +
+           "FROM Expense e WHERE e.user = :user GROUP BY e.category")
+    List<CategoryTotalProjection> getCategoryTotalsByUser(@Param("user") User user);
+
+    /**
+     * Get total amount and transaction count by payment method for a user
+     *
+     * @param user the user to filter by
+     * @return payment method totals for the specified user
+     */
+    @Query("SELECT e.paymentMethod AS paymentMethod, SUM(e.amount) AS totalAmount, COUNT(e) AS transactionCount " +
+           "FROM Expense e WHERE e.user = :user GROUP BY e.paymentMethod")
+    List<PaymentMethodTotalProjection> getPaymentMethodTotalsByUser(@Param("user") User user);
+
+    /**
+     * Get total amount and transaction count by month, category and payment method for a user.
+     * Only used to build and verify the monthly rollups.
+     *
+     * @param user the user to filter by
+     * @return monthly totals for the specified user
+     */
+    @Query("SELECT YEAR(e.expenseDate) AS year, MONTH(e.expenseDate) AS month, e.category AS category, " +
+           "e.paymentMethod AS paymentMethod, SUM(e.amount) AS totalAmount, COUNT(e) AS transactionCount " +
+           "FROM Expense e WHERE e.user = :user " +
+           "GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate), e.category, e.paymentMethod")
+    List<MonthlyTotalProjection> getMonthlyTotalsByUser(@Param("user") User user);
+
+    /**
+     * Get total amount and transaction count by category for a user within a date range
+     *
+     * @param user the user to filter by
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return category totals for the specified user and date range
+     */
+    @Query("SELECT e.category AS category, SUM(e.amount) AS totalAmount, COUNT(e) AS transactionCount " +
+           "FROM Expense e WHERE e.user = :user AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.category")
+    List<CategoryTotalProjection> getCategoryTotalsByUserAndDateRange(@Param("user") User user,
+                                                                     @Param("startDate") LocalDate startDate,
+                                                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * Get total amount and transaction count by payment method for a user within a date range
+     *
+     * @param user the user to filter by
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return payment method totals for the specified user and date range
+     */
+    @Query("SELECT e.paymentMethod AS paymentMethod, SUM(e.amount) AS totalAmount, COUNT(e) AS transactionCount " +
+           "FROM Expense e WHERE e.user = :user AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.paymentMethod")
+    List<PaymentMethodTotalProjection> getPaymentMethodTotalsByUserAndDateRange(@Param("user") User user,
+                                                                               @Param("startDate") LocalDate startDate,
+                                                                               @Param("endDate") LocalDate endDate);
+
+    /**
+     * Get total amount and transaction count by category across all users
+     *
+     * @return category totals
+     */
+    @Query("SELECT e.category AS category, SUM(e.amount) AS totalAmount, COUNT(e) AS transactionCount " +
+           "FROM Expense e GROUP BY e.category")
+    List<CategoryTotalProjection> getCategoryTotals();
+
+    /**
+     * Get total amount and transaction count by payment method across all users
+     *
+     * @return payment method totals
+     */
+    @Query("SELECT e.paymentMethod AS paymentMethod, SUM(e.amount) AS totalAmount, COUNT(e) AS transactionCount " +
+           "FROM Expense e GROUP BY e.paymentMethod")
+    List<PaymentMethodTotalProjection> getPaymentMethodTotals();
+
     /**
      * Find expenses by category
      *
@@ -185,55 +336,6 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByCategoryAndPaymentMethodAndExpenseDateBetween(
             String category, PaymentMethod paymentMethod, LocalDate startDate, LocalDate endDate);
     
-    /**
-     * Get total amount by category
-     * 
-     * @return list of objects containing category and total amount
-     */
-    @Query("SELECT e.category as category, SUM(e.amount) as totalAmount " +
-           "FROM Expense e GROUP BY e.category ORDER BY totalAmount DESC")
-    List<Object[]> getTotalAmountByCategory();
-    
-    /**
-     * Get total amount by payment method
-     * 
-     * @return list of objects containing payment method and total amount
-     */
-    @Query("SELECT e.paymentMethod as paymentMethod, SUM(e.amount) as totalAmount " +
-           "FROM Expense e GROUP BY e.paymentMethod ORDER BY totalAmount DESC")
-    List<Object[]> getTotalAmountByPaymentMethod();
-    
-    /**
-     * Get monthly expense summary
-     * 
-     * @return list of objects containing year, month, and total amount
-     */
-    @Query("SELECT YEAR(e.expenseDate) as year, MONTH(e.expenseDate) as month, " +
-           "SUM(e.amount) as totalAmount, COUNT(e) as transactionCount " +
-           "FROM Expense e GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate) " +
-           "ORDER BY year DESC, month DESC")
-    List<Object[]> getMonthlyExpenseSummary();
-    
-    /**
-     * Get category-wise monthly summary
-     * 
-     * @param year the year to filter by
-     * @param month the month to filter by
-     * @return list of objects containing category and total amount for the specified month
-     */
-    @Query("SELECT e.category as category, SUM(e.amount) as totalAmount, COUNT(e) as transactionCount " +
-           "FROM Expense e WHERE YEAR(e.expenseDate) = :year AND MONTH(e.expenseDate) = :month " +
-           "GROUP BY e.category ORDER BY totalAmount DESC")
-    List<Object[]> getCategoryWiseMonthlySummary(@Param("year") int year, @Param("month") int month);
-    
-    /**
-     * Get total cash and UPI amounts
-     * 
-     * @return list containing total cash amount and total UPI amount
-     */
-    @Query("SELECT SUM(e.cashAmount) as totalCash, SUM(e.upiAmount) as totalUpi FROM Expense e")
-    Object[] getTotalCashAndUpiAmounts();
-    
     /**
      * Find expenses by UPI VPA
      * 
@@ -251,11 +353,11 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByTransactionIdContainingIgnoreCase(String transactionId);
     
     /**
-     * Get all distinct categories
+     * Get all distinct categories, unordered
      * 
      * @return list of distinct categories
      */
-    @Query("SELECT DISTINCT e.category FROM Expense e ORDER BY e.category")
+    @Query("SELECT DISTINCT e.category FROM Expense e")
     List<String> findDistinctCategories();
     
     /**
@@ -0,0 +1,69 @@
+package com.expensetracker.app.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.model.Expense;
+
+/**
+ * Custom repository fragment for expense queries that Spring Data cannot derive.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface ExpenseRepositoryCustom {
+
+    /**
+     * Stream expenses matching a specification from a database cursor.
+     * Rows are fetched in batches of {@code fetchSize} and detached from the
+     * persistence context once handed out, so memory stays flat however many
+     * rows match. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param spec the specification to match
+     * @param sort the ordering of the stream
+     * @param fetchSize the JDBC fetch size
+     * @return stream of matching expenses
+     */
+    Stream<Expense> streamAll(Specification<Expense> spec, Sort sort, int fetchSize);
+
+    /**
+     * Find expenses matching a specification as read-only list items.
+     * Only the serialized columns are selected, straight into DTOs, so no
+     * entity is hydrated, snapshotted by the persistence context or linked
+     * to its user.
+     *
+     * @param spec the specification to match
+     * @param sort the ordering of the result
+     * @param limit the maximum number of rows, or 0 for no limit
+     * @return matching expenses as list items
+     */
+    List<ExpenseListItemDTO> findItems(Specification<Expense> spec, Sort sort, int limit);
+
+    /**
+     * Insert new expenses with a single batched JDBC statement, bypassing the
+     * persistence context. Creation timestamps and the cash/UPI split are set
+     * as on persist, and each expense receives its generated ID. The expenses
+     * must already be validated and carry their owning user.
+     *
+     * @param expenses the expenses to insert
+     */
+    void insertAll(List<Expense> expenses);
+
+    /**
+     * Overwrite a user's expense with a single UPDATE, conditioned on its
+     * owner and version rather than loading and dirty-checking the entity.
+     * The update timestamp and the cash/UPI split are set as on update, and
+     * on success the expense receives its new version. The expense must
+     * already be validated and carry its ID.
+     *
+     * @param expense the new state of the expense
+     * @param userId the user who must own it
+     * @param version the version the new state replaces
+     * @return 1 if updated, 0 if no expense with that ID, owner and version exists
+     */
+    int updateOwned(Expense expense, Long userId, long version);
+}
@@ -0,0 +1,163 @@
+package com.expensetracker.app.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.model.Expense;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria API and JDBC implementation of {@link ExpenseRepositoryCustom}.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO expenses (user_id, amount, category_id, expense_date, " +
+            "payment_method, cash_amount, upi_amount, upi_vpa, transaction_id, upi_transaction_id, payer_name, notes, " +
+            "version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String UPDATE_OWNED_JPQL = "UPDATE Expense e SET e.amount = :amount, " +
+            "e.category = :category, e.expenseDate = :expenseDate, e.paymentMethod = :paymentMethod, " +
+            "e.cashAmount = :cashAmount, e.upiAmount = :upiAmount, e.upiVpa = :upiVpa, " +
+            "e.transactionId = :transactionId, e.upiTransactionId = :upiTransactionId, " +
+            "e.payerName = :payerName, e.notes = :notes, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+            "WHERE e.id = :id AND e.user.id = :userId AND e.version = :version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Override
+    public Stream<Expense> streamAll(Specification<Expense> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Expense> query = cb.createQuery(Expense.class);
+        Root<Expense> root = query.from(Expense.class);
+
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    @Override
+    public List<ExpenseListItemDTO> findItems(Specification<Expense> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExpenseListItemDTO> query = cb.createQuery(ExpenseListItemDTO.class);
+        Root<Expense> root = query.from(Expense.class);
+
+        query.select(cb.construct(ExpenseListItemDTO.class,
+                root.get("id"), root.get("amount"), root.get("category"), root.get("expenseDate"),
+                root.get("paymentMethod"), root.get("cashAmount"), root.get("upiAmount"),
+                root.get("upiVpa"), root.get("transactionId"), root.get("payerName"), root.get("notes"),
+                root.get("version")));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<ExpenseListItemDTO> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public void insertAll(List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+
+        // IDENTITY keys rule out Hibernate insert batching, so the batch is issued on the session's connection
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (Expense expense : expenses) {
+                    expense.onCreate();
+                    statement.setLong(1, expense.getUser().getId());
+                    statement.setBigDecimal(2, expense.getAmount());
+                    statement.setInt(3, categoryDictionary.intern(expense.getCategory()));
+                    statement.setDate(4, Date.valueOf(expense.getExpenseDate()));
+                    statement.setString(5, expense.getPaymentMethod().name());
+                    statement.setBigDecimal(6, expense.getCashAmount());
+                    statement.setBigDecimal(7, expense.getUpiAmount());
+                    statement.setString(8, expense.getUpiVpa());
+                    statement.setString(9, expense.getTransactionId());
+                    statement.setString(10, expense.getUpiTransactionId());
+                    statement.setString(11, expense.getPayerName());
+                    statement.setString(12, expense.getNotes());
+                    statement.setTimestamp(13, Timestamp.valueOf(expense.getCreatedAt()));
+                    statement.setTimestamp(14, Timestamp.valueOf(expense.getUpdatedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Expense expense : expenses) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Missing generated key for batched expense insert");
+                        }
+                        expense.setId(keys.getLong(1));
+                        expense.setVersion(0L);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public int updateOwned(Expense expense, Long userId, long version) {
+        expense.onUpdate();
+        int updated = entityManager.createQuery(UPDATE_OWNED_JPQL)
+                .setParameter("amount", expense.getAmount())
+                .setParameter("category", expense.getCategory())
+                .setParameter("expenseDate", expense.getExpenseDate())
+                .setParameter("paymentMethod", expense.getPaymentMethod())
+                .setParameter("cashAmount", expense.getCashAmount())
+                .setParameter("upiAmount", expense.getUpiAmount())
+                .setParameter("upiVpa", expense.getUpiVpa())
+                .setParameter("transactionId", expense.getTransactionId())
+                .setParameter("upiTransactionId", expense.getUpiTransactionId())
+                .setParameter("payerName", expense.getPayerName())
+                .setParameter("notes", expense.getNotes())
+                .setParameter("updatedAt", expense.getUpdatedAt())
+                .setParameter("id", expense.getId())
+                .setParameter("userId", userId)
+                .setParameter("version", version)
+                .executeUpdate();
+        // A copy of the row loaded earlier in this persistence context is now stale. getReference
+        // returns that copy if there is one, else an unloaded proxy, so detaching it runs no SQL
+        entityManager.detach(entityManager.getReference(Expense.class, expense.getId()));
+        if (updated > 0) {
+            expense.setVersion(version + 1);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,323 @@
+package com.expensetracker.app.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.expensetracker.app.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory trigram index over the UPI VPA, transaction ID and payer name of
+ * each user's expenses, answering case-insensitive substring searches that a
+ * B-tree cannot serve ({@code LOWER(x) LIKE '%q%'} reads every row of the user).
+ * <p>
+ * A search intersects the posting lists of the query's trigrams, shortest
+ * first, then checks the remaining candidates for the whole substring. Each
+ * user's index is tagged with the data version read before its rows, like the
+ * ETags. The first search after a write reads only the id and version of the
+ * user's expenses and applies the changed rows to the previous index: they
+ * are appended at new positions and their old positions marked removed, so
+ * posting lists stay in ascending order. The index is rebuilt from scratch
+ * when many rows changed or removed positions outnumber live ones.
+ * <p>
+ * Indexes are built and cached only within read-only transactions, which see
+ * committed data alone; elsewhere, and for text shorter than a trigram or
+ * matching too many expenses to pass on as ids, the caller falls back to LIKE.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Component
+public class ExpenseSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseSearchIndex.class);
+
+    private static final int GRAM = 3;
+
+    private static final String SELECT_VERSION = "SELECT data_version FROM users WHERE id = ?";
+
+    /** Changed rows applied to an index at most, beyond which it is rebuilt */
+    private static final int MAX_REFRESHED_ROWS = 1000;
+
+    /** The id of a position whose row was changed or deleted */
+    private static final long REMOVED = -1L;
+
+    /**
+     * The indexed text fields of an expense
+     */
+    public enum Field {
+        UPI_VPA("upiVpa", SearchableTextProjection::getUpiVpa),
+        TRANSACTION_ID("transactionId", SearchableTextProjection::getTransactionId),
+        PAYER_NAME("payerName", SearchableTextProjection::getPayerName);
+
+        private final String attribute;
+        private final Function<SearchableTextProjection, String> value;
+
+        Field(String attribute, Function<SearchableTextProjection, String> value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        /**
+         * @return the name of the Expense attribute holding the field
+         */
+        public String getAttribute() {
+            return attribute;
+        }
+    }
+
+    private final ExpenseRepository expenseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxMatches;
+    private final Cache<Long, UserIndex> indexes;
+
+    @Autowired
+    public ExpenseSearchIndex(ExpenseRepository expenseRepository, JdbcTemplate jdbcTemplate,
+                              @Value("${app.expenses.search.max-postings:5000000}") long maxPostings,
+                              @Value("${app.expenses.search.max-matches:1000}") int maxMatches) {
+        this.expenseRepository = expenseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxMatches = maxMatches;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxPostings)
+                .weigher((Long userId, UserIndex index) -> (int) Math.min(index.weight, Integer.MAX_VALUE))
+                .build();
+    }
+
+    /**
+     * Find the user's expenses whose field contains the text, ignoring case
+     *
+     * @param user the owning user
+     * @param field the field to search
+     * @param text the text to search for
+     * @return IDs of the matching expenses, or empty if the index cannot answer
+     *         and the caller should match with LIKE instead
+     */
+    public Optional<List<Long>> find(User user, Field field, String text) {
+        String query = text.toLowerCase(Locale.ROOT);
+        if (query.length() < GRAM || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Optional.empty();
+        }
+
+        UserIndex index = current(user);
+        int[][] lists = new int[query.length() - GRAM + 1][];
+        for (int i = 0; i < lists.length; i++) {
+            int[] list = index.postings.get(key(field, query, i));
+            if (list == null) {
+                return Optional.of(List.of());
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        String[] values = index.values[field.ordinal()];
+        List<Long> matches = new ArrayList<>();
+        candidates:
+        for (int position : lists[0]) {
+            for (int i = 1; i < lists.length; i++) {
+                if (Arrays.binarySearch(lists[i], position) < 0) {
+                    continue candidates;
+                }
+            }
+            // Every trigram occurs, but not necessarily in sequence; removed positions hold no value
+            if (values[position] != null && values[position].contains(query)) {
+                if (matches.size() == maxMatches) {
+                    return Optional.empty();
+                }
+                matches.add(index.ids[position]);
+            }
+        }
+        return Optional.of(matches);
+    }
+
+    private UserIndex current(User user) {
+        // Read before the rows, so a concurrent write can only make the index newer than its version.
+        // Plain JDBC on the transaction's connection: this runs on every search
+        List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION, Long.class, user.getId());
+        long version = versions.isEmpty() ? 0L : versions.get(0);
+        UserIndex index = indexes.getIfPresent(user.getId());
+        if (index != null && index.version == version) {
+            return index;
+        }
+
+        UserIndex built = index != null ? refresh(user, index, version) : null;
+        if (built == null) {
+            built = build(user, version);
+        }
+        // Concurrent builds keep the newer index
+        indexes.asMap().merge(user.getId(), built, (cached, fresh) -> fresh.version >= cached.version ? fresh : cached);
+        return built;
+    }
+
+    private UserIndex build(User user, long version) {
+        List<SearchableTextProjection> rows = expenseRepository.findSearchableTextByUser(user);
+        long[] ids = new long[rows.size()];
+        long[] versions = new long[rows.size()];
+        String[][] values = new String[Field.values().length][rows.size()];
+        Map<Long, PostingList> lists = new HashMap<>();
+        for (int position = 0; position < ids.length; position++) {
+            add(rows.get(position), position, ids, versions, values, lists);
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+        long weight = ids.length;
+        for (Map.Entry<Long, PostingList> entry : lists.entrySet()) {
+            int[] positions = entry.getValue().toArray();
+            postings.put(entry.getKey(), positions);
+            weight += positions.length;
+        }
+        logger.debug("Built search index for user {} at version {}: {} expenses, {} trigrams",
+                user.getId(), version, ids.length, postings.size());
+        return new UserIndex(version, ids, versions, values, postings, weight, 0);
+    }
+
+    /**
+     * Apply the rows changed since the index was built to a copy of it
+     *
+     * @return the refreshed index, or null if rebuilding it is the better choice
+     */
+    private UserIndex refresh(User user, UserIndex index, long version) {
+        Map<Long, Integer> stale = new HashMap<>(index.ids.length * 4 / 3 + 1);
+        for (int position = 0; position < index.ids.length; position++) {
+            if (index.ids[position] != REMOVED) {
+                stale.put(index.ids[position], position);
+            }
+        }
+        List<Long> changed = new ArrayList<>();
+        // Plain tuples rather than a projection, as every row of the user is read
+        List<Object[]> rows = expenseRepository.findSearchableVersionsByUser(user);
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            Integer position = stale.get(id);
+            if (position != null && index.versions[position] == (Long) row[1]) {
+                stale.remove(id);
+            } else {
+                changed.add(id);
+            }
+        }
+        // What is left in stale was changed or deleted
+        int removed = index.removed + stale.size();
+        if (changed.size() > MAX_REFRESHED_ROWS || removed > rows.size()) {
+            return null;
+        }
+
+        List<SearchableTextProjection> texts = changed.isEmpty()
+                ? List.of()
+                : expenseRepository.findSearchableTextByUserAndIdIn(user, changed);
+        int length = index.ids.length + texts.size();
+        long[] ids = Arrays.copyOf(index.ids, length);
+        long[] versions = Arrays.copyOf(index.versions, length);
+        String[][] values = new String[index.values.length][];
+        for (int field = 0; field < values.length; field++) {
+            values[field] = Arrays.copyOf(index.values[field], length);
+        }
+        // Removed positions stay in their posting lists, but no longer match
+        for (int position : stale.values()) {
+            ids[position] = REMOVED;
+            for (String[] fieldValues : values) {
+                fieldValues[position] = null;
+            }
+        }
+        Map<Long, PostingList> lists = new HashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            add(texts.get(i), index.ids.length + i, ids, versions, values, lists);
+        }
+
+        // Appended positions follow every existing one, so each list is extended once
+        Map<Long, int[]> postings = new HashMap<>(index.postings);
+        long weight = index.weight + texts.size();
+        for (Map.Entry<Long, PostingList> entry : lists.entrySet()) {
+            int[] appended = entry.getValue().toArray();
+            int[] existing = postings.get(entry.getKey());
+            int[] positions = appended;
+            if (existing != null) {
+                positions = Arrays.copyOf(existing, existing.length + appended.length);
+                System.arraycopy(appended, 0, positions, existing.length, appended.length);
+            }
+            postings.put(entry.getKey(), positions);
+            weight += appended.length;
+        }
+        logger.debug("Refreshed search index for user {} at version {}: {} changed, {} removed positions",
+                user.getId(), version, texts.size(), removed);
+        return new UserIndex(version, ids, versions, values, postings, weight, removed);
+    }
+
+    /**
+     * Index one row at a position, collecting its trigrams
+     */
+    private static void add(SearchableTextProjection row, int position, long[] ids, long[] versions,
+                            String[][] values, Map<Long, PostingList> lists) {
+        ids[position] = row.getId();
+        versions[position] = row.getVersion();
+        for (Field field : Field.values()) {
+            String value = field.value.apply(row);
+            if (value == null) {
+                continue;
+            }
+            String lowerCase = value.toLowerCase(Locale.ROOT);
+            values[field.ordinal()][position] = lowerCase;
+            for (int i = 0; i + GRAM <= lowerCase.length(); i++) {
+                lists.computeIfAbsent(key(field, lowerCase, i), key -> new PostingList()).add(position);
+            }
+        }
+    }
+
+    /**
+     * Packs a field and the three characters at an offset into one key
+     */
+    private static long key(Field field, String text, int offset) {
+        return (long) field.ordinal() << 48
+                | (long) text.charAt(offset) << 32
+                | (long) text.charAt(offset + 1) << 16
+                | text.charAt(offset + 2);
+    }
+
+    /**
+     * Positions of the expenses containing one trigram, ascending, as
+     * expenses are indexed in position order
+     */
+    private static final class PostingList {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            // A trigram repeated within one value is recorded once
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+
+    /**
+     * The index of one user's expenses at one data version, with the version
+     * of each row and the number of positions removed since it was built
+     */
+    private record UserIndex(long version, long[] ids, long[] versions, String[][] values,
+                             Map<Long, int[]> postings, long weight, int removed) {
+    }
+}
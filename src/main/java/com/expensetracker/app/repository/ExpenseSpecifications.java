@@ -0,0 +1,169 @@
+package com.expensetracker.app.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.expensetracker.app.dto.ExpenseCursor;
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+
+/**
+ * Composable JPA specifications for expense queries.
+ * Each factory method returns a single predicate so callers can combine them
+ * into one SQL statement instead of filtering rows in memory.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {
+    }
+
+    /**
+     * Restrict expenses to the given owner
+     *
+     * @param user the owning user
+     * @return specification matching the user's expenses
+     */
+    public static Specification<Expense> belongsTo(User user) {
+        return (root, query, cb) -> cb.equal(root.get("user"), user);
+    }
+
+    /**
+     * Match an exact category, compared by dictionary id. A name the
+     * dictionary does not know matches nothing; it is looked up rather than
+     * interned, so filter input never adds entries.
+     *
+     * @param category the category, ignored when null
+     * @param categories the category dictionary
+     * @return specification or null when no filter applies
+     */
+    public static Specification<Expense> hasCategory(String category, CategoryDictionary categories) {
+        if (category == null) {
+            return null;
+        }
+        if (categories.findId(category).isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    /**
+     * Match a payment method
+     *
+     * @param paymentMethod the payment method, ignored when null
+     * @return specification or null when no filter applies
+     */
+    public static Specification<Expense> hasPaymentMethod(PaymentMethod paymentMethod) {
+        if (paymentMethod == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("paymentMethod"), paymentMethod);
+    }
+
+    /**
+     * Match expenses on or after a date
+     *
+     * @param startDate the start date (inclusive), ignored when null
+     * @return specification or null when no filter applies
+     */
+    public static Specification<Expense> onOrAfter(LocalDate startDate) {
+        if (startDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("expenseDate"), startDate);
+    }
+
+    /**
+     * Match expenses on or before a date
+     *
+     * @param endDate the end date (inclusive), ignored when null
+     * @return specification or null when no filter applies
+     */
+    public static Specification<Expense> onOrBefore(LocalDate endDate) {
+        if (endDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("expenseDate"), endDate);
+    }
+
+    /**
+     * Case-insensitive substring match on a text field, answered from the
+     * search index when it can, and with LIKE otherwise
+     *
+     * @param field the field to search
+     * @param text the text to search for, ignored when blank
+     * @param user the owning user
+     * @param searchIndex the expense search index
+     * @return specification or null when no filter applies
+     */
+    public static Specification<Expense> textContains(ExpenseSearchIndex.Field field, String text, User user,
+                                                      ExpenseSearchIndex searchIndex) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        return searchIndex.find(user, field, text)
+                .<Specification<Expense>>map(ids -> ids.isEmpty()
+                        ? (root, query, cb) -> cb.disjunction()
+                        : (root, query, cb) -> root.get("id").in(ids))
+                .orElseGet(() -> containsIgnoreCase(field.getAttribute(), text));
+    }
+
+    /**
+     * Keyset predicate selecting rows strictly after the cursor position in
+     * (expenseDate DESC, id DESC) order
+     *
+     * @param cursor the position of the last row already returned, ignored when null
+     * @return specification or null when starting from the first page
+     */
+    public static Specification<Expense> after(ExpenseCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        // The redundant expenseDate bound lets the (user_id, expense_date, id) index seek to the cursor
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("expenseDate"), cursor.getExpenseDate()),
+                cb.or(
+                        cb.lessThan(root.get("expenseDate"), cursor.getExpenseDate()),
+                        cb.and(
+                                cb.equal(root.get("expenseDate"), cursor.getExpenseDate()),
+                                cb.lessThan(root.get("id"), cursor.getId()))));
+    }
+
+    /**
+     * Combine the owner restriction with every criterion present in the filter
+     *
+     * @param filter the filter criteria
+     * @param user the owning user
+     * @param categories the category dictionary
+     * @param searchIndex the expense search index
+     * @return a single specification covering all supplied criteria
+     */
+    public static Specification<Expense> matching(ExpenseFilterDTO filter, User user, CategoryDictionary categories,
+                                                  ExpenseSearchIndex searchIndex) {
+        return Specification.where(belongsTo(user))
+                .and(hasCategory(filter.getCategory(), categories))
+                .and(hasPaymentMethod(filter.getPaymentMethod()))
+                .and(onOrAfter(filter.getStartDate()))
+                .and(onOrBefore(filter.getEndDate()))
+                .and(textContains(ExpenseSearchIndex.Field.UPI_VPA, filter.getUpiVpa(), user, searchIndex))
+                .and(textContains(ExpenseSearchIndex.Field.TRANSACTION_ID, filter.getTransactionId(), user, searchIndex))
+                .and(textContains(ExpenseSearchIndex.Field.PAYER_NAME, filter.getPayerName(), user, searchIndex));
+    }
+
+    private static Specification<Expense> containsIgnoreCase(String attribute, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(value.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, '\\');
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
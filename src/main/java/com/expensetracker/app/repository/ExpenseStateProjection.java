@@ -0,0 +1,32 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.expensetracker.app.model.PaymentMethod;
+
+/**
+ * Read-only projection of the stored state an expense write replaces: the
+ * fields the aggregates are keyed on, and the version the write is
+ * conditioned on.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface ExpenseStateProjection {
+
+    Long getId();
+
+    BigDecimal getAmount();
+
+    String getCategory();
+
+    PaymentMethod getPaymentMethod();
+
+    LocalDate getExpenseDate();
+
+    Long getVersion();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,26 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+
+import com.expensetracker.app.model.PaymentMethod;
+
+/**
+ * Read-only projection of an expense total grouped by month, category and payment method.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface MonthlyTotalProjection {
+
+    int getYear();
+
+    int getMonth();
+
+    String getCategory();
+
+    PaymentMethod getPaymentMethod();
+
+    BigDecimal getTotalAmount();
+
+    long getTransactionCount();
+}
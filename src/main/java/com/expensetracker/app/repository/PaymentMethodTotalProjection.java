@@ -0,0 +1,20 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+
+import com.expensetracker.app.model.PaymentMethod;
+
+/**
+ * Read-only projection of an expense total grouped by payment method.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface PaymentMethodTotalProjection {
+
+    PaymentMethod getPaymentMethod();
+
+    BigDecimal getTotalAmount();
+
+    long getTransactionCount();
+}
@@ -0,0 +1,21 @@
+package com.expensetracker.app.repository;
+
+/**
+ * Read-only projection of the free-text fields of an expense, the input of
+ * the substring search index.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface SearchableTextProjection {
+
+    Long getId();
+
+    Long getVersion();
+
+    String getUpiVpa();
+
+    String getTransactionId();
+
+    String getPayerName();
+}
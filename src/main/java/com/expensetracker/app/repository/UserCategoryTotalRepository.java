@@ -0,0 +1,68 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.expensetracker.app.model.UserCategoryTotal;
+
+/**
+ * Repository interface for per-user category total aggregates.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Repository
+public interface UserCategoryTotalRepository extends JpaRepository<UserCategoryTotal, Long> {
+
+    /**
+     * Find all category totals of a user
+     *
+     * @param userId the user ID
+     * @return list of category totals
+     */
+    List<UserCategoryTotal> findByUserId(Long userId);
+
+    /**
+     * Atomically add signed deltas to one category total
+     *
+     * @param userId the user ID
+     * @param category the category
+     * @param amount delta for the total amount
+     * @param count delta for the transaction count
+     * @return number of rows updated, 0 if the category has no row yet
+     */
+    @Modifying
+    @Query("UPDATE UserCategoryTotal c SET c.totalAmount = c.totalAmount + :amount, " +
+           "c.transactionCount = c.transactionCount + :count " +
+           "WHERE c.userId = :userId AND c.category = :category")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("category") String category,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+
+    /**
+     * Remove category rows of a user that no longer have any expenses
+     *
+     * @param userId the user ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM UserCategoryTotal c WHERE c.userId = :userId AND c.transactionCount <= 0")
+    int deleteEmpty(@Param("userId") Long userId);
+
+    /**
+     * Remove all category rows of a user
+     *
+     * @param userId the user ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM UserCategoryTotal c WHERE c.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
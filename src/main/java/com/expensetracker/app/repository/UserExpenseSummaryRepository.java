@@ -0,0 +1,64 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.expensetracker.app.model.UserExpenseSummary;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for per-user expense summary aggregates.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Repository
+public interface UserExpenseSummaryRepository extends JpaRepository<UserExpenseSummary, Long>,
+        UserExpenseSummaryRepositoryCustom {
+
+    /**
+     * Get a user's summary, locking its row until the transaction ends so that
+     * rebuilds and increments of the user's aggregates take turns
+     *
+     * @param userId the user ID
+     * @return the summary if the user has one
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserExpenseSummary s WHERE s.userId = :userId")
+    Optional<UserExpenseSummary> findByIdForUpdate(@Param("userId") Long userId);
+
+
+    /**
+     * Atomically add signed deltas to a user's running totals
+     *
+     * @param userId the user ID
+     * @param amount delta for the total amount
+     * @param cashAmount delta for the cash total
+     * @param upiAmount delta for the UPI total
+     * @param count delta for the transaction count
+     * @param cashCount delta for the cash transaction count
+     * @param upiCount delta for the UPI transaction count
+     * @return number of rows updated, 0 if the user has no summary yet
+     */
+    @Modifying
+    @Query("UPDATE UserExpenseSummary s SET s.totalAmount = s.totalAmount + :amount, " +
+           "s.cashAmount = s.cashAmount + :cashAmount, s.upiAmount = s.upiAmount + :upiAmount, " +
+           "s.transactionCount = s.transactionCount + :count, " +
+           "s.cashCount = s.cashCount + :cashCount, s.upiCount = s.upiCount + :upiCount, " +
+           "s.updatedAt = CURRENT_TIMESTAMP WHERE s.userId = :userId")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("amount") BigDecimal amount,
+                   @Param("cashAmount") BigDecimal cashAmount,
+                   @Param("upiAmount") BigDecimal upiAmount,
+                   @Param("count") long count,
+                   @Param("cashCount") long cashCount,
+                   @Param("upiCount") long upiCount);
+}
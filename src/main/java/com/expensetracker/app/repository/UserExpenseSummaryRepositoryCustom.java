@@ -0,0 +1,19 @@
+package com.expensetracker.app.repository;
+
+/**
+ * Custom repository fragment for creating summary rows when concurrent
+ * writers may race to create the same one.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface UserExpenseSummaryRepositoryCustom {
+
+    /**
+     * Create an empty summary row for a user unless one exists, without failing
+     * when another transaction creates it at the same time
+     *
+     * @param userId the user ID
+     */
+    void insertIfAbsent(Long userId);
+}
@@ -0,0 +1,45 @@
+package com.expensetracker.app.repository;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import com.expensetracker.app.model.UserExpenseSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Dialect-specific insert-if-absent implementation of
+ * {@link UserExpenseSummaryRepositoryCustom}. A plain insert that loses the
+ * race fails with a key violation, which on PostgreSQL aborts the whole
+ * transaction.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+class UserExpenseSummaryRepositoryCustomImpl implements UserExpenseSummaryRepositoryCustom {
+
+    private static final String COLUMNS = "(user_id, total_amount, cash_amount, upi_amount, "
+            + "transaction_count, cash_count, upi_count, updated_at)";
+    private static final String EMPTY = "VALUES (:userId, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP)";
+    private static final String INSERT_POSTGRESQL =
+            "INSERT INTO user_expense_summaries " + COLUMNS + " " + EMPTY + " ON CONFLICT (user_id) DO NOTHING";
+    private static final String INSERT_H2 =
+            "MERGE INTO user_expense_summaries " + COLUMNS + " KEY (user_id) " + EMPTY;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertIfAbsent(Long userId) {
+        boolean postgresql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        entityManager.createNativeQuery(postgresql ? INSERT_POSTGRESQL : INSERT_H2)
+                .unwrap(NativeQuery.class)
+                // Touches summaries only, so no other cached entities are evicted
+                .addSynchronizedEntityClass(UserExpenseSummary.class)
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+}
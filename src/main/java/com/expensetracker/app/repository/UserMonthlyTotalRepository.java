@@ -0,0 +1,106 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.UserMonthlyTotal;
+
+/**
+ * Repository interface for per-user monthly rollups.
+ * Report queries group a user's rollup rows, never the expenses table.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Repository
+public interface UserMonthlyTotalRepository extends JpaRepository<UserMonthlyTotal, Long> {
+
+    /**
+     * Find all rollup rows of a user
+     *
+     * @param userId the user ID
+     * @return list of monthly totals
+     */
+    List<UserMonthlyTotal> findByUserId(Long userId);
+
+    /**
+     * Get total amount and transaction count per month for a user
+     *
+     * @param userId the user ID
+     * @return list of objects containing year, month, total amount and transaction count
+     */
+    @Query("SELECT m.expenseYear AS year, m.expenseMonth AS month, " +
+           "SUM(m.totalAmount) AS totalAmount, SUM(m.transactionCount) AS transactionCount " +
+           "FROM UserMonthlyTotal m WHERE m.userId = :userId " +
+           "GROUP BY m.expenseYear, m.expenseMonth ORDER BY m.expenseYear DESC, m.expenseMonth DESC")
+    List<Object[]> getMonthlySummary(@Param("userId") Long userId);
+
+    /**
+     * Get total amount and transaction count per category for one month of a user
+     *
+     * @param userId the user ID
+     * @param year the year
+     * @param month the month (1-12)
+     * @return list of objects containing category, total amount and transaction count
+     */
+    @Query("SELECT m.category AS category, SUM(m.totalAmount) AS totalAmount, " +
+           "SUM(m.transactionCount) AS transactionCount " +
+           "FROM UserMonthlyTotal m " +
+           "WHERE m.userId = :userId AND m.expenseYear = :year AND m.expenseMonth = :month " +
+           "GROUP BY m.category ORDER BY totalAmount DESC")
+    List<Object[]> getCategorySummaryForMonth(@Param("userId") Long userId,
+                                              @Param("year") int year,
+                                              @Param("month") int month);
+
+    /**
+     * Atomically add signed deltas to one rollup row
+     *
+     * @param userId the user ID
+     * @param year the year
+     * @param month the month (1-12)
+     * @param category the category
+     * @param paymentMethod the payment method
+     * @param amount delta for the total amount
+     * @param count delta for the transaction count
+     * @return number of rows updated, 0 if the row does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE UserMonthlyTotal m SET m.totalAmount = m.totalAmount + :amount, " +
+           "m.transactionCount = m.transactionCount + :count " +
+           "WHERE m.userId = :userId AND m.expenseYear = :year AND m.expenseMonth = :month " +
+           "AND m.category = :category AND m.paymentMethod = :paymentMethod")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("category") String category,
+                   @Param("paymentMethod") PaymentMethod paymentMethod,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+
+    /**
+     * Remove rollup rows of a user that no longer have any expenses
+     *
+     * @param userId the user ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM UserMonthlyTotal m WHERE m.userId = :userId AND m.transactionCount <= 0")
+    int deleteEmpty(@Param("userId") Long userId);
+
+    /**
+     * Remove all rollup rows of a user
+     *
+     * @param userId the user ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM UserMonthlyTotal m WHERE m.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -2,11 +2,19 @@ package com.expensetracker.app.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.expensetracker.app.model.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for User entity operations.
  *
@@ -14,15 +22,7 @@ import com.expensetracker.app.model.User;
  * @version 1.0
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    /**
-     * Find user by username.
-     *
-     * @param username the username to search for
-     * @return Optional containing the user if found
-     */
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     /**
      * Find user by email.
@@ -47,4 +47,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if email exists, false otherwise
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Get the data version of a user without loading the entity.
+     *
+     * @param userId the user ID
+     * @return Optional containing the data version if the user exists
+     */
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findDataVersionById(@Param("userId") Long userId);
+
+    /**
+     * Atomically increment the data version of a user.
+     * Cached users keep their previous data version.
+     *
+     * @param userId the user ID
+     * @return number of rows updated, 0 if the user does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET data_version = data_version + 1 WHERE id = :userId", nativeQuery = true)
+    // Runs on every expense write. Declared to touch only its own query space, so Hibernate does not
+    // evict every cached user as it does after a bulk JPQL update of User
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users.data_version"))
+    int incrementDataVersion(@Param("userId") Long userId);
+}
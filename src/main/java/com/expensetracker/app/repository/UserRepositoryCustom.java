@@ -0,0 +1,36 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import com.expensetracker.app.model.User;
+
+/**
+ * Custom repository fragment for user operations served through the
+ * second-level cache.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find user by username, its natural id. A cached username resolves to
+     * its ID, and a cached user to its state, without any SQL.
+     *
+     * @param username the username to search for
+     * @return Optional containing the user if found
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Update the budget of a user through the entity, so that the second-level
+     * cache replaces this user's entry alone. The user is normally loaded from
+     * that cache, leaving a single UPDATE.
+     *
+     * @param userId the user ID
+     * @param budget the new budget
+     * @return number of rows updated, 0 if the user does not exist
+     */
+    int updateBudget(Long userId, BigDecimal budget);
+}
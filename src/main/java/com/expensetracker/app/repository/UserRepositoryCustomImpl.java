@@ -0,0 +1,45 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Natural-id and entity based implementation of {@link UserRepositoryCustom}.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+
+    @Override
+    @Transactional
+    public int updateBudget(Long userId, BigDecimal budget) {
+        // A bulk UPDATE would evict every cached user
+        User user = entityManager.find(User.class, userId);
+        if (user == null) {
+            return 0;
+        }
+        user.setBudget(budget);
+        entityManager.flush();
+        return 1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.expensetracker.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Business counters published through Micrometer.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Component
+public class ApplicationMetrics {
+
+    public static final String EXPENSES_CREATED = "expenses.created";
+    public static final String CSV_ROWS_EXPORTED = "expenses.csv.rows.exported";
+    public static final String AUTH_FAILURES = "auth.failures";
+
+    private final Counter expensesCreated;
+    private final Counter expensesImported;
+    private final Counter csvRowsExported;
+    private final Counter badCredentials;
+    private final Counter invalidTokens;
+
+    @Autowired
+    public ApplicationMetrics(MeterRegistry meterRegistry) {
+        this.expensesCreated = Counter.builder(EXPENSES_CREATED)
+                .description("Expenses created")
+                .tag("source", "single")
+                .register(meterRegistry);
+        this.expensesImported = Counter.builder(EXPENSES_CREATED)
+                .description("Expenses created")
+                .tag("source", "bulk")
+                .register(meterRegistry);
+        this.csvRowsExported = Counter.builder(CSV_ROWS_EXPORTED)
+                .description("Expense rows written to CSV exports")
+                .register(meterRegistry);
+        this.badCredentials = Counter.builder(AUTH_FAILURES)
+                .description("Failed logins and rejected tokens")
+                .tag("reason", "bad_credentials")
+                .register(meterRegistry);
+        this.invalidTokens = Counter.builder(AUTH_FAILURES)
+                .description("Failed logins and rejected tokens")
+                .tag("reason", "invalid_token")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count an expense created through the single-expense API
+     */
+    public void expenseCreated() {
+        expensesCreated.increment();
+    }
+
+    /**
+     * Count expenses created by a bulk upload
+     *
+     * @param count the number of expenses inserted
+     */
+    public void expensesImported(int count) {
+        expensesImported.increment(count);
+    }
+
+    /**
+     * Count rows written to a CSV export
+     *
+     * @param rows the number of rows written
+     */
+    public void csvRowsExported(long rows) {
+        csvRowsExported.increment(rows);
+    }
+
+    /**
+     * Count a login with an unknown username or a wrong password
+     */
+    public void badCredentials() {
+        badCredentials.increment();
+    }
+
+    /**
+     * Count a request carrying a token that is invalid, expired or names no user
+     */
+    public void invalidToken() {
+        invalidTokens.increment();
+    }
+}
@@ -1,18 +1,23 @@
 package com.expensetracker.app.service;
 
+import java.math.BigDecimal;
 import java.security.Key;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.expensetracker.app.dto.AuthResponse;
+import com.expensetracker.app.dto.AuthenticatedUser;
 import com.expensetracker.app.dto.LoginRequest;
 import com.expensetracker.app.dto.RegisterRequest;
 import com.expensetracker.app.model.User;
 import com.expensetracker.app.repository.UserRepository;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -31,11 +36,23 @@ public class AuthService {
     private final String jwtSecret = "expenseTrackerSecretKey2024!@#$%^&*()";
     private final Key jwtSecretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
     private final long jwtExpirationMs = 604800000; // 7 days
+    // Immutable and thread-safe, so built once and shared by all requests
+    private final JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecretKey).build();
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationMetrics applicationMetrics;
 
     @Autowired
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       VerifiedTokenCache verifiedTokenCache, AuthenticatedUserCache authenticatedUserCache,
+                       ApplicationEventPublisher eventPublisher, ApplicationMetrics applicationMetrics) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.eventPublisher = eventPublisher;
+        this.applicationMetrics = applicationMetrics;
     }
 
     /**
@@ -63,6 +80,8 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
 
         userRepository.save(user);
+        // A snapshot of a previous account with the same username must not survive
+        authenticatedUserCache.invalidate(user.getUsername());
 
         // Generate JWT token
         String token = generateJwtToken(user);
@@ -78,10 +97,10 @@ public class AuthService {
      * @throws RuntimeException if authentication fails
      */
     public AuthResponse login(LoginRequest loginRequest) {
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new RuntimeException("Invalid username or password"));
+        User user = userRepository.findByUsername(loginRequest.getUsername()).orElse(null);
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (user == null || !passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+            applicationMetrics.badCredentials();
             throw new RuntimeException("Invalid username or password");
         }
 
@@ -111,23 +130,46 @@ public class AuthService {
 
     /**
      * Validate JWT token and extract username.
+     * Tokens already verified and not yet expired are answered from the
+     * verified-token cache without repeating the signature check.
      *
      * @param token the JWT token
      * @return username if valid, null otherwise
      */
     public String validateTokenAndGetUsername(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String cachedUsername = verifiedTokenCache.getSubject(token);
+        if (cachedUsername != null) {
+            return cachedUsername;
+        }
+
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(jwtSecretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            verifiedTokenCache.put(token, claims.getSubject(), claims.getExpiration());
+            return claims.getSubject();
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * Resolve the authenticated user snapshot for a username.
+     * Snapshots are cached and invalidated whenever the user is updated.
+     *
+     * @param username the username taken from a verified token
+     * @return the snapshot, or null if the user does not exist
+     */
+    public AuthenticatedUser loadAuthenticatedUser(String username) {
+        if (username == null) {
+            return null;
+        }
+        return authenticatedUserCache.get(username,
+                key -> userRepository.findByUsername(key).map(AuthenticatedUser::of).orElse(null));
+    }
+
     /**
      * Get user by username.
      *
@@ -147,6 +189,26 @@ public class AuthService {
      * @return the updated user
      */
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        authenticatedUserCache.invalidate(saved.getUsername());
+        return saved;
+    }
+
+    /**
+     * Update the budget of a user.
+     *
+     * @param user the authenticated user
+     * @param budget the new budget
+     * @throws RuntimeException if user not found
+     */
+    public void updateBudget(AuthenticatedUser user, BigDecimal budget) {
+        if (userRepository.updateBudget(user.getId(), budget) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        // Invalidated after the update has committed so a concurrent miss cannot re-cache the old budget
+        authenticatedUserCache.invalidate(user.getUsername());
+        // Bumped last so a request tagged with the new version cannot be served the cached old budget
+        userRepository.incrementDataVersion(user.getId());
+        eventPublisher.publishEvent(ExpenseChangeEvent.summaryChanged(user.getId(), user.getUsername()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.expensetracker.app.service;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.app.dto.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of authenticated user snapshots keyed by username, so that
+ * resolving the principal of a request does not hit the users table every
+ * time. Entries are invalidated whenever the user is written through
+ * {@link AuthService} and otherwise expire after the configured TTL. Hits,
+ * misses and evictions are published as the {@code cache.*} meters tagged
+ * {@code cache=authenticated-users}.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Component
+public class AuthenticatedUserCache implements MeterBinder {
+
+    /** Name of the cache in the published meters */
+    public static final String CACHE_NAME = "authenticated-users";
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    @Autowired
+    public AuthenticatedUserCache(@Value("${app.auth.user-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.auth.user-cache.ttl:PT5M}") Duration ttl) {
+        this(maxSize, ttl, Runnable::run);
+    }
+
+    AuthenticatedUserCache(long maxSize, Duration ttl, Executor executor) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the snapshot for a username, loading it on a miss
+     *
+     * @param username the username
+     * @param loader loads the snapshot, may return null for unknown users which are not cached
+     * @return the snapshot, or null if the user does not exist
+     */
+    public AuthenticatedUser get(String username, Function<String, AuthenticatedUser> loader) {
+        return cache.get(username, loader);
+    }
+
+    /**
+     * Drop the snapshot of a user after it has changed
+     *
+     * @param username the username
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -1,14 +1,33 @@
 package com.expensetracker.app.service;
 
+import com.expensetracker.app.dto.ExpenseFilterDTO;
 import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.CategoryDictionary;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.ExpenseSearchIndex;
+import com.expensetracker.app.repository.ExpenseSpecifications;
 import com.opencsv.CSVWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service class for exporting expense data to CSV format.
@@ -22,6 +41,36 @@ public class CsvExportService {
     private static final Logger logger = LoggerFactory.getLogger(CsvExportService.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Order.desc("expenseDate"), Sort.Order.desc("id"));
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+    
+    private static final String[] HEADER = {
+        "ID", "Amount", "Category", "Expense Date", "Payment Method",
+        "Cash Amount", "UPI Amount", "UPI VPA", "Transaction ID", 
+        "Payer Name", "Notes", "Created At", "Updated At"
+    };
+    
+    private final ExpenseRepository expenseRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ExpenseSearchIndex searchIndex;
+    private final ApplicationMetrics applicationMetrics;
+    private final int fetchSize;
+    private final int flushEveryRows;
+    
+    @Autowired
+    public CsvExportService(ExpenseRepository expenseRepository,
+                            CategoryDictionary categoryDictionary,
+                            ExpenseSearchIndex searchIndex,
+                            ApplicationMetrics applicationMetrics,
+                            @Value("${app.export.csv.fetch-size:500}") int fetchSize,
+                            @Value("${app.export.csv.flush-every-rows:1000}") int flushEveryRows) {
+        this.expenseRepository = expenseRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.searchIndex = searchIndex;
+        this.applicationMetrics = applicationMetrics;
+        this.fetchSize = fetchSize;
+        this.flushEveryRows = flushEveryRows;
+    }
     
     /**
      * Exports a list of expenses to CSV format
@@ -33,47 +82,93 @@ public class CsvExportService {
         logger.debug("Exporting {} expenses to CSV", expenses.size());
         
         StringWriter stringWriter = new StringWriter();
+        writeCsv(expenses.iterator(), stringWriter);
         
-        try (CSVWriter csvWriter = new CSVWriter(stringWriter)) {
-            // Write header
-            String[] header = {
-                "ID", "Amount", "Category", "Expense Date", "Payment Method",
-                "Cash Amount", "UPI Amount", "UPI VPA", "Transaction ID", 
-                "Payer Name", "Notes", "Created At", "Updated At"
-            };
-            csvWriter.writeNext(header);
+        String csvContent = stringWriter.toString();
+        applicationMetrics.csvRowsExported(expenses.size());
+        logger.info("Successfully exported {} expenses to CSV", expenses.size());
+        
+        return csvContent;
+    }
+    
+    /**
+     * Streams a user's expenses matching the filter to an output stream as CSV.
+     * Rows are read from a database cursor and written in chunks, so neither the
+     * entities nor the CSV text are ever held in memory as a whole.
+     * 
+     * @param filter the filter criteria
+     * @param user the user whose expenses are exported
+     * @param outputStream the destination, typically the servlet response body
+     * @return number of data rows written
+     */
+    @Transactional(readOnly = true)
+    public long streamExpensesToCsv(ExpenseFilterDTO filter, User user, OutputStream outputStream) {
+        logger.debug("Streaming CSV export for user {}: {}", user.getUsername(), filter);
+        
+        try (Stream<Expense> expenses = expenseRepository.streamAll(
+                ExpenseSpecifications.matching(filter, user, categoryDictionary, searchIndex), EXPORT_SORT, fetchSize)) {
+            long rows = writeCsv(expenses, outputStream);
+            applicationMetrics.csvRowsExported(rows);
+            logger.info("Successfully streamed {} expenses to CSV for user: {}", rows, user.getUsername());
+            return rows;
+        }
+    }
+    
+    /**
+     * Writes expenses to an output stream as UTF-8 CSV, flushing every
+     * {@code flushEveryRows} rows so the client receives data progressively
+     * 
+     * @param expenses the expenses to write
+     * @param outputStream the destination
+     * @return number of data rows written
+     */
+    long writeCsv(Stream<Expense> expenses, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        return writeCsv(expenses.iterator(), writer);
+    }
+    
+    private long writeCsv(Iterator<Expense> expenses, Writer writer) {
+        long rows = 0;
+        // Not closed: the caller owns the underlying stream
+        CSVWriter csvWriter = new CSVWriter(writer);
+        
+        try {
+            csvWriter.writeNext(HEADER, false);
             
-            // Write data rows
-            for (Expense expense : expenses) {
-                String[] row = {
-                    expense.getId() != null ? expense.getId().toString() : "",
-                    expense.getAmount() != null ? expense.getAmount().toString() : "",
-                    expense.getCategory() != null ? expense.getCategory() : "",
-                    expense.getExpenseDate() != null ? expense.getExpenseDate().format(DATE_FORMATTER) : "",
-                    expense.getPaymentMethod() != null ? expense.getPaymentMethod().toString() : "",
-                    expense.getCashAmount() != null ? expense.getCashAmount().toString() : "0.00",
-                    expense.getUpiAmount() != null ? expense.getUpiAmount().toString() : "0.00",
-                    expense.getUpiVpa() != null ? expense.getUpiVpa() : "",
-                    expense.getTransactionId() != null ? expense.getTransactionId() : "",
-                    expense.getPayerName() != null ? expense.getPayerName() : "",
-                    expense.getNotes() != null ? expense.getNotes() : "",
-                    expense.getCreatedAt() != null ? expense.getCreatedAt().format(DATETIME_FORMATTER) : "",
-                    expense.getUpdatedAt() != null ? expense.getUpdatedAt().format(DATETIME_FORMATTER) : ""
-                };
-                csvWriter.writeNext(row);
+            while (expenses.hasNext()) {
+                csvWriter.writeNext(toRow(expenses.next()), false);
+                if (++rows % flushEveryRows == 0) {
+                    csvWriter.flush();
+                }
             }
             
             csvWriter.flush();
             
-        } catch (Exception e) {
+        } catch (IOException e) {
             logger.error("Error exporting expenses to CSV", e);
-            throw new RuntimeException("Failed to export expenses to CSV", e);
+            throw new UncheckedIOException("Failed to export expenses to CSV", e);
         }
         
-        String csvContent = stringWriter.toString();
-        logger.info("Successfully exported {} expenses to CSV", expenses.size());
-        
-        return csvContent;
+        return rows;
+    }
+    
+    private String[] toRow(Expense expense) {
+        return new String[] {
+            expense.getId() != null ? expense.getId().toString() : "",
+            expense.getAmount() != null ? expense.getAmount().toString() : "",
+            expense.getCategory() != null ? expense.getCategory() : "",
+            expense.getExpenseDate() != null ? expense.getExpenseDate().format(DATE_FORMATTER) : "",
+            expense.getPaymentMethod() != null ? expense.getPaymentMethod().toString() : "",
+            expense.getCashAmount() != null ? expense.getCashAmount().toString() : "0.00",
+            expense.getUpiAmount() != null ? expense.getUpiAmount().toString() : "0.00",
+            expense.getUpiVpa() != null ? expense.getUpiVpa() : "",
+            expense.getTransactionId() != null ? expense.getTransactionId() : "",
+            expense.getPayerName() != null ? expense.getPayerName() : "",
+            expense.getNotes() != null ? expense.getNotes() : "",
+            expense.getCreatedAt() != null ? expense.getCreatedAt().format(DATETIME_FORMATTER) : "",
+            expense.getUpdatedAt() != null ? expense.getUpdatedAt().format(DATETIME_FORMATTER) : ""
+        };
     }
     
     /**
@@ -0,0 +1,218 @@
+package com.expensetracker.app.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.User;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service assembling the report dashboard.
+ * The summary aggregates are read once and every total is derived from them;
+ * the monthly rollups are read concurrently on a small bounded pool, or on
+ * virtual threads with the same concurrency limit when they are enabled. A part
+ * that fails or exceeds its timeout is left out and listed as degraded
+ * instead of failing the dashboard, and the time spent on each part is
+ * reported alongside the data.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Service
+public class DashboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+    
+    static final String SUMMARY = "summary";
+    static final String MONTHLY_SUMMARY = "monthlySummary";
+    
+    private final ExpenseService expenseService;
+    private final ReportService reportService;
+    private final ExpenseSummaryService expenseSummaryService;
+    private final Executor executor;
+    private final Duration partTimeout;
+    
+    @Autowired
+    public DashboardService(ExpenseService expenseService,
+                            ReportService reportService,
+                            ExpenseSummaryService expenseSummaryService,
+                            @Value("${app.reports.dashboard.threads:4}") int threads,
+                            @Value("${app.reports.dashboard.queue-capacity:100}") int queueCapacity,
+                            @Value("${app.reports.dashboard.part-timeout:PT2S}") Duration partTimeout,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(expenseService, reportService, expenseSummaryService,
+                virtualThreads && Runtime.version().feature() >= 21
+                        ? newVirtualExecutor(threads) : newPool(threads, queueCapacity),
+                partTimeout);
+    }
+    
+    DashboardService(ExpenseService expenseService, ReportService reportService,
+                     ExpenseSummaryService expenseSummaryService, Executor executor, Duration partTimeout) {
+        this.expenseService = expenseService;
+        this.reportService = reportService;
+        this.expenseSummaryService = expenseSummaryService;
+        this.executor = executor;
+        this.partTimeout = partTimeout;
+    }
+    
+    /**
+     * Builds the dashboard of a user
+     *
+     * @param user the user
+     * @return dashboard data with the parts that completed in time, their timings and the degraded parts
+     */
+    public Map<String, Object> getDashboard(User user) {
+        logger.debug("Assembling dashboard for user {}", user.getUsername());
+        long start = System.nanoTime();
+        
+        // Build missing aggregates up front so the concurrent parts do not race to create them
+        expenseSummaryService.ensureBuilt(user);
+        
+        Part<ExpenseSummaryDTO> summaryPart = submit(SUMMARY, () -> expenseService.getExpenseSummary(user));
+        Part<List<Object[]>> monthlyPart = submit(MONTHLY_SUMMARY, () -> reportService.getMonthlySummary(user));
+        
+        long deadline = System.nanoTime() + partTimeout.toNanos();
+        List<String> degraded = new ArrayList<>();
+        ExpenseSummaryDTO summary = summaryPart.await(deadline, degraded);
+        List<Object[]> monthlySummary = monthlyPart.await(deadline, degraded);
+        
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put(SUMMARY, summary);
+        dashboard.put(MONTHLY_SUMMARY, monthlySummary);
+        dashboard.put("categoryTotals", summary != null ? ReportService.sortedByAmount(summary.getCategoryTotals()) : null);
+        dashboard.put("paymentMethodTotals",
+                summary != null ? ReportService.sortedByAmount(summary.getPaymentMethodTotals()) : null);
+        dashboard.put("cashUpiTotals", summary != null ? ReportService.cashUpiTotals(summary) : null);
+        
+        Map<String, Long> timings = new LinkedHashMap<>();
+        timings.put(SUMMARY, summaryPart.elapsedMillis());
+        timings.put(MONTHLY_SUMMARY, monthlyPart.elapsedMillis());
+        timings.put("total", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        dashboard.put("timings", timings);
+        dashboard.put("degraded", degraded);
+        
+        if (!degraded.isEmpty()) {
+            logger.warn("Dashboard for user {} degraded, missing parts: {}", user.getUsername(), degraded);
+        }
+        return dashboard;
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtual) {
+            virtual.close();
+        }
+    }
+    
+    private <T> Part<T> submit(String name, Supplier<T> supplier) {
+        Part<T> part = new Part<>(name);
+        try {
+            part.future = CompletableFuture.supplyAsync(() -> {
+                part.startedAt = System.nanoTime();
+                try {
+                    return supplier.get();
+                } finally {
+                    part.finishedAt = System.nanoTime();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            part.future = CompletableFuture.failedFuture(e);
+        }
+        return part;
+    }
+    
+    /**
+     * A virtual thread per part, with at most the given number running at once
+     */
+    private static Executor newVirtualExecutor(int threads) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(threads);
+        return executor;
+    }
+    
+    private static ExecutorService newPool(int threads, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+    
+    /**
+     * One independently computed part of the dashboard
+     */
+    private static final class Part<T> {
+        
+        private final String name;
+        private final long submittedAt = System.nanoTime();
+        private CompletableFuture<T> future;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private long gaveUpAt;
+        
+        Part(String name) {
+            this.name = name;
+        }
+        
+        /**
+         * Waits for the part until the deadline
+         *
+         * @return the value, or null when the part failed or timed out
+         */
+        T await(long deadline, List<String> degraded) {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                logger.warn("Dashboard part {} timed out", name);
+            } catch (ExecutionException e) {
+                logger.error("Dashboard part {} failed", name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            }
+            gaveUpAt = System.nanoTime();
+            degraded.add(name);
+            return null;
+        }
+        
+        /**
+         * Time the part ran, or waited before it was given up
+         */
+        long elapsedMillis() {
+            long end = finishedAt != 0 ? finishedAt : gaveUpAt;
+            long begin = startedAt != 0 ? startedAt : submittedAt;
+            return TimeUnit.NANOSECONDS.toMillis(Math.max(0, end - begin));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensetracker.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.UserRepository;
+
+/**
+ * Service for the per-user data version, a counter incremented on every
+ * expense or budget write. Every representation derived from a user's
+ * expenses and budget is tagged with it, so an unchanged resource can be
+ * answered with 304 Not Modified after one primary-key lookup.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Service
+public class DataVersionService {
+    
+    private final UserRepository userRepository;
+    
+    @Autowired
+    public DataVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    /**
+     * Marks the user's data as changed, as part of the writing transaction
+     * 
+     * @param user the user whose expenses were written
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(User user) {
+        userRepository.incrementDataVersion(user.getId());
+    }
+    
+    /**
+     * Gets the strong ETag for the current data version of a user.
+     * The version is read before the tagged data, so a concurrent write can
+     * only make the data newer than its tag, never older.
+     * 
+     * @param userId the user ID
+     * @param variant distinguishes byte-different representations of the same
+     *        data, such as another encoding; null for the default representation
+     * @return quoted entity tag
+     */
+    @Transactional(readOnly = true)
+    public String getETag(Long userId, String variant) {
+        long version = userRepository.findDataVersionById(userId).orElse(0L);
+        return "\"" + userId + "-" + version + (variant != null ? "-" + variant : "") + "\"";
+    }
+}
@@ -0,0 +1,210 @@
+package com.expensetracker.app.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.app.dto.BulkExpenseResultDTO;
+import com.expensetracker.app.dto.BulkExpenseRowDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.ExpenseRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Service for creating many expenses in one request.
+ * Rows are validated with the same rules as single creates; valid rows are
+ * inserted with batched statements and committed in fixed-size chunks, so a
+ * failing chunk does not roll back the chunks before it.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Service
+public class ExpenseBulkService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseBulkService.class);
+    
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseSummaryService expenseSummaryService;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationMetrics applicationMetrics;
+    private final int chunkSize;
+    private final int maxRows;
+    
+    @Autowired
+    public ExpenseBulkService(ExpenseRepository expenseRepository,
+                              ExpenseSummaryService expenseSummaryService,
+                              DataVersionService dataVersionService,
+                              ApplicationEventPublisher eventPublisher,
+                              Validator validator,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationMetrics applicationMetrics,
+                              @Value("${app.expenses.bulk.chunk-size:500}") int chunkSize,
+                              @Value("${app.expenses.bulk.max-rows:10000}") int maxRows) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Bulk chunk size must be greater than 0");
+        }
+        this.expenseRepository = expenseRepository;
+        this.expenseSummaryService = expenseSummaryService;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationMetrics = applicationMetrics;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+    
+    /**
+     * Creates expenses for a user, reporting the outcome of every row
+     *
+     * @param expenses the expenses to create, in request order
+     * @param user the user who owns the expenses
+     * @return per-row results with the created IDs or validation errors
+     * @throws IllegalArgumentException if the request is empty or exceeds the row limit
+     */
+    public BulkExpenseResultDTO createExpenses(List<Expense> expenses, User user) {
+        if (expenses == null || expenses.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense is required");
+        }
+        if (expenses.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " expenses can be created per request");
+        }
+        logger.debug("Bulk creating {} expenses for user {}", expenses.size(), user.getUsername());
+
+        List<BulkExpenseRowDTO> rows = new ArrayList<>(expenses.size());
+        List<Expense> valid = new ArrayList<>(Math.min(expenses.size(), chunkSize));
+        List<BulkExpenseRowDTO> validRows = new ArrayList<>(Math.min(expenses.size(), chunkSize));
+        Map<String, Integer> transactionRows = new HashMap<>();
+
+        for (int i = 0; i < expenses.size(); i++) {
+            BulkExpenseRowDTO row = new BulkExpenseRowDTO(i);
+            rows.add(row);
+
+            Expense expense = expenses.get(i);
+            if (!validate(expense, user, row)) {
+                continue;
+            }
+            // A UPI payment listed twice would fail its whole chunk on the unique index
+            String transactionId = expense.getUpiTransactionId();
+            if (transactionId != null) {
+                Integer first = transactionRows.putIfAbsent(transactionId, i);
+                if (first != null) {
+                    row.getErrors().add("Transaction ID " + transactionId + " is repeated from row " + first);
+                    continue;
+                }
+            }
+            valid.add(expense);
+            validRows.add(row);
+            if (valid.size() == chunkSize) {
+                saveChunk(valid, validRows, user);
+                valid.clear();
+                validRows.clear();
+            }
+        }
+        if (!valid.isEmpty()) {
+            saveChunk(valid, validRows, user);
+        }
+
+        BulkExpenseResultDTO result = new BulkExpenseResultDTO(rows);
+        logger.info("Bulk created {} of {} expenses for user: {}",
+                result.getCreated(), result.getReceived(), user.getUsername());
+        return result;
+    }
+    
+    /**
+     * Applies the bean constraints and the service rules to one row
+     *
+     * @return true if the row can be inserted
+     */
+    private boolean validate(Expense expense, User user, BulkExpenseRowDTO row) {
+        if (expense == null) {
+            row.getErrors().add("Expense is required");
+            return false;
+        }
+        expense.setId(null);
+        expense.setUser(user);
+
+        for (ConstraintViolation<Expense> violation : validator.validate(expense)) {
+            row.getErrors().add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (row.getErrors().isEmpty()) {
+            try {
+                ExpenseService.validateExpense(expense);
+            } catch (IllegalArgumentException e) {
+                row.getErrors().add(e.getMessage());
+            }
+        }
+        return row.getErrors().isEmpty();
+    }
+    
+    /**
+     * Inserts one chunk and its aggregate deltas in a transaction of its own,
+     * skipping UPI transactions the user has already stored
+     */
+    private void saveChunk(List<Expense> chunk, List<BulkExpenseRowDTO> chunkRows, User user) {
+        rejectStoredTransactions(chunk, chunkRows, user);
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                expenseRepository.insertAll(chunk);
+                expenseSummaryService.recordCreatedAll(user, chunk);
+                dataVersionService.bump(user);
+                eventPublisher.publishEvent(ExpenseChangeEvent.bulkChanged(user));
+            });
+        } catch (RuntimeException e) {
+            logger.error("Failed to save a chunk of {} expenses for user {}", chunk.size(), user.getUsername(), e);
+            for (BulkExpenseRowDTO row : chunkRows) {
+                row.getErrors().add("Expense could not be saved");
+            }
+            return;
+        }
+        applicationMetrics.expensesImported(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            chunkRows.get(i).setId(chunk.get(i).getId());
+        }
+    }
+    
+    /**
+     * Removes the rows whose UPI transaction ID is already stored from the chunk, with one lookup
+     */
+    private void rejectStoredTransactions(List<Expense> chunk, List<BulkExpenseRowDTO> chunkRows, User user) {
+        List<String> transactionIds = chunk.stream()
+                .map(Expense::getUpiTransactionId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+        Set<String> stored = new HashSet<>(expenseRepository.findUpiTransactionIds(user, transactionIds));
+        for (int i = chunk.size() - 1; i >= 0; i--) {
+            String transactionId = chunk.get(i).getUpiTransactionId();
+            if (transactionId != null && stored.contains(transactionId)) {
+                chunkRows.get(i).getErrors().add("Transaction ID " + transactionId + " is already stored");
+                chunk.remove(i);
+                chunkRows.remove(i);
+            }
+        }
+    }
+}
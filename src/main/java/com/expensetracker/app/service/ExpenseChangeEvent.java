@@ -0,0 +1,110 @@
+package com.expensetracker.app.service;
+
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.User;
+
+/**
+ * Application event published when a user's expenses or budget change.
+ * It is published inside the writing transaction and only delivered to
+ * stream subscribers once that transaction has committed.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+public final class ExpenseChangeEvent {
+
+    /**
+     * Kind of change
+     */
+    public enum Type {
+        /** One expense was created */
+        CREATED,
+        /** One expense was updated */
+        UPDATED,
+        /** One expense was deleted */
+        DELETED,
+        /** Expenses were written in bulk, so clients reload the list */
+        BULK_CHANGED,
+        /** Only the summary changed, e.g. the budget or a rebuild */
+        SUMMARY_CHANGED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final String username;
+    private final Long expenseId;
+    private final ExpenseListItemDTO expense;
+    private final String previousCategory;
+
+    private ExpenseChangeEvent(Type type, Long userId, String username, Long expenseId, ExpenseListItemDTO expense,
+                               String previousCategory) {
+        this.type = type;
+        this.userId = userId;
+        this.username = username;
+        this.expenseId = expenseId;
+        this.expense = expense;
+        this.previousCategory = previousCategory;
+    }
+
+    public static ExpenseChangeEvent created(User user, Expense expense) {
+        return new ExpenseChangeEvent(Type.CREATED, user.getId(), user.getUsername(),
+                expense.getId(), ExpenseListItemDTO.of(expense), null);
+    }
+
+    public static ExpenseChangeEvent updated(User user, Expense expense, String previousCategory) {
+        return new ExpenseChangeEvent(Type.UPDATED, user.getId(), user.getUsername(),
+                expense.getId(), ExpenseListItemDTO.of(expense), previousCategory);
+    }
+
+    public static ExpenseChangeEvent deleted(User user, Long expenseId) {
+        return new ExpenseChangeEvent(Type.DELETED, user.getId(), user.getUsername(), expenseId, null, null);
+    }
+
+    public static ExpenseChangeEvent bulkChanged(User user) {
+        return new ExpenseChangeEvent(Type.BULK_CHANGED, user.getId(), user.getUsername(), null, null, null);
+    }
+
+    public static ExpenseChangeEvent summaryChanged(Long userId, String username) {
+        return new ExpenseChangeEvent(Type.SUMMARY_CHANGED, userId, username, null, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    /**
+     * The expense as written, for CREATED and UPDATED events
+     */
+    public ExpenseListItemDTO getExpense() {
+        return expense;
+    }
+
+    /**
+     * The category the expense had before, for UPDATED events
+     */
+    public String getPreviousCategory() {
+        return previousCategory;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpenseChangeEvent{" +
+                "type=" + type +
+                ", userId=" + userId +
+                ", expenseId=" + expenseId +
+                '}';
+    }
+}
@@ -1,23 +1,45 @@
 package com.expensetracker.app.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.expensetracker.app.dto.ExpenseCursor;
 import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.dto.ExpensePageDTO;
 import com.expensetracker.app.dto.ExpenseSummaryDTO;
 import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.MinorUnits;
 import com.expensetracker.app.model.PaymentMethod;
 import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.CategoryDictionary;
+import com.expensetracker.app.repository.CategoryTotalProjection;
 import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.ExpenseSearchIndex;
+import com.expensetracker.app.repository.ExpenseSpecifications;
+import com.expensetracker.app.repository.ExpenseStateProjection;
+import com.expensetracker.app.repository.PaymentMethodTotalProjection;
+
+import io.micrometer.core.annotation.Timed;
 
 /**
  * Service class for managing expense operations.
@@ -28,15 +50,51 @@ import com.expensetracker.app.repository.ExpenseRepository;
  */
 @Service
 @Transactional
+@Timed(value = "expenses.service", histogram = true)
 public class ExpenseService {
     
     private static final Logger logger = LoggerFactory.getLogger(ExpenseService.class);
     
+    /** Page size used when the client does not ask for one */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    
+    /** Upper bound on the page size a client may request */
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    /** Upper bound on the expenses changed by one bulk delete or recategorize */
+    public static final int MAX_BULK_IDS = 1000;
+    
+    // As enforced on Expense.category
+    private static final int MAX_CATEGORY_LENGTH = 50;
+    
+    // Bounds used for an open-ended summary range; within the DATE range of every supported database
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("expenseDate"), Sort.Order.desc("id"));
+    
     private final ExpenseRepository expenseRepository;
+    private final ExpenseSummaryService expenseSummaryService;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryDictionary categoryDictionary;
+    private final ExpenseSearchIndex searchIndex;
+    private final UserCategoryCache userCategoryCache;
+    private final ApplicationMetrics applicationMetrics;
     
     @Autowired
-    public ExpenseService(ExpenseRepository expenseRepository) {
+    public ExpenseService(ExpenseRepository expenseRepository, ExpenseSummaryService expenseSummaryService,
+                          DataVersionService dataVersionService, ApplicationEventPublisher eventPublisher,
+                          CategoryDictionary categoryDictionary, ExpenseSearchIndex searchIndex,
+                          UserCategoryCache userCategoryCache, ApplicationMetrics applicationMetrics) {
         this.expenseRepository = expenseRepository;
+        this.expenseSummaryService = expenseSummaryService;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher = eventPublisher;
+        this.categoryDictionary = categoryDictionary;
+        this.searchIndex = searchIndex;
+        this.userCategoryCache = userCategoryCache;
+        this.applicationMetrics = applicationMetrics;
     }
     
     /**
@@ -50,75 +108,153 @@ public class ExpenseService {
     public Expense createExpense(Expense expense, User user) {
         logger.debug("Creating new expense for user {}: {}", user.getUsername(), expense);
 
+        // Always a new row: save() would merge an expense arriving with an ID or version
+        expense.setId(null);
+        expense.setVersion(null);
         expense.setUser(user);
         validateExpense(expense);
 
         Expense savedExpense = expenseRepository.save(expense);
+        expenseSummaryService.recordCreated(user, savedExpense);
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(ExpenseChangeEvent.created(user, savedExpense));
+        applicationMetrics.expenseCreated();
         logger.info("Created expense with ID: {} for user: {}", savedExpense.getId(), user.getUsername());
 
         return savedExpense;
     }
     
     /**
-     * Updates an existing expense
+     * Updates an existing expense with a single UPDATE conditioned on its owner
+     * and version. The stored state is read first as a projection, as the
+     * aggregates need the contribution being replaced.
      *
      * @param id the ID of the expense to update
-     * @param expense the updated expense data
+     * @param expense the updated expense data; its version, if given, must be the stored one
      * @param user the user who owns the expense
      * @return the updated expense
-     * @throws IllegalArgumentException if expense data is invalid or expense not found
+     * @throws EmptyResultDataAccessException if the user has no expense with that ID, checked before the data
+     * @throws IllegalArgumentException if expense data is invalid
+     * @throws OptimisticLockingFailureException if the expense was changed since the given or read version
      */
     public Expense updateExpense(Long id, Expense expense, User user) {
         logger.debug("Updating expense with ID: {} for user: {}", id, user.getUsername());
 
-        Expense existingExpense = expenseRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Expense not found with ID: " + id));
+        // Scoped to the user, so another user's expense is reported as not found
+        ExpenseStateProjection stored = expenseRepository.findStateByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EmptyResultDataAccessException("Expense not found with ID: " + id, 1));
 
-        // Check if the expense belongs to the user
-        if (!existingExpense.getUser().getId().equals(user.getId())) {
-            throw new IllegalArgumentException("Expense does not belong to the user");
+        expense.setUser(user);
+        validateExpense(expense);
+        if (expense.getVersion() != null && !expense.getVersion().equals(stored.getVersion())) {
+            throw new OptimisticLockingFailureException("Expense " + id + " was changed since version " + expense.getVersion());
         }
 
-        // Update fields
-        existingExpense.setAmount(expense.getAmount());
-        existingExpense.setCategory(expense.getCategory());
-        existingExpense.setExpenseDate(expense.getExpenseDate());
-        existingExpense.setPaymentMethod(expense.getPaymentMethod());
-        existingExpense.setUpiVpa(expense.getUpiVpa());
-        existingExpense.setTransactionId(expense.getTransactionId());
-        existingExpense.setPayerName(expense.getPayerName());
-        existingExpense.setNotes(expense.getNotes());
-
-        validateExpense(existingExpense);
-
-        Expense updatedExpense = expenseRepository.save(existingExpense);
-        logger.info("Updated expense with ID: {} for user: {}", updatedExpense.getId(), user.getUsername());
+        expense.setId(id);
+        expense.setCreatedAt(stored.getCreatedAt());
+        if (expenseRepository.updateOwned(expense, user.getId(), stored.getVersion()) == 0) {
+            throw new OptimisticLockingFailureException("Expense " + id + " was changed concurrently");
+        }
+        expenseSummaryService.recordUpdated(user, ExpenseSummaryService.Contribution.of(stored), expense);
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(ExpenseChangeEvent.updated(user, expense, stored.getCategory()));
+        logger.info("Updated expense with ID: {} for user: {}", id, user.getUsername());
 
-        return updatedExpense;
+        return expense;
     }
     
     /**
-     * Deletes an expense by ID
+     * Deletes an expense by ID with a single DELETE conditioned on its owner and
+     * the version whose contribution is removed from the aggregates
      *
      * @param id the ID of the expense to delete
      * @param user the user who owns the expense
-     * @throws IllegalArgumentException if expense not found or doesn't belong to user
+     * @throws IllegalArgumentException if the user has no expense with that ID
+     * @throws OptimisticLockingFailureException if the expense was changed concurrently
      */
     public void deleteExpense(Long id, User user) {
         logger.debug("Deleting expense with ID: {} for user: {}", id, user.getUsername());
 
-        Expense expense = expenseRepository.findById(id)
+        ExpenseStateProjection stored = expenseRepository.findStateByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Expense not found with ID: " + id));
-
-        // Check if the expense belongs to the user
-        if (!expense.getUser().getId().equals(user.getId())) {
-            throw new IllegalArgumentException("Expense does not belong to the user");
+        if (expenseRepository.deleteOwned(id, user.getId(), stored.getVersion()) == 0) {
+            throw new OptimisticLockingFailureException("Expense " + id + " was changed concurrently");
         }
-
-        expenseRepository.deleteById(id);
+        expenseSummaryService.recordDeleted(user, ExpenseSummaryService.Contribution.of(stored));
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(ExpenseChangeEvent.deleted(user, id));
         logger.info("Deleted expense with ID: {} for user: {}", id, user.getUsername());
     }
     
+    /**
+     * Deletes many expenses with a single DELETE. IDs the user does not own are skipped.
+     *
+     * @param ids the IDs of the expenses to delete
+     * @param user the user who owns the expenses
+     * @return the IDs deleted
+     * @throws IllegalArgumentException if no IDs or more than {@link #MAX_BULK_IDS} are given
+     */
+    public List<Long> deleteExpenses(List<Long> ids, User user) {
+        List<ExpenseStateProjection> stored = lockOwned(ids, user);
+        if (stored.isEmpty()) {
+            return List.of();
+        }
+        List<Long> found = stored.stream().map(ExpenseStateProjection::getId).toList();
+
+        expenseRepository.deleteAllOwned(found, user.getId());
+        expenseSummaryService.recordChanged(user,
+                stored.stream().map(ExpenseSummaryService.Contribution::of).toList(), List.of());
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(ExpenseChangeEvent.bulkChanged(user));
+        logger.info("Deleted {} of {} expenses for user: {}", found.size(), ids.size(), user.getUsername());
+        return found;
+    }
+    
+    /**
+     * Moves many expenses to one category with a single UPDATE. IDs the user does not own are skipped.
+     *
+     * @param ids the IDs of the expenses to recategorize
+     * @param category the new category
+     * @param user the user who owns the expenses
+     * @return the IDs updated
+     * @throws IllegalArgumentException if the category is blank or too long, or no IDs or
+     *         more than {@link #MAX_BULK_IDS} are given
+     */
+    public List<Long> recategorizeExpenses(List<Long> ids, String category, User user) {
+        if (category == null || category.trim().isEmpty() || category.length() > MAX_CATEGORY_LENGTH) {
+            throw new IllegalArgumentException("Category is required and must not exceed "
+                    + MAX_CATEGORY_LENGTH + " characters");
+        }
+        List<ExpenseStateProjection> stored = lockOwned(ids, user);
+        if (stored.isEmpty()) {
+            return List.of();
+        }
+        List<Long> found = stored.stream().map(ExpenseStateProjection::getId).toList();
+
+        expenseRepository.updateCategoryOfOwned(found, user.getId(), category, LocalDateTime.now());
+        List<ExpenseSummaryService.Contribution> before = stored.stream()
+                .map(ExpenseSummaryService.Contribution::of)
+                .toList();
+        expenseSummaryService.recordChanged(user, before,
+                before.stream().map(contribution -> contribution.withCategory(category)).toList());
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(ExpenseChangeEvent.bulkChanged(user));
+        logger.info("Moved {} of {} expenses to {} for user: {}", found.size(), ids.size(), category,
+                user.getUsername());
+        return found;
+    }
+    
+    /**
+     * Reads and locks the stored state of the user's expenses among the IDs, so that
+     * the contributions replaced by the following bulk statement are the current ones
+     */
+    private List<ExpenseStateProjection> lockOwned(List<Long> ids, User user) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_IDS + " expense IDs are required");
+        }
+        return expenseRepository.findStatesForUpdate(new HashSet<>(ids), user.getId());
+    }
+    
     /**
      * Retrieves an expense by ID
      *
@@ -142,6 +278,22 @@ public class ExpenseService {
         return expense;
     }
     
+    /**
+     * Retrieves a user's UPI expense by its transaction ID, as the unique
+     * index on UPI transaction IDs compares them: exactly
+     *
+     * @param transactionId the transaction ID
+     * @param user the user who owns the expense
+     * @return the expense, if the user has stored that UPI transaction
+     */
+    @Transactional(readOnly = true)
+    public Optional<Expense> findUpiExpense(String transactionId, User user) {
+        if (transactionId == null) {
+            return Optional.empty();
+        }
+        return expenseRepository.findByUserAndUpiTransactionId(user, transactionId);
+    }
+    
     /**
      * Retrieves all expenses for a user
      *
@@ -155,7 +307,9 @@ public class ExpenseService {
     }
     
     /**
-     * Retrieves expenses based on filter criteria for a user
+     * Retrieves expenses based on filter criteria for a user.
+     * Every criterion is pushed into a single SQL statement; no rows are
+     * filtered in memory.
      *
      * @param filter the filter criteria
      * @param user the user to filter by
@@ -169,53 +323,54 @@ public class ExpenseService {
             return getAllExpenses(user);
         }
 
-        List<Expense> expenses = new ArrayList<>();
-
-        // Apply filters based on available criteria
-        if (filter.getStartDate() != null && filter.getEndDate() != null) {
-            if (filter.getCategory() != null && filter.getPaymentMethod() != null) {
-                expenses = expenseRepository.findByUserAndCategoryAndPaymentMethodAndExpenseDateBetween(
-                        user, filter.getCategory(), filter.getPaymentMethod(),
-                        filter.getStartDate(), filter.getEndDate());
-            } else if (filter.getCategory() != null) {
-                expenses = expenseRepository.findByUserAndCategoryAndExpenseDateBetween(
-                        user, filter.getCategory(), filter.getStartDate(), filter.getEndDate());
-            } else if (filter.getPaymentMethod() != null) {
-                expenses = expenseRepository.findByUserAndPaymentMethodAndExpenseDateBetween(
-                        user, filter.getPaymentMethod(), filter.getStartDate(), filter.getEndDate());
-            } else {
-                expenses = expenseRepository.findByUserAndExpenseDateBetween(
-                        user, filter.getStartDate(), filter.getEndDate());
-            }
-        } else if (filter.getCategory() != null && filter.getPaymentMethod() != null) {
-            expenses = expenseRepository.findByUserAndCategory(user, filter.getCategory())
-                    .stream()
-                    .filter(e -> e.getPaymentMethod().equals(filter.getPaymentMethod()))
-                    .collect(Collectors.toList());
-        } else if (filter.getCategory() != null) {
-            expenses = expenseRepository.findByUserAndCategory(user, filter.getCategory());
-        } else if (filter.getPaymentMethod() != null) {
-            expenses = expenseRepository.findByUserAndPaymentMethod(user, filter.getPaymentMethod());
-        } else {
-            expenses = getAllExpenses(user);
-        }
-
-        // Apply additional filters
-        if (filter.getUpiVpa() != null && !filter.getUpiVpa().trim().isEmpty()) {
-            expenses = expenses.stream()
-                    .filter(e -> e.getUpiVpa() != null &&
-                            e.getUpiVpa().toLowerCase().contains(filter.getUpiVpa().toLowerCase()))
-                    .collect(Collectors.toList());
-        }
-
-        if (filter.getTransactionId() != null && !filter.getTransactionId().trim().isEmpty()) {
-            expenses = expenses.stream()
-                    .filter(e -> e.getTransactionId() != null &&
-                            e.getTransactionId().toLowerCase().contains(filter.getTransactionId().toLowerCase()))
-                    .collect(Collectors.toList());
+        return expenseRepository.findAll(matching(filter, user), KEYSET_SORT);
+    }
+    
+    /**
+     * Retrieves the expenses matching the filter for a user as read-only list
+     * items, newest first. The same rows as {@link #getFilteredExpenses}, read
+     * without loading entities.
+     *
+     * @param filter the filter criteria
+     * @param user the user to filter by
+     * @return list items of the filtered expenses
+     */
+    @Transactional(readOnly = true)
+    public List<ExpenseListItemDTO> getExpenseList(ExpenseFilterDTO filter, User user) {
+        logger.debug("Retrieving expense list for user {}: {}", user.getUsername(), filter);
+        return expenseRepository.findItems(matching(filter, user), KEYSET_SORT, 0);
+    }
+    
+    /**
+     * Retrieves one keyset-paginated page of expenses matching the filter for a user.
+     * Rows are ordered by expense date then ID, newest first, and the page is
+     * located by seeking past the cursor rather than by offset.
+     *
+     * @param filter the filter criteria
+     * @param cursor the opaque cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, clamped to [1, MAX_PAGE_SIZE]
+     * @param user the user to filter by
+     * @return the page with a cursor for the next one, if any
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public ExpensePageDTO getExpensePage(ExpenseFilterDTO filter, String cursor, Integer size, User user) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        ExpenseCursor position = cursor == null || cursor.isBlank() ? null : ExpenseCursor.decode(cursor);
+        logger.debug("Retrieving expense page for user {} after {}: {}", user.getUsername(), position, filter);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<ExpenseListItemDTO> rows = expenseRepository.findItems(
+                matching(filter, user).and(ExpenseSpecifications.after(position)),
+                KEYSET_SORT, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = ExpenseCursor.of(rows.get(pageSize - 1)).encode();
         }
 
-        return expenses;
+        return new ExpensePageDTO(new ArrayList<>(rows), nextCursor, rows.size());
     }
     
     /**
@@ -227,108 +382,142 @@ public class ExpenseService {
     public ExpenseSummaryDTO getExpenseSummary() {
         logger.debug("Generating expense summary (legacy method)");
 
-        List<Expense> allExpenses = expenseRepository.findAll();
-
-        BigDecimal totalAmount = allExpenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCashAmount = allExpenses.stream()
-                .map(Expense::getCashAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalUpiAmount = allExpenses.stream()
-                .map(Expense::getUpiAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long totalTransactions = allExpenses.size();
-
-        // Category totals
-        Map<String, BigDecimal> categoryTotals = allExpenses.stream()
-                .collect(Collectors.groupingBy(
-                        Expense::getCategory,
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
-
-        // Payment method totals
-        Map<String, BigDecimal> paymentMethodTotals = allExpenses.stream()
-                .collect(Collectors.groupingBy(
-                        expense -> expense.getPaymentMethod().toString(),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
-
-        ExpenseSummaryDTO summary = new ExpenseSummaryDTO(
-                totalAmount, totalCashAmount, totalUpiAmount, totalTransactions);
-        summary.setCategoryTotals(categoryTotals);
-        summary.setPaymentMethodTotals(paymentMethodTotals);
         // Budget fields will be null for legacy method
-
-        return summary;
+        return summarize(expenseRepository.getCategoryTotals(), expenseRepository.getPaymentMethodTotals());
     }
 
     /**
-     * Gets expense summary with totals and breakdowns
+     * Gets expense summary with totals and breakdowns.
+     * Totals come from the incrementally maintained per-user aggregates.
      *
      * @param user the user for whom to generate the summary
      * @return expense summary DTO
      */
-    @Transactional(readOnly = true)
     public ExpenseSummaryDTO getExpenseSummary(User user) {
         logger.debug("Generating expense summary for user: {}", user.getUsername());
 
-        List<Expense> allExpenses = expenseRepository.findByUser(user);
-
-        BigDecimal totalAmount = allExpenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCashAmount = allExpenses.stream()
-                .map(Expense::getCashAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalUpiAmount = allExpenses.stream()
-                .map(Expense::getUpiAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long totalTransactions = allExpenses.size();
+        return withBudget(expenseSummaryService.getSummary(user), user);
+    }
 
-        // Category totals
-        Map<String, BigDecimal> categoryTotals = allExpenses.stream()
-                .collect(Collectors.groupingBy(
-                        Expense::getCategory,
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
+    /**
+     * Gets expense summary without writing anything, for use in read-only
+     * transactions. A user whose aggregates have not been built yet is
+     * summarised from the expenses table instead of building them.
+     *
+     * @param user the user for whom to generate the summary
+     * @return expense summary DTO
+     */
+    @Transactional(readOnly = true)
+    public ExpenseSummaryDTO getExpenseSummaryReadOnly(User user) {
+        ExpenseSummaryDTO summary = expenseSummaryService.findSummary(user)
+                .orElseGet(() -> summarize(expenseRepository.getCategoryTotalsByUser(user),
+                        expenseRepository.getPaymentMethodTotalsByUser(user)));
+        return withBudget(summary, user);
+    }
 
-        // Payment method totals
-        Map<String, BigDecimal> paymentMethodTotals = allExpenses.stream()
-                .collect(Collectors.groupingBy(
-                        expense -> expense.getPaymentMethod().toString(),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
+    /**
+     * Gets expense summary for a user restricted to a date range.
+     * Totals are aggregated by the database; no expense entities are loaded.
+     * Without a range the persisted aggregates are used instead.
+     *
+     * @param user the user for whom to generate the summary
+     * @param startDate the start date (inclusive), or null for no lower bound
+     * @param endDate the end date (inclusive), or null for no upper bound
+     * @return expense summary DTO
+     */
+    public ExpenseSummaryDTO getExpenseSummary(User user, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return getExpenseSummary(user);
+        }
+        logger.debug("Generating expense summary for user {} between {} and {}", user.getUsername(), startDate, endDate);
 
-        // Budget and remaining budget
-        BigDecimal budget = user.getBudget() != null ? user.getBudget() : BigDecimal.ZERO;
-        BigDecimal remainingBudget = budget.subtract(totalAmount);
+        LocalDate from = startDate != null ? startDate : MIN_DATE;
+        LocalDate to = endDate != null ? endDate : MAX_DATE;
+        ExpenseSummaryDTO summary = summarize(
+                expenseRepository.getCategoryTotalsByUserAndDateRange(user, from, to),
+                expenseRepository.getPaymentMethodTotalsByUserAndDateRange(user, from, to));
 
-        ExpenseSummaryDTO summary = new ExpenseSummaryDTO(
-                totalAmount, totalCashAmount, totalUpiAmount, totalTransactions);
-        summary.setCategoryTotals(categoryTotals);
-        summary.setPaymentMethodTotals(paymentMethodTotals);
-        summary.setBudget(budget);
-        summary.setRemainingBudget(remainingBudget);
+        return withBudget(summary, user);
+    }
 
-        return summary;
+    /**
+     * Recomputes a user's summary aggregates from the expenses table
+     *
+     * @param user the user whose aggregates are rebuilt
+     * @return the rebuilt expense summary
+     */
+    public ExpenseSummaryDTO rebuildExpenseSummary(User user) {
+        expenseSummaryService.rebuild(user);
+        dataVersionService.bump(user);
+        eventPublisher.publishEvent(ExpenseChangeEvent.summaryChanged(user.getId(), user.getUsername()));
+        return getExpenseSummary(user);
     }
     
     /**
-     * Gets all distinct categories for a user
+     * Gets all distinct categories for a user, sorted.
+     * Served from the {@link UserCategoryCache} without a transaction when cached.
      *
      * @param user the user to filter by
      * @return list of distinct categories
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<String> getDistinctCategories(User user) {
-        return expenseRepository.findDistinctCategoriesByUser(user);
+        return userCategoryCache.get(user.getId(), () -> expenseRepository.findDistinctCategoriesByUser(user));
+    }
+    
+    /**
+     * Builds the single specification selecting the user's expenses that match the filter
+     */
+    private Specification<Expense> matching(ExpenseFilterDTO filter, User user) {
+        return ExpenseSpecifications.matching(filter, user, categoryDictionary, searchIndex);
+    }
+    
+    /**
+     * Adds the user's budget and remaining budget to a summary
+     */
+    private static ExpenseSummaryDTO withBudget(ExpenseSummaryDTO summary, User user) {
+        BigDecimal budget = user.getBudget() != null ? user.getBudget() : BigDecimal.ZERO;
+        summary.setBudget(budget);
+        summary.setRemainingBudget(budget.subtract(summary.getTotalAmount()));
+        return summary;
+    }
+    
+    /**
+     * Builds a summary from database-side group totals
+     *
+     * @param categoryTotals totals grouped by category
+     * @param paymentMethodTotals totals grouped by payment method
+     * @return expense summary DTO without budget fields
+     */
+    static ExpenseSummaryDTO summarize(List<CategoryTotalProjection> categoryTotals,
+                                       List<PaymentMethodTotalProjection> paymentMethodTotals) {
+        long totalAmount = 0;
+        BigDecimal totalCashAmount = BigDecimal.ZERO;
+        BigDecimal totalUpiAmount = BigDecimal.ZERO;
+        long totalTransactions = 0;
+        Map<String, BigDecimal> paymentMethods = new HashMap<>();
+
+        for (PaymentMethodTotalProjection total : paymentMethodTotals) {
+            totalAmount = MinorUnits.add(totalAmount, MinorUnits.of(total.getTotalAmount()));
+            totalTransactions += total.getTransactionCount();
+            if (total.getPaymentMethod() == PaymentMethod.CASH) {
+                totalCashAmount = total.getTotalAmount();
+            } else if (total.getPaymentMethod() == PaymentMethod.UPI) {
+                totalUpiAmount = total.getTotalAmount();
+            }
+            paymentMethods.put(total.getPaymentMethod().toString(), total.getTotalAmount());
+        }
+
+        Map<String, BigDecimal> categories = new HashMap<>();
+        for (CategoryTotalProjection total : categoryTotals) {
+            categories.put(total.getCategory(), total.getTotalAmount());
+        }
+
+        ExpenseSummaryDTO summary = new ExpenseSummaryDTO(
+                MinorUnits.toDecimal(totalAmount), totalCashAmount, totalUpiAmount, totalTransactions);
+        summary.setCategoryTotals(categories);
+        summary.setPaymentMethodTotals(paymentMethods);
+        return summary;
     }
     
     /**
@@ -337,7 +526,7 @@ public class ExpenseService {
      * @param expense the expense to validate
      * @throws IllegalArgumentException if validation fails
      */
-    private void validateExpense(Expense expense) {
+    static void validateExpense(Expense expense) {
         if (expense.getUser() == null) {
             throw new IllegalArgumentException("User is required");
         }
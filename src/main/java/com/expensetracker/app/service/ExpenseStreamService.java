@@ -0,0 +1,321 @@
+package com.expensetracker.app.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.expensetracker.app.dto.AuthenticatedUser;
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service pushing expense changes to a user's open Server-Sent Events streams.
+ * Committed changes are fanned out as small delta events, followed by the
+ * user's new summary, which is computed once per change rather than once per
+ * subscriber. Every subscriber has a bounded buffer drained on a small pool;
+ * a subscriber that falls behind has its buffer replaced by a single resync
+ * event, telling the client to reload instead of holding on to stale deltas.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Service
+public class ExpenseStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseStreamService.class);
+
+    static final String CREATED = "expense-created";
+    static final String UPDATED = "expense-updated";
+    static final String DELETED = "expense-deleted";
+    static final String SUMMARY = "summary";
+    static final String RESYNC = "resync";
+
+    private static final Set<DataWithMediaType> RESYNC_MESSAGE =
+            SseEmitter.event().name(RESYNC).data(Map.of()).build();
+
+    private final ExpenseService expenseService;
+    private final AuthService authService;
+    private final Executor executor;
+    private final ScheduledExecutorService heartbeats;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final int maxSubscribersPerUser;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExpenseStreamService(ExpenseService expenseService,
+                                AuthService authService,
+                                @Value("${app.expenses.stream.threads:2}") int threads,
+                                @Value("${app.expenses.stream.queue-capacity:1000}") int queueCapacity,
+                                @Value("${app.expenses.stream.timeout:PT30M}") Duration timeout,
+                                @Value("${app.expenses.stream.heartbeat:PT25S}") Duration heartbeat,
+                                @Value("${app.expenses.stream.buffer-size:32}") int bufferSize,
+                                @Value("${app.expenses.stream.max-subscribers-per-user:8}") int maxSubscribersPerUser) {
+        this(expenseService, authService, newPool(threads, queueCapacity), timeout, bufferSize, maxSubscribersPerUser);
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    ExpenseStreamService(ExpenseService expenseService, AuthService authService, Executor executor,
+                         Duration timeout, int bufferSize, int maxSubscribersPerUser) {
+        if (bufferSize < 2) {
+            throw new IllegalArgumentException("Stream buffer size must be at least 2");
+        }
+        this.expenseService = expenseService;
+        this.authService = authService;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expense-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream for a user. The current summary is sent first, so a
+     * client needs no other request to start from an up-to-date state.
+     *
+     * @param user the authenticated user
+     * @return the emitter to return from the handler
+     * @throws IllegalStateException if the user already has the maximum number of open streams
+     */
+    public SseEmitter subscribe(AuthenticatedUser user) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+
+        Channel channel = channels.compute(user.getId(), (id, existing) -> {
+            Channel current = existing != null ? existing : new Channel(user.getId(), user.getUsername());
+            if (current.subscribers.size() >= maxSubscribersPerUser) {
+                throw new IllegalStateException("Too many open streams for user " + user.getUsername());
+            }
+            current.subscribers.add(subscriber);
+            return current;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(channel, subscriber));
+        emitter.onTimeout(() -> unsubscribe(channel, subscriber));
+        emitter.onError(error -> unsubscribe(channel, subscriber));
+
+        logger.debug("Opened expense stream for user {}, {} open", user.getUsername(), channel.subscribers.size());
+        requestSummary(channel);
+        return emitter;
+    }
+
+    /**
+     * Pushes a committed change to the subscribers of its user.
+     * Changes of users without open streams cost a map lookup.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChange(ExpenseChangeEvent event) {
+        Channel channel = channels.get(event.getUserId());
+        if (channel == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case CREATED -> channel.broadcast(SseEmitter.event().name(CREATED).data(event.getExpense()));
+            case UPDATED -> channel.broadcast(SseEmitter.event().name(UPDATED).data(event.getExpense()));
+            case DELETED -> channel.broadcast(SseEmitter.event().name(DELETED).data(Map.of("id", event.getExpenseId())));
+            case BULK_CHANGED -> channel.broadcast(RESYNC_MESSAGE);
+            case SUMMARY_CHANGED -> { }
+        }
+        requestSummary(channel);
+    }
+
+    /**
+     * Number of open streams of a user
+     */
+    public int getSubscriberCount(Long userId) {
+        Channel channel = channels.get(userId);
+        return channel != null ? channel.subscribers.size() : 0;
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules one summary computation for a channel. A change arriving
+     * while one is queued is covered by it; one arriving while it runs
+     * schedules another, so the last summary sent is never older than the
+     * last change.
+     */
+    private void requestSummary(Channel channel) {
+        if (!channel.summaryPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                // Serialized per user so an older summary is never sent after a newer one
+                synchronized (channel) {
+                    channel.summaryPending.set(false);
+                    if (channel.subscribers.isEmpty()) {
+                        return;
+                    }
+                    try {
+                        AuthenticatedUser user = authService.loadAuthenticatedUser(channel.username);
+                        if (user == null) {
+                            return;
+                        }
+                        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user.toUser());
+                        channel.broadcast(SseEmitter.event().name(SUMMARY).data(summary));
+                    } catch (RuntimeException e) {
+                        logger.error("Failed to compute stream summary for user {}", channel.username, e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            channel.summaryPending.set(false);
+            logger.warn("Expense stream pool saturated, resyncing subscribers of user {}", channel.username);
+            channel.broadcast(RESYNC_MESSAGE);
+        }
+    }
+
+    private void sendHeartbeats() {
+        channels.values().forEach(channel -> channel.broadcast(SseEmitter.event().comment("heartbeat")));
+    }
+
+    private void unsubscribe(Channel channel, Subscriber subscriber) {
+        subscriber.closed = true;
+        channels.computeIfPresent(channel.userId, (id, current) -> {
+            current.subscribers.remove(subscriber);
+            return current.subscribers.isEmpty() ? null : current;
+        });
+    }
+
+    private static ExecutorService newPool(int threads, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "expense-stream-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * The open streams of one user
+     */
+    private final class Channel {
+
+        private final Long userId;
+        private final String username;
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final AtomicBoolean summaryPending = new AtomicBoolean();
+
+        Channel(Long userId, String username) {
+            this.userId = userId;
+            this.username = username;
+        }
+
+        void broadcast(SseEmitter.SseEventBuilder event) {
+            // Built once: a builder is not safe to build again or from several threads
+            broadcast(event.build());
+        }
+
+        void broadcast(Set<DataWithMediaType> message) {
+            subscribers.forEach(subscriber -> subscriber.offer(message));
+        }
+    }
+
+    /**
+     * One open stream, with its bounded buffer of events not yet written
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(Set<DataWithMediaType> message) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                // Too far behind for deltas to be useful: drop them and let the client reload
+                buffer.clear();
+                buffer.offer(RESYNC_MESSAGE);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> message = buffer.poll();
+                if (message == null) {
+                    draining.set(false);
+                    // An event offered between the poll and the reset would otherwise wait for the next offer
+                    if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    closed = true;
+                    draining.set(false);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.MinorUnits;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.model.UserCategoryTotal;
+import com.expensetracker.app.model.UserExpenseSummary;
+import com.expensetracker.app.model.UserMonthlyTotal;
+import com.expensetracker.app.repository.CategoryTotalProjection;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.ExpenseStateProjection;
+import com.expensetracker.app.repository.MonthlyTotalProjection;
+import com.expensetracker.app.repository.PaymentMethodTotalProjection;
+import com.expensetracker.app.repository.UserCategoryTotalRepository;
+import com.expensetracker.app.repository.UserExpenseSummaryRepository;
+import com.expensetracker.app.repository.UserMonthlyTotalRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Service maintaining persisted per-user expense aggregates.
+ * Expense writes record their contribution here inside the same transaction,
+ * so reading a summary costs two small lookups instead of a ledger scan, and
+ * monthly reports read a few (month, category, payment method) rollup rows.
+ * Aggregate rows are applied with atomic SQL increments and are never kept
+ * managed, so concurrent writers cannot overwrite each other's deltas.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class ExpenseSummaryService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseSummaryService.class);
+    
+    private final UserExpenseSummaryRepository summaryRepository;
+    private final UserCategoryTotalRepository categoryTotalRepository;
+    private final UserMonthlyTotalRepository monthlyTotalRepository;
+    private final ExpenseRepository expenseRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    public ExpenseSummaryService(UserExpenseSummaryRepository summaryRepository,
+                                 UserCategoryTotalRepository categoryTotalRepository,
+                                 UserMonthlyTotalRepository monthlyTotalRepository,
+                                 ExpenseRepository expenseRepository) {
+        this.summaryRepository = summaryRepository;
+        this.categoryTotalRepository = categoryTotalRepository;
+        this.monthlyTotalRepository = monthlyTotalRepository;
+        this.expenseRepository = expenseRepository;
+    }
+    
+    /**
+     * The part of an expense that contributes to the aggregates
+     */
+    public record Contribution(BigDecimal amount, String category, PaymentMethod paymentMethod,
+                               LocalDate expenseDate) {
+        
+        /**
+         * Captures the aggregate-relevant fields of an expense
+         * 
+         * @param expense the expense
+         * @return its contribution
+         */
+        public static Contribution of(Expense expense) {
+            return new Contribution(expense.getAmount(), expense.getCategory(), expense.getPaymentMethod(),
+                    expense.getExpenseDate());
+        }
+        
+        /**
+         * Captures the aggregate-relevant fields of a stored expense
+         * 
+         * @param state the stored state
+         * @return its contribution
+         */
+        public static Contribution of(ExpenseStateProjection state) {
+            return new Contribution(state.getAmount(), state.getCategory(), state.getPaymentMethod(),
+                    state.getExpenseDate());
+        }
+        
+        /**
+         * The same contribution under another category
+         * 
+         * @param newCategory the category
+         * @return the moved contribution
+         */
+        public Contribution withCategory(String newCategory) {
+            return new Contribution(amount, newCategory, paymentMethod, expenseDate);
+        }
+    }
+    
+    /**
+     * Adds a newly created expense to the user's aggregates
+     * 
+     * @param user the owner
+     * @param created the saved expense
+     */
+    public void recordCreated(User user, Expense created) {
+        if (!applyDelta(user, Contribution.of(created), 1)) {
+            rebuild(user);
+        }
+    }
+    
+    /**
+     * Adds a batch of newly created expenses to the user's aggregates, with one
+     * increment per touched aggregate row instead of one per expense
+     * 
+     * @param user the owner
+     * @param created the inserted expenses
+     */
+    public void recordCreatedAll(User user, List<Expense> created) {
+        recordChanged(user, List.of(), created.stream().map(Contribution::of).toList());
+    }
+    
+    /**
+     * Replaces the contributions of many expenses at once, as written by a bulk
+     * statement, with one increment per touched aggregate row instead of one
+     * per expense. Deletions have no added contributions.
+     * 
+     * @param user the owner
+     * @param removed the contributions before the write
+     * @param added the contributions after the write
+     */
+    public void recordChanged(User user, List<Contribution> removed, List<Contribution> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        
+        // Summed in minor units: one conversion per expense instead of a BigDecimal per addition
+        MinorUnits.Total total = new MinorUnits.Total();
+        MinorUnits.Total cash = new MinorUnits.Total();
+        MinorUnits.Total upi = new MinorUnits.Total();
+        Map<String, MinorUnits.Total> categories = new HashMap<>();
+        Map<MonthKey, MinorUnits.Total> months = new HashMap<>();
+        for (Contribution contribution : removed) {
+            long minorUnits = MinorUnits.of(contribution.amount());
+            total.remove(minorUnits);
+            paymentMethodTotal(contribution, cash, upi).remove(minorUnits);
+            categories.computeIfAbsent(contribution.category(), category -> new MinorUnits.Total()).remove(minorUnits);
+            months.computeIfAbsent(MonthKey.of(contribution), month -> new MinorUnits.Total()).remove(minorUnits);
+        }
+        for (Contribution contribution : added) {
+            long minorUnits = MinorUnits.of(contribution.amount());
+            total.add(minorUnits);
+            paymentMethodTotal(contribution, cash, upi).add(minorUnits);
+            categories.computeIfAbsent(contribution.category(), category -> new MinorUnits.Total()).add(minorUnits);
+            months.computeIfAbsent(MonthKey.of(contribution), month -> new MinorUnits.Total()).add(minorUnits);
+        }
+        
+        if (summaryRepository.applyDelta(user.getId(), total.getDecimalAmount(), cash.getDecimalAmount(),
+                upi.getDecimalAmount(), total.getCount(), cash.getCount(), upi.getCount()) == 0) {
+            // The rebuild reads the expenses table, which already holds the write
+            rebuild(user);
+            return;
+        }
+        boolean consistent = true;
+        boolean shrunk = false;
+        for (Map.Entry<String, MinorUnits.Total> entry : categories.entrySet()) {
+            consistent &= addToCategory(user, entry.getKey(), entry.getValue());
+            shrunk |= entry.getValue().getCount() < 0;
+        }
+        for (Map.Entry<MonthKey, MinorUnits.Total> entry : months.entrySet()) {
+            consistent &= addToMonth(user, entry.getKey(), entry.getValue());
+            shrunk |= entry.getValue().getCount() < 0;
+        }
+        if (!consistent) {
+            rebuild(user);
+            return;
+        }
+        // Only a row that lost expenses can have emptied
+        if (shrunk) {
+            categoryTotalRepository.deleteEmpty(user.getId());
+            monthlyTotalRepository.deleteEmpty(user.getId());
+        }
+    }
+    
+    /**
+     * Replaces an expense's previous contribution with its current one, as one
+     * net delta per touched row. An update that keeps the category, month and
+     * payment method only changes amounts, so no row can empty.
+     * 
+     * @param user the owner
+     * @param before the contribution before the update
+     * @param after the saved expense
+     */
+    public void recordUpdated(User user, Contribution before, Expense after) {
+        Contribution current = Contribution.of(after);
+        if (MonthKey.of(before).equals(MonthKey.of(current)) && before.amount().compareTo(current.amount()) == 0) {
+            // Only fields that no aggregate counts changed, such as the day within the month
+            return;
+        }
+        recordChanged(user, List.of(before), List.of(current));
+    }
+    
+    /**
+     * Removes a deleted expense from the user's aggregates
+     * 
+     * @param user the owner
+     * @param deleted the contribution of the deleted expense
+     */
+    public void recordDeleted(User user, Contribution deleted) {
+        if (!applyDelta(user, deleted, -1)) {
+            rebuild(user);
+        }
+    }
+    
+    /**
+     * Reads the user's summary from the aggregates, building them first if
+     * the user has none yet. Budget fields are left for the caller.
+     * 
+     * @param user the user
+     * @return expense summary DTO
+     */
+    @Transactional
+    public ExpenseSummaryDTO getSummary(User user) {
+        UserExpenseSummary summary = summaryRepository.findById(user.getId()).orElse(null);
+        if (summary == null) {
+            summary = rebuild(user);
+        }
+        return toDto(summary, categoryTotalRepository.findByUserId(user.getId()));
+    }
+    
+    /**
+     * Reads the user's summary from the aggregates without building missing
+     * ones, so it can run in a read-only transaction. Budget fields are left
+     * for the caller.
+     * 
+     * @param user the user
+     * @return the summary, or empty if the user has no aggregates yet
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExpenseSummaryDTO> findSummary(User user) {
+        return summaryRepository.findById(user.getId())
+                .map(summary -> toDto(summary, categoryTotalRepository.findByUserId(user.getId())));
+    }
+    
+    /**
+     * Builds the user's aggregates if they do not exist yet
+     * 
+     * @param user the user
+     */
+    @Transactional
+    public void ensureBuilt(User user) {
+        if (!summaryRepository.existsById(user.getId())) {
+            rebuild(user);
+        }
+    }
+    
+    /**
+     * Recomputes the user's aggregates from the expenses table, replacing
+     * whatever is stored. Used to initialise and to repair aggregates.
+     * <p>
+     * The summary row is created if missing and locked first, so concurrent
+     * first writes or first reads of a user take turns instead of racing to
+     * insert it, and each rebuild sees the expenses committed before it.
+     * 
+     * @param user the user
+     * @return the rebuilt summary
+     */
+    @Transactional
+    public UserExpenseSummary rebuild(User user) {
+        logger.info("Rebuilding expense summary aggregates for user: {}", user.getUsername());
+        
+        summaryRepository.insertIfAbsent(user.getId());
+        UserExpenseSummary summary = summaryRepository.findByIdForUpdate(user.getId()).orElseThrow();
+        
+        UserExpenseSummary computed = computeSummary(user);
+        List<UserCategoryTotal> categoryTotals = computeCategoryTotals(user);
+        List<UserMonthlyTotal> monthlyTotals = computeMonthlyTotals(user);
+        
+        categoryTotalRepository.deleteAllByUserId(user.getId());
+        monthlyTotalRepository.deleteAllByUserId(user.getId());
+        summary.setTotalAmount(computed.getTotalAmount());
+        summary.setCashAmount(computed.getCashAmount());
+        summary.setUpiAmount(computed.getUpiAmount());
+        summary.setTransactionCount(computed.getTransactionCount());
+        summary.setCashCount(computed.getCashCount());
+        summary.setUpiCount(computed.getUpiCount());
+        categoryTotals = categoryTotalRepository.saveAll(categoryTotals);
+        monthlyTotals = monthlyTotalRepository.saveAll(monthlyTotals);
+        
+        // Keep aggregates out of the persistence context so later increments are not masked
+        entityManager.flush();
+        entityManager.detach(summary);
+        categoryTotals.forEach(entityManager::detach);
+        monthlyTotals.forEach(entityManager::detach);
+        
+        return summary;
+    }
+    
+    /**
+     * Compares the stored aggregates with the expenses table
+     * 
+     * @param user the user
+     * @return human-readable discrepancies, empty when consistent
+     */
+    @Transactional(readOnly = true)
+    public List<String> findInconsistencies(User user) {
+        List<String> problems = new ArrayList<>();
+        
+        UserExpenseSummary stored = summaryRepository.findById(user.getId()).orElse(null);
+        UserExpenseSummary actual = computeSummary(user);
+        if (stored == null) {
+            problems.add("No summary row for user " + user.getId());
+        } else {
+            compare(problems, "totalAmount", stored.getTotalAmount(), actual.getTotalAmount());
+            compare(problems, "cashAmount", stored.getCashAmount(), actual.getCashAmount());
+            compare(problems, "upiAmount", stored.getUpiAmount(), actual.getUpiAmount());
+            compare(problems, "transactionCount", stored.getTransactionCount(), actual.getTransactionCount());
+            compare(problems, "cashCount", stored.getCashCount(), actual.getCashCount());
+            compare(problems, "upiCount", stored.getUpiCount(), actual.getUpiCount());
+        }
+        
+        Map<String, UserCategoryTotal> storedCategories = new HashMap<>();
+        categoryTotalRepository.findByUserId(user.getId())
+                .forEach(total -> storedCategories.put(total.getCategory(), total));
+        for (UserCategoryTotal expected : computeCategoryTotals(user)) {
+            UserCategoryTotal found = storedCategories.remove(expected.getCategory());
+            if (found == null) {
+                problems.add("Missing category total: " + expected.getCategory());
+            } else {
+                compare(problems, "category[" + expected.getCategory() + "].totalAmount",
+                        found.getTotalAmount(), expected.getTotalAmount());
+                compare(problems, "category[" + expected.getCategory() + "].transactionCount",
+                        found.getTransactionCount(), expected.getTransactionCount());
+            }
+        }
+        storedCategories.keySet().forEach(category -> problems.add("Unexpected category total: " + category));
+        
+        Map<MonthKey, UserMonthlyTotal> storedMonths = new HashMap<>();
+        monthlyTotalRepository.findByUserId(user.getId())
+                .forEach(total -> storedMonths.put(MonthKey.of(total), total));
+        for (UserMonthlyTotal expected : computeMonthlyTotals(user)) {
+            MonthKey key = MonthKey.of(expected);
+            UserMonthlyTotal found = storedMonths.remove(key);
+            if (found == null) {
+                problems.add("Missing monthly total: " + key);
+            } else {
+                compare(problems, "month[" + key + "].totalAmount",
+                        found.getTotalAmount(), expected.getTotalAmount());
+                compare(problems, "month[" + key + "].transactionCount",
+                        found.getTransactionCount(), expected.getTransactionCount());
+            }
+        }
+        storedMonths.keySet().forEach(key -> problems.add("Unexpected monthly total: " + key));
+        
+        if (!problems.isEmpty()) {
+            logger.warn("Expense summary aggregates inconsistent for user {}: {}", user.getUsername(), problems);
+        }
+        return problems;
+    }
+    
+    /**
+     * Applies a signed contribution with atomic increments
+     * 
+     * @return false if the user has no aggregates yet and a rebuild is needed
+     */
+    private boolean applyDelta(User user, Contribution contribution, int sign) {
+        BigDecimal amount = sign < 0 ? contribution.amount().negate() : contribution.amount();
+        boolean cash = contribution.paymentMethod() == PaymentMethod.CASH;
+        boolean upi = contribution.paymentMethod() == PaymentMethod.UPI;
+        
+        int updated = summaryRepository.applyDelta(user.getId(), amount,
+                cash ? amount : BigDecimal.ZERO,
+                upi ? amount : BigDecimal.ZERO,
+                sign, cash ? sign : 0, upi ? sign : 0);
+        if (updated == 0) {
+            return false;
+        }
+        
+        MonthKey month = MonthKey.of(contribution);
+        if (sign > 0) {
+            addToCategory(user, contribution.category(), amount, 1);
+            addToMonth(user, month, amount, 1);
+            return true;
+        }
+        
+        if (categoryTotalRepository.applyDelta(user.getId(), contribution.category(), amount, sign) == 0
+                || monthlyTotalRepository.applyDelta(user.getId(), month.year(), month.month(),
+                        month.category(), month.paymentMethod(), amount, sign) == 0) {
+            return false;
+        }
+        categoryTotalRepository.deleteEmpty(user.getId());
+        monthlyTotalRepository.deleteEmpty(user.getId());
+        return true;
+    }
+    
+    /**
+     * Applies a net category delta; a row missing for a negative delta means the aggregates are out of date
+     * 
+     * @return false if a rebuild is needed
+     */
+    private boolean addToCategory(User user, String category, MinorUnits.Total delta) {
+        if (delta.getCount() == 0 && delta.getAmount() == 0) {
+            return true;
+        }
+        if (delta.getCount() > 0) {
+            addToCategory(user, category, delta.getDecimalAmount(), delta.getCount());
+            return true;
+        }
+        return categoryTotalRepository.applyDelta(user.getId(), category, delta.getDecimalAmount(),
+                delta.getCount()) > 0;
+    }
+    
+    /**
+     * Applies a net monthly delta; a row missing for a negative delta means the aggregates are out of date
+     * 
+     * @return false if a rebuild is needed
+     */
+    private boolean addToMonth(User user, MonthKey month, MinorUnits.Total delta) {
+        if (delta.getCount() == 0 && delta.getAmount() == 0) {
+            return true;
+        }
+        if (delta.getCount() > 0) {
+            addToMonth(user, month, delta.getDecimalAmount(), delta.getCount());
+            return true;
+        }
+        return monthlyTotalRepository.applyDelta(user.getId(), month.year(), month.month(), month.category(),
+                month.paymentMethod(), delta.getDecimalAmount(), delta.getCount()) > 0;
+    }
+    
+    /**
+     * The cash or UPI total a contribution counts towards
+     */
+    private static MinorUnits.Total paymentMethodTotal(Contribution contribution, MinorUnits.Total cash,
+                                                       MinorUnits.Total upi) {
+        return contribution.paymentMethod() == PaymentMethod.CASH ? cash : upi;
+    }
+    
+    /**
+     * Increments a category total, creating the row on the category's first expense
+     */
+    private void addToCategory(User user, String category, BigDecimal amount, long count) {
+        if (categoryTotalRepository.applyDelta(user.getId(), category, amount, count) == 0) {
+            UserCategoryTotal total = categoryTotalRepository.save(
+                    new UserCategoryTotal(user.getId(), category, amount, count));
+            entityManager.flush();
+            entityManager.detach(total);
+        }
+    }
+    
+    /**
+     * Increments a monthly rollup, creating the row on its first expense
+     */
+    private void addToMonth(User user, MonthKey month, BigDecimal amount, long count) {
+        if (monthlyTotalRepository.applyDelta(user.getId(), month.year(), month.month(),
+                month.category(), month.paymentMethod(), amount, count) == 0) {
+            UserMonthlyTotal total = monthlyTotalRepository.save(new UserMonthlyTotal(user.getId(),
+                    month.year(), month.month(), month.category(), month.paymentMethod(), amount, count));
+            entityManager.flush();
+            entityManager.detach(total);
+        }
+    }
+    
+    /**
+     * Identifies one monthly rollup row of a user
+     */
+    private record MonthKey(int year, int month, String category, PaymentMethod paymentMethod) {
+        
+        static MonthKey of(Contribution contribution) {
+            return new MonthKey(contribution.expenseDate().getYear(), contribution.expenseDate().getMonthValue(),
+                    contribution.category(), contribution.paymentMethod());
+        }
+        
+        static MonthKey of(UserMonthlyTotal total) {
+            return new MonthKey(total.getExpenseYear(), total.getExpenseMonth(),
+                    total.getCategory(), total.getPaymentMethod());
+        }
+    }
+    
+    private UserExpenseSummary computeSummary(User user) {
+        UserExpenseSummary summary = new UserExpenseSummary(user.getId());
+        long totalAmount = 0;
+        for (PaymentMethodTotalProjection total : expenseRepository.getPaymentMethodTotalsByUser(user)) {
+            totalAmount = MinorUnits.add(totalAmount, MinorUnits.of(total.getTotalAmount()));
+            summary.setTransactionCount(summary.getTransactionCount() + total.getTransactionCount());
+            if (total.getPaymentMethod() == PaymentMethod.CASH) {
+                summary.setCashAmount(total.getTotalAmount());
+                summary.setCashCount(total.getTransactionCount());
+            } else if (total.getPaymentMethod() == PaymentMethod.UPI) {
+                summary.setUpiAmount(total.getTotalAmount());
+                summary.setUpiCount(total.getTransactionCount());
+            }
+        }
+        summary.setTotalAmount(MinorUnits.toDecimal(totalAmount));
+        return summary;
+    }
+    
+    private List<UserCategoryTotal> computeCategoryTotals(User user) {
+        List<UserCategoryTotal> totals = new ArrayList<>();
+        for (CategoryTotalProjection total : expenseRepository.getCategoryTotalsByUser(user)) {
+            totals.add(new UserCategoryTotal(user.getId(), total.getCategory(),
+                    total.getTotalAmount(), total.getTransactionCount()));
+        }
+        return totals;
+    }
+    
+    private List<UserMonthlyTotal> computeMonthlyTotals(User user) {
+        List<UserMonthlyTotal> totals = new ArrayList<>();
+        for (MonthlyTotalProjection total : expenseRepository.getMonthlyTotalsByUser(user)) {
+            totals.add(new UserMonthlyTotal(user.getId(), total.getYear(), total.getMonth(), total.getCategory(),
+                    total.getPaymentMethod(), total.getTotalAmount(), total.getTransactionCount()));
+        }
+        return totals;
+    }
+    
+    private ExpenseSummaryDTO toDto(UserExpenseSummary summary, List<UserCategoryTotal> categoryTotals) {
+        Map<String, BigDecimal> categories = new HashMap<>();
+        for (UserCategoryTotal total : categoryTotals) {
+            categories.put(total.getCategory(), total.getTotalAmount());
+        }
+        
+        Map<String, BigDecimal> paymentMethods = new HashMap<>();
+        if (summary.getCashCount() > 0) {
+            paymentMethods.put(PaymentMethod.CASH.toString(), summary.getCashAmount());
+        }
+        if (summary.getUpiCount() > 0) {
+            paymentMethods.put(PaymentMethod.UPI.toString(), summary.getUpiAmount());
+        }
+        
+        ExpenseSummaryDTO dto = new ExpenseSummaryDTO(summary.getTotalAmount(), summary.getCashAmount(),
+                summary.getUpiAmount(), summary.getTransactionCount());
+        dto.setCategoryTotals(categories);
+        dto.setPaymentMethodTotals(paymentMethods);
+        return dto;
+    }
+    
+    private static void compare(List<String> problems, String field, Object stored, Object actual) {
+        boolean equal = stored instanceof BigDecimal && actual instanceof BigDecimal
+                ? ((BigDecimal) stored).compareTo((BigDecimal) actual) == 0
+                : Objects.equals(stored, actual);
+        if (!equal) {
+            problems.add(field + ": stored " + stored + ", actual " + actual);
+        }
+    }
+}
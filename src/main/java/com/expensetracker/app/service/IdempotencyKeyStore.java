@@ -0,0 +1,174 @@
+package com.expensetracker.app.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.app.model.Expense;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Bounded store of the expenses created under each client-supplied
+ * {@code Idempotency-Key}, scoped to the user. A repeated key returns the
+ * expense created by the first request instead of creating another; entries
+ * expire after the configured TTL or are evicted beyond the maximum size.
+ * <p>
+ * Each key remembers a hash of the request it was first sent with, and a
+ * request with a different body under the same key is rejected rather than
+ * answered with the first request's expense. A request still in progress is
+ * shared with concurrent requests under the same key, which wait for it up to
+ * a timeout and are then told to retry later. Failed requests are forgotten,
+ * so the client may retry them with the same key.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    /** Longest key accepted, as for the transaction IDs it usually carries */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<Key, Entry> cache;
+    private final long waitNanos;
+
+    @Autowired
+    public IdempotencyKeyStore(@Value("${app.expenses.idempotency.max-size:10000}") long maxSize,
+                               @Value("${app.expenses.idempotency.ttl:PT24H}") Duration ttl,
+                               @Value("${app.expenses.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this(maxSize, ttl, waitTimeout, Ticker.systemTicker());
+    }
+
+    IdempotencyKeyStore(long maxSize, Duration ttl, Duration waitTimeout, Ticker ticker) {
+        this.waitNanos = waitTimeout.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * A key as sent by one user
+     */
+    private record Key(Long userId, String key) {
+    }
+
+    /**
+     * The hash of the first request sent with a key and its outcome
+     */
+    private record Entry(byte[] requestHash, CompletableFuture<Expense> expense) {
+    }
+
+    /**
+     * Thrown when a key is sent again with a different request than the one
+     * it was first used for
+     */
+    public static class KeyReusedException extends RuntimeException {
+        KeyReusedException(String key) {
+            super("Idempotency-Key '" + key + "' was used for a different request");
+        }
+    }
+
+    /**
+     * Thrown when the first request with a key is still in progress after
+     * waiting for it
+     */
+    public static class InProgressException extends RuntimeException {
+        InProgressException(String key) {
+            super("A request with Idempotency-Key '" + key + "' is still in progress");
+        }
+    }
+
+    /**
+     * The outcome of a request under an idempotency key
+     *
+     * @param expense the expense created by the first request with the key
+     * @param replayed whether it was created by an earlier request
+     */
+    public record Result(Expense expense, boolean replayed) {
+    }
+
+    /**
+     * Create an expense once per key
+     *
+     * @param userId the user sending the key
+     * @param key the Idempotency-Key header value
+     * @param request the request content, compared with that of the first request with the key
+     * @param create creates the expense; called only if no request with the key has succeeded
+     * @return the expense created for the key, now or by an earlier request
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws KeyReusedException if the key was first sent with a different request
+     * @throws InProgressException if the first request with the key did not finish in time
+     */
+    public Result createOnce(Long userId, String key, byte[] request, Supplier<Expense> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Key entryKey = new Key(userId, key);
+        Entry pending = new Entry(sha256(request), new CompletableFuture<>());
+        Entry existing = cache.asMap().putIfAbsent(entryKey, pending);
+        if (existing != null) {
+            if (!MessageDigest.isEqual(existing.requestHash(), pending.requestHash())) {
+                throw new KeyReusedException(key);
+            }
+            return new Result(await(existing.expense(), key), true);
+        }
+
+        try {
+            Expense expense = create.get();
+            pending.expense().complete(expense);
+            return new Result(expense, false);
+        } catch (RuntimeException e) {
+            cache.asMap().remove(entryKey, pending);
+            pending.expense().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Expense await(CompletableFuture<Expense> expense, String key) {
+        try {
+            return expense.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // The first request failed; this one fails the same way
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new InProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InProgressException(key);
+        }
+    }
+
+    private static byte[] sha256(byte[] request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(request);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Get the number of keys currently held
+     *
+     * @return the approximate number of entries
+     */
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,116 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.UserMonthlyTotalRepository;
+
+/**
+ * Service answering the report endpoints for one user from the persisted
+ * aggregates maintained by {@link ExpenseSummaryService}. No report reads
+ * the expenses table; aggregates missing for a user are built on first use.
+ * 
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Service
+@Transactional
+public class ReportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+    
+    private final ExpenseSummaryService expenseSummaryService;
+    private final UserMonthlyTotalRepository monthlyTotalRepository;
+    
+    @Autowired
+    public ReportService(ExpenseSummaryService expenseSummaryService,
+                         UserMonthlyTotalRepository monthlyTotalRepository) {
+        this.expenseSummaryService = expenseSummaryService;
+        this.monthlyTotalRepository = monthlyTotalRepository;
+    }
+    
+    /**
+     * Gets total amount and transaction count per month, newest first
+     *
+     * @param user the user
+     * @return list of [year, month, total amount, transaction count]
+     */
+    public List<Object[]> getMonthlySummary(User user) {
+        logger.debug("Generating monthly summary for user {}", user.getUsername());
+        expenseSummaryService.ensureBuilt(user);
+        return monthlyTotalRepository.getMonthlySummary(user.getId());
+    }
+    
+    /**
+     * Gets total amount and transaction count per category for one month, largest first
+     *
+     * @param user the user
+     * @param year the year
+     * @param month the month (1-12)
+     * @return list of [category, total amount, transaction count]
+     * @throws IllegalArgumentException if the month is out of range
+     */
+    public List<Object[]> getMonthlyCategorySummary(User user, int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+        logger.debug("Generating category summary of {}-{} for user {}", year, month, user.getUsername());
+        expenseSummaryService.ensureBuilt(user);
+        return monthlyTotalRepository.getCategorySummaryForMonth(user.getId(), year, month);
+    }
+    
+    /**
+     * Gets total amount per category, largest first
+     *
+     * @param user the user
+     * @return list of [category, total amount]
+     */
+    public List<Object[]> getCategoryTotals(User user) {
+        return sortedByAmount(expenseSummaryService.getSummary(user).getCategoryTotals());
+    }
+    
+    /**
+     * Gets total amount per payment method, largest first
+     *
+     * @param user the user
+     * @return list of [payment method, total amount]
+     */
+    public List<Object[]> getPaymentMethodTotals(User user) {
+        return sortedByAmount(expenseSummaryService.getSummary(user).getPaymentMethodTotals());
+    }
+    
+    /**
+     * Gets total cash and UPI amounts
+     *
+     * @param user the user
+     * @return map with totalCash and totalUpi
+     */
+    public Map<String, Object> getCashUpiTotals(User user) {
+        return cashUpiTotals(expenseSummaryService.getSummary(user));
+    }
+    
+    static Map<String, Object> cashUpiTotals(ExpenseSummaryDTO summary) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalCash", summary.getTotalCashAmount());
+        result.put("totalUpi", summary.getTotalUpiAmount());
+        return result;
+    }
+    
+    static List<Object[]> sortedByAmount(Map<String, BigDecimal> totals) {
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, BigDecimal>comparingByValue(Comparator.reverseOrder()))
+                .map(entry -> new Object[] {entry.getKey(), entry.getValue()})
+                .toList();
+    }
+}
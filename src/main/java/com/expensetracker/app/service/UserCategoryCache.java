@@ -0,0 +1,106 @@
+package com.expensetracker.app.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of each user's distinct expense categories, sorted, as shown
+ * in the category dropdown. Committed expense changes keep it precise: a new
+ * category is added to the cached list, and the list is dropped only when a
+ * category may have lost its last expense. Hits, misses and evictions are
+ * published as the {@code cache.*} meters tagged {@code cache=user-categories}.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Component
+public class UserCategoryCache implements MeterBinder {
+
+    /** Name of the cache in the published meters */
+    public static final String CACHE_NAME = "user-categories";
+
+    private final Cache<Long, List<String>> cache;
+
+    @Autowired
+    public UserCategoryCache(@Value("${app.categories.user-cache.max-size:10000}") long maxSize,
+                             @Value("${app.categories.user-cache.ttl:PT1H}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the sorted categories of a user, loading them on a miss
+     *
+     * @param userId the user ID
+     * @param loader loads the user's distinct categories, in any order
+     * @return the categories, sorted
+     */
+    public List<String> get(Long userId, Supplier<Collection<String>> loader) {
+        return cache.get(userId, id -> sorted(loader.get()));
+    }
+
+    /**
+     * Applies a committed expense change to the cached list of its user
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChange(ExpenseChangeEvent event) {
+        switch (event.getType()) {
+            case CREATED -> added(event.getUserId(), event.getExpense().getCategory());
+            case UPDATED -> {
+                String category = event.getExpense().getCategory();
+                if (category.equals(event.getPreviousCategory())) {
+                    return;
+                }
+                // The previous category may have lost its last expense
+                cache.invalidate(event.getUserId());
+            }
+            case DELETED, BULK_CHANGED -> cache.invalidate(event.getUserId());
+            case SUMMARY_CHANGED -> { }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private void added(Long userId, String category) {
+        // Waits for a load in progress, which may have read the categories before this change
+        cache.asMap().computeIfPresent(userId, (id, categories) -> {
+            if (categories.contains(category)) {
+                return categories;
+            }
+            List<String> updated = new ArrayList<>(categories);
+            updated.add(category);
+            return sorted(updated);
+        });
+    }
+
+    private static List<String> sorted(Collection<String> categories) {
+        List<String> sorted = new ArrayList<>(categories);
+        Collections.sort(sorted);
+        return List.copyOf(sorted);
+    }
+}
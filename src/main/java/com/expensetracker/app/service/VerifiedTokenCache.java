@@ -0,0 +1,122 @@
+package com.expensetracker.app.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of JWTs whose signature has already been verified, mapped to
+ * their subject. Each entry expires at the token's own {@code exp} claim, or
+ * after the configured maximum TTL if that comes first, so a cached token is
+ * never accepted past its expiry. Hits, misses and evictions are published
+ * as the {@code cache.*} meters tagged {@code cache=verified-tokens}.
+ *
+ * @author Expense Tracker Team
+ * @version 1.0
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    /** Name of the cache in the published meters */
+    public static final String CACHE_NAME = "verified-tokens";
+
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${app.jwt.token-cache.max-size:10000}") long maxSize,
+                              @Value("${app.jwt.token-cache.max-ttl:PT15M}") Duration maxTtl) {
+        this(maxSize, maxTtl, Runnable::run);
+    }
+
+    VerifiedTokenCache(long maxSize, Duration maxTtl, Executor executor) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl.toNanos()))
+                .executor(executor)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Verified token entry
+     */
+    private record VerifiedToken(String subject, long expiresAtMillis) {
+    }
+
+    /**
+     * Get the subject of a previously verified, unexpired token
+     *
+     * @param token the raw JWT
+     * @return the subject, or null on a miss
+     */
+    public String getSubject(String token) {
+        VerifiedToken entry = cache.getIfPresent(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            cache.invalidate(token);
+            return null;
+        }
+        return entry.subject();
+    }
+
+    /**
+     * Remember a token whose signature and expiry have just been verified
+     *
+     * @param token the raw JWT
+     * @param subject the token subject
+     * @param expiration the token expiry, tokens without one are not cached
+     */
+    public void put(String token, String subject, Date expiration) {
+        if (subject == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(token, new VerifiedToken(subject, expiration.getTime()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Expires each entry at the token's expiry, capped by the maximum TTL
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final long maxTtlNanos;
+
+        TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingNanos = Duration.ofMillis(value.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(remainingNanos, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -5,16 +5,34 @@
 
 // Global variables
 let currentEditingId = null;
+let currentEditingVersion = null;
 let allExpenses = [];
 let currentView = 'card'; // 'card' or 'table'
 let filtersVisible = false;
 let isValidatingToken = false;
 let isInitialized = false;
 let isRedirecting = false;
+let streamConnected = false;
+let streamRetryDelay = 1000;
 
 // API Base URL
 const API_BASE_URL = '/api/expenses';
 
+// Expenses returned with the initial page data; larger lists are loaded in full afterwards
+const BOOTSTRAP_PAGE_SIZE = 200;
+
+// Predefined categories with icons
+const PREDEFINED_CATEGORIES = [
+    'Food',
+    'Travel',
+    'Utilities',
+    'Entertainment',
+    'Healthcare',
+    'Shopping',
+    'Education',
+    'Miscellaneous'
+];
+
 // Get authentication token
 function getAuthToken() {
     // First try localStorage
@@ -174,31 +192,21 @@ async function initializeApp() {
         // Setup event listeners first
         setupEventListeners();
 
-        // Load data sequentially to avoid race conditions
-        try {
-            await loadCategories();
-        } catch (error) {
-            console.warn('Failed to load categories:', error);
-        }
-
-        try {
-            await loadBudget();
-        } catch (error) {
-            console.warn('Failed to load budget:', error);
-        }
-
         // Initialize view preference
         const savedView = localStorage.getItem('preferredView') || 'card';
         switchView(savedView);
 
-        // Load expenses
+        // Load expenses, summary, budget and categories in one request
         try {
-            await loadExpenses();
+            await loadBootstrap();
         } catch (error) {
             console.warn('Failed to load expenses:', error);
             showToast('Failed to load expenses. Please refresh the page.', 'warning');
         }
 
+        // Keep the list and budget current from pushed changes
+        connectExpenseStream();
+
         // Add smooth scrolling to all internal links
         document.querySelectorAll('a[href^="#"]').forEach(anchor => {
             anchor.addEventListener('click', function (e) {
@@ -316,6 +324,10 @@ async function handleFormSubmit(event) {
         payerName: formData.get('payerName') || null,
         notes: formData.get('notes') || null
     };
+    if (currentEditingId) {
+        // The server answers 409 if the expense changed since it was loaded for editing
+        expenseData.version = currentEditingVersion;
+    }
     
     try {
         showLoading(true);
@@ -340,6 +352,14 @@ async function handleFormSubmit(event) {
             showToast(currentEditingId ? 'Expense updated successfully!' : 'Expense added successfully!', 'success');
             expenseForm.reset();
             handleFormReset();
+            // The stream delivers the change when connected
+            if (!streamConnected) {
+                loadExpenses();
+            }
+        } else if (response.status === 409 && currentEditingId) {
+            showToast('This expense was changed elsewhere. Reload it and edit again.', 'warning');
+            expenseForm.reset();
+            handleFormReset();
             loadExpenses();
         } else {
             throw new Error('Failed to save expense');
@@ -380,6 +400,7 @@ function handlePaymentMethodChange() {
  */
 function handleFormReset() {
     currentEditingId = null;
+    currentEditingVersion = null;
     document.getElementById('formTitle').innerHTML = '<i class="fas fa-plus-circle"></i> Add New Expense';
     document.getElementById('submitBtnText').textContent = 'Add Expense';
     document.getElementById('cancelEditBtn').style.display = 'none';
@@ -476,6 +497,46 @@ async function loadExpenses() {
     }
 }
 
+/**
+ * Load the initial page data from the bootstrap endpoint, falling back to
+ * the separate requests if it fails
+ */
+async function loadBootstrap() {
+    let bootstrap;
+    try {
+        showLoading(true);
+
+        const response = await fetch(`/api/bootstrap?size=${BOOTSTRAP_PAGE_SIZE}`, {
+            headers: getAuthHeaders()
+        });
+        if (!response.ok) {
+            throw new Error(`Failed to load bootstrap data: ${response.status}`);
+        }
+        bootstrap = await response.json();
+    } catch (error) {
+        console.warn('Bootstrap failed, loading data separately:', error);
+        await loadCategories();
+        await loadBudget();
+        await loadExpenses();
+        return;
+    } finally {
+        showLoading(false);
+    }
+
+    updateCategoryOptions([...new Set([...PREDEFINED_CATEGORIES, ...bootstrap.categories])]);
+    localStorage.setItem('userBudget', bootstrap.budget.toString());
+    updateBudgetFromSummary(bootstrap.summary);
+
+    allExpenses = bootstrap.expenses.content;
+    displayExpenses(allExpenses);
+    updateExpenseStats(allExpenses);
+
+    if (bootstrap.expenses.hasMore) {
+        // Show the first page right away, then the full list
+        loadExpenses();
+    }
+}
+
 /**
  * Display expenses in the selected view
  */
@@ -697,6 +758,131 @@ async function loadSummaryForBudget() {
     }
 }
 
+/**
+ * Open the live stream of expense changes. EventSource cannot send the
+ * Authorization header, so the stream is read with fetch. While connected,
+ * saves and deletes rely on it instead of reloading the list.
+ */
+async function connectExpenseStream() {
+    const reconnecting = streamRetryDelay > 1000;
+    try {
+        const response = await fetch(`${API_BASE_URL}/stream`, {
+            headers: {
+                'Authorization': `Bearer ${getAuthToken()}`,
+                'Accept': 'text/event-stream'
+            }
+        });
+        if (response.status === 401 || response.status === 403 || response.status === 429) {
+            // Not retried: the page keeps reloading after changes instead
+            console.warn('Expense stream unavailable:', response.status);
+            return;
+        }
+        if (!response.ok || !response.body) {
+            throw new Error(`Expense stream failed: ${response.status}`);
+        }
+
+        streamConnected = true;
+        streamRetryDelay = 1000;
+        if (reconnecting) {
+            // Changes made while disconnected were missed
+            refreshExpenseList();
+        }
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        while (true) {
+            const { value, done } = await reader.read();
+            if (done) {
+                break;
+            }
+            buffer += value.replace(/\r\n?/g, '\n');
+            let boundary;
+            while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                handleStreamEvent(buffer.slice(0, boundary));
+                buffer = buffer.slice(boundary + 2);
+            }
+        }
+    } catch (error) {
+        console.warn('Expense stream disconnected:', error);
+    }
+
+    streamConnected = false;
+    if (!isRedirecting) {
+        setTimeout(connectExpenseStream, streamRetryDelay);
+        streamRetryDelay = Math.min(streamRetryDelay * 2, 30000);
+    }
+}
+
+/**
+ * Handle one event of the expense stream
+ */
+function handleStreamEvent(block) {
+    let name = 'message';
+    const data = [];
+    block.split('\n').forEach(line => {
+        if (line.startsWith('event:')) {
+            name = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+            data.push(line.slice(5));
+        }
+    });
+    if (data.length === 0) {
+        return; // Heartbeat comment
+    }
+
+    const payload = JSON.parse(data.join('\n'));
+    switch (name) {
+        case 'expense-created':
+        case 'expense-updated':
+            allExpenses = allExpenses.filter(expense => expense.id !== payload.id);
+            allExpenses.push(payload);
+            allExpenses.sort((a, b) => b.expenseDate.localeCompare(a.expenseDate) || b.id - a.id);
+            showExpenseChanges();
+            break;
+        case 'expense-deleted':
+            allExpenses = allExpenses.filter(expense => expense.id !== payload.id);
+            showExpenseChanges();
+            break;
+        case 'summary':
+            updateBudgetFromSummary(payload);
+            break;
+        case 'resync':
+            refreshExpenseList();
+            break;
+    }
+}
+
+/**
+ * Show the expense list after a pushed change
+ */
+function showExpenseChanges() {
+    if (hasActiveFilters()) {
+        applyFilters();
+    } else {
+        displayExpenses(allExpenses);
+        updateExpenseStats(allExpenses);
+    }
+}
+
+/**
+ * Reload the expense list, keeping any applied filters
+ */
+function refreshExpenseList() {
+    if (hasActiveFilters()) {
+        applyFilters();
+    } else {
+        loadExpenses();
+    }
+}
+
+/**
+ * Check whether any list filter is set
+ */
+function hasActiveFilters() {
+    return ['filterCategory', 'filterPaymentMethod', 'filterStartDate', 'filterEndDate']
+        .some(id => document.getElementById(id)?.value);
+}
+
 /**
  * Toggle filters panel
  */
@@ -799,6 +985,7 @@ async function editExpense(id) {
  */
 function populateFormForEdit(expense) {
     currentEditingId = expense.id;
+    currentEditingVersion = expense.version;
 
     document.getElementById('amount').value = expense.amount;
     document.getElementById('category').value = expense.category;
@@ -853,6 +1040,11 @@ async function deleteExpense(id) {
 
         if (response.ok) {
             showToast('Expense deleted successfully!', 'success');
+            if (!streamConnected) {
+                loadExpenses();
+            }
+        } else if (response.status === 409) {
+            showToast('This expense was changed elsewhere. Please try again.', 'warning');
             loadExpenses();
         } else {
             throw new Error('Failed to delete expense');
@@ -1174,8 +1366,10 @@ async function handleBudgetFormSubmit(event) {
         if (response.ok) {
             showToast('Budget updated successfully!', 'success');
             closeBudgetModal();
-            // Reload expenses to update budget display
-            loadExpenses();
+            // Reload expenses to update budget display, unless the stream sends the summary
+            if (!streamConnected) {
+                loadExpenses();
+            }
         } else {
             throw new Error('Failed to update budget');
         }
@@ -1210,8 +1404,10 @@ async function clearBudget() {
         if (response.ok) {
             showToast('Budget cleared successfully!', 'success');
             closeBudgetModal();
-            // Reload expenses to update budget display
-            loadExpenses();
+            // Reload expenses to update budget display, unless the stream sends the summary
+            if (!streamConnected) {
+                loadExpenses();
+            }
         } else {
             throw new Error('Failed to clear budget');
         }
@@ -1227,17 +1423,7 @@ async function clearBudget() {
  * Load categories from API and predefined list
  */
 async function loadCategories() {
-    // Predefined categories with icons
-    const predefinedCategories = [
-        'Food',
-        'Travel',
-        'Utilities',
-        'Entertainment',
-        'Healthcare',
-        'Shopping',
-        'Education',
-        'Miscellaneous'
-    ];
+    const predefinedCategories = PREDEFINED_CATEGORIES;
 
     try {
         // First, load predefined categories
@@ -0,0 +1,65 @@
+package com.expensetracker.app.config;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BulkheadDataSource
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+    
+    @Mock
+    private DataSource targetDataSource;
+    
+    private BulkheadDataSource dataSource;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new BulkheadDataSource(targetDataSource, 2, Duration.ofMillis(50));
+    }
+    
+    @Test
+    void testGetConnection_FailsFastWhenFull() throws Exception {
+        // Given
+        dataSource.getConnection();
+        dataSource.getConnection();
+        
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        assertEquals(2, dataSource.getActiveConnections());
+        verify(targetDataSource, times(2)).getConnection();
+    }
+    
+    @Test
+    void testClose_ReleasesPermitOnce() throws Exception {
+        // Given
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+        
+        // When - closing twice must not hand out a third permit
+        first.close();
+        first.close();
+        
+        // Then
+        assertEquals(1, dataSource.getActiveConnections());
+        dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+    }
+}
@@ -0,0 +1,106 @@
+package com.expensetracker.app.config;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Tests for CategoryMigration against a database created before the category
+ * dictionary, started the way the application starts: schema.sql first, then
+ * the migration
+ */
+class CategoryMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("legacy-schema.sql")).execute(dataSource);
+
+        // User 1 is the demo user of the legacy script
+        jdbcTemplate.update("INSERT INTO expenses (user_id, amount, category, expense_date, payment_method) VALUES " +
+                "(1, 10.00, 'Food', DATE '2024-03-01', 'CASH'), " +
+                "(1, 20.00, 'Pets', DATE '2024-03-02', 'CASH'), " +
+                "(1, 30.00, 'Food', DATE '2024-03-03', 'CASH')");
+        jdbcTemplate.update("INSERT INTO user_expense_summaries (user_id, total_amount) VALUES (1, 60.00)");
+        jdbcTemplate.update("INSERT INTO user_category_totals (user_id, category, total_amount, transaction_count) " +
+                "VALUES (1, 'Food', 40.00, 2)");
+        jdbcTemplate.update("INSERT INTO user_monthly_totals (user_id, expense_year, expense_month, category, " +
+                "payment_method, total_amount, transaction_count) VALUES (1, 2024, 3, 'Food', 'CASH', 40.00, 2)");
+    }
+
+    @Test
+    void testMigrate_MapsExpenseNamesToIds() {
+        // When
+        startUp();
+
+        // Then - known names keep their id, unknown names are added
+        List<String> categories = jdbcTemplate.queryForList(
+                "SELECT c.name FROM expenses e JOIN categories c ON c.id = e.category_id ORDER BY e.id", String.class);
+        assertEquals(List.of("Food", "Pets", "Food"), categories);
+        assertEquals(1, count("SELECT COUNT(*) FROM categories WHERE name = 'Pets'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE COLUMN_NAME = 'CATEGORY'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE INDEX_NAME = 'IDX_EXPENSES_USER_CATEGORY_DATE'"));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO expenses (user_id, amount, category_id, expense_date, payment_method) " +
+                "VALUES (1, 5.00, 999, DATE '2024-03-04', 'CASH')"));
+    }
+
+    @Test
+    void testMigrate_EmptiesAggregatesForRebuild() {
+        // When
+        startUp();
+
+        // Then
+        assertEquals(0, count("SELECT COUNT(*) FROM user_expense_summaries"));
+        assertEquals(0, count("SELECT COUNT(*) FROM user_category_totals"));
+        assertEquals(0, count("SELECT COUNT(*) FROM user_monthly_totals"));
+        jdbcTemplate.update("INSERT INTO user_category_totals (user_id, category_id, total_amount, transaction_count) " +
+                "VALUES (1, 1, 40.00, 2)");
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO user_category_totals (user_id, category_id, total_amount, transaction_count) " +
+                "VALUES (1, 1, 10.00, 1)"));
+    }
+
+    @Test
+    void testMigrate_SecondStartLeavesDataAlone() {
+        // Given
+        startUp();
+        jdbcTemplate.update("INSERT INTO user_expense_summaries (user_id, total_amount) VALUES (1, 60.00)");
+        jdbcTemplate.update("INSERT INTO user_monthly_totals (user_id, expense_year, expense_month, category_id, " +
+                "payment_method, total_amount, transaction_count) VALUES (1, 2024, 3, 1, 'CASH', 40.00, 2)");
+
+        // When
+        startUp();
+
+        // Then
+        assertEquals(3, count("SELECT COUNT(*) FROM expenses"));
+        assertEquals(1, count("SELECT COUNT(*) FROM user_expense_summaries"));
+        assertEquals(1, count("SELECT COUNT(*) FROM categories WHERE name = 'Food'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE username = 'demo'"));
+    }
+
+    private void startUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        new CategoryMigration(dataSource).migrate();
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,226 @@
+package com.expensetracker.app.config;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.expensetracker.app.dto.LoginRequest;
+import com.expensetracker.app.dto.RegisterRequest;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.UserRepository;
+import com.expensetracker.app.service.ApplicationMetrics;
+import com.expensetracker.app.service.AuthService;
+import com.expensetracker.app.service.AuthenticatedUserCache;
+import com.expensetracker.app.service.UserCategoryCache;
+import com.expensetracker.app.service.VerifiedTokenCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration tests for the Actuator endpoints and the application meters.
+ * Requests commit their data, as the CSV export streams on another thread.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = authService.register(new RegisterRequest("metricsuser", "metrics@example.com", "password")).getToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("metricsuser").ifPresent(user -> {
+            expenseRepository.deleteAllInBatch(expenseRepository.findByUser(user));
+            userRepository.delete(user);
+        });
+    }
+
+    @Test
+    void testHealth_PublicAndUp() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void testPrometheus_RequiresScrapeCredentials() throws Exception {
+        // When & Then - neither anonymous callers nor application users may scrape
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testCounters_CountCreatedExportedAndFailedAuth() throws Exception {
+        // Given
+        double created = count(ApplicationMetrics.EXPENSES_CREATED, "source", "single");
+        double exported = count(ApplicationMetrics.CSV_ROWS_EXPORTED, null, null);
+        double badCredentials = count(ApplicationMetrics.AUTH_FAILURES, "reason", "bad_credentials");
+        double invalidTokens = count(ApplicationMetrics.AUTH_FAILURES, "reason", "invalid_token");
+
+        // When
+        Expense expense = new Expense(new BigDecimal("12.50"), "Food", LocalDate.now(), PaymentMethod.CASH, null);
+        mockMvc.perform(post("/api/expenses").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(expense)))
+                .andExpect(status().isCreated());
+        MvcResult export = mockMvc.perform(get("/api/expenses/export/csv").header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("metricsuser", "wrong"))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/expenses").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isForbidden());
+
+        // Then
+        assertEquals(created + 1, count(ApplicationMetrics.EXPENSES_CREATED, "source", "single"));
+        assertEquals(exported + 1, count(ApplicationMetrics.CSV_ROWS_EXPORTED, null, null));
+        assertEquals(badCredentials + 1, count(ApplicationMetrics.AUTH_FAILURES, "reason", "bad_credentials"));
+        assertEquals(invalidTokens + 1, count(ApplicationMetrics.AUTH_FAILURES, "reason", "invalid_token"));
+    }
+
+    @Test
+    void testPrometheus_PublishesLatencyHistogramsAndRuntimeMeters() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/expenses").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // When & Then - scraped with the scrape user's credentials
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "test-scrape-password")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/expenses\"")))
+                .andExpect(content().string(containsString("expenses_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getExpenseList\"")))
+                .andExpect(content().string(containsString("expenses_created_total{")))
+                .andExpect(content().string(containsString("auth_failures_total{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("jvm_gc_memory_allocated_bytes_total{")));
+    }
+
+    @Test
+    void testCacheMeters_PublishedForAuthCaches() throws Exception {
+        // Given
+        double tokenHits = cacheGets(VerifiedTokenCache.CACHE_NAME, "hit");
+        double userHits = cacheGets(AuthenticatedUserCache.CACHE_NAME, "hit");
+
+        // When - the second request finds the token verified and the user cached already
+        mockMvc.perform(get("/api/expenses").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Then
+        assertTrue(cacheGets(VerifiedTokenCache.CACHE_NAME, "hit") > tokenHits);
+        assertTrue(cacheGets(AuthenticatedUserCache.CACHE_NAME, "hit") > userHits);
+    }
+
+    @Test
+    void testCacheMeters_PublishedForCategoryCache() throws Exception {
+        // Given
+        double hits = cacheGets(UserCategoryCache.CACHE_NAME, "hit");
+
+        // When - the second request finds the user's categories cached
+        mockMvc.perform(get("/api/expenses/categories").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/categories").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Then
+        assertTrue(cacheGets(UserCategoryCache.CACHE_NAME, "hit") > hits);
+    }
+
+    @Test
+    void testCacheMeters_PublishedForEntityCacheRegions() throws Exception {
+        // Given
+        double hits = meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", SecondLevelCacheConfig.USERS_REGION).tag("result", "hit").functionCounter().count();
+
+        // When - the user is loaded by ID twice, the second time from the cache
+        Long userId = userRepository.findByUsername("metricsuser").orElseThrow().getId();
+        userRepository.findById(userId).orElseThrow();
+        userRepository.findById(userId).orElseThrow();
+
+        // Then
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", SecondLevelCacheConfig.USERS_REGION).tag("result", "hit").functionCounter().count() > hits);
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString(
+                (username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private double count(String name, String tagKey, String tagValue) {
+        var search = meterRegistry.find(name);
+        if (tagKey != null) {
+            search = search.tag(tagKey, tagValue);
+        }
+        return search.counter().count();
+    }
+}
@@ -0,0 +1,65 @@
+package com.expensetracker.app.config;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Tests for MonthlyTotalsMigration, started the way the application starts:
+ * schema.sql first, then the migration
+ */
+class MonthlyTotalsMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:rollups-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        // User 1 is the demo user; its summary was built before the rollups
+        jdbcTemplate.update("INSERT INTO user_expense_summaries (user_id, total_amount) VALUES (1, 60.00)");
+    }
+
+    @Test
+    void testMigrate_DeletesSummariesWithoutRollups() {
+        // When
+        new MonthlyTotalsMigration(dataSource).migrate();
+
+        // Then
+        assertEquals(0, count("SELECT COUNT(*) FROM user_expense_summaries"));
+        assertEquals(1, count("SELECT COUNT(*) FROM schema_migrations WHERE name = 'monthly-totals'"));
+    }
+
+    @Test
+    void testMigrate_SecondStartLeavesSummariesAlone() {
+        // Given - migrated, then a user deleted every expense, leaving a summary without rollups
+        startUp();
+        jdbcTemplate.update("INSERT INTO user_expense_summaries (user_id, total_amount) VALUES (1, 0.00)");
+
+        // When
+        startUp();
+
+        // Then
+        assertEquals(1, count("SELECT COUNT(*) FROM user_expense_summaries"));
+        assertEquals(1, count("SELECT COUNT(*) FROM schema_migrations"));
+    }
+
+    private void startUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        new MonthlyTotalsMigration(dataSource).migrate();
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.expensetracker.app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions on the JDBC statements executed on the current thread since the
+ * last {@link #reset()}, as counted by the statement accounting DataSource.
+ * MockMvc runs requests on the test thread, so a test can pin the statements
+ * an endpoint issues:
+ *
+ * <pre>
+ * QueryCountAssertions.reset();
+ * mockMvc.perform(get("/api/expenses")).andExpect(status().isOk());
+ * QueryCountAssertions.assertMaxQueries(2);
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+    private static final ThreadLocal<RequestAccounting> SCOPE = new ThreadLocal<>();
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Start counting afresh on the current thread
+     */
+    public static void reset() {
+        RequestAccounting previous = SCOPE.get();
+        if (previous != null) {
+            previous.stop();
+        }
+        SCOPE.set(RequestAccounting.start());
+    }
+
+    /**
+     * @return statements executed on the current thread since {@link #reset()}
+     */
+    public static long queryCount() {
+        RequestAccounting accounting = SCOPE.get();
+        if (accounting == null) {
+            throw new IllegalStateException("QueryCountAssertions.reset() was not called on this thread");
+        }
+        return accounting.getStatements();
+    }
+
+    /**
+     * Assert that at most {@code max} statements were executed since {@link #reset()}
+     */
+    public static void assertMaxQueries(long max) {
+        long count = queryCount();
+        assertTrue(count <= max, "Expected at most " + max + " statements but " + count + " were executed");
+    }
+
+    /**
+     * Assert that exactly {@code expected} statements were executed since {@link #reset()}
+     */
+    public static void assertQueryCount(long expected) {
+        assertEquals(expected, queryCount(), "Statements executed");
+    }
+}
@@ -0,0 +1,126 @@
+package com.expensetracker.app.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Unit tests for RequestAccountingFilter
+ */
+class RequestAccountingFilterTest {
+
+    private final RequestAccountingFilter filter = new RequestAccountingFilter(10, Duration.ofSeconds(1), true, 16);
+
+    @Test
+    void testServerTiming_SentWithBufferedBody() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When - a body within the buffer limit, serialized after the header would normally be due
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/expenses"), response, chain((request, out) -> {
+            RequestAccounting.serializationStarted();
+            out.getOutputStream().write("[1,2]".getBytes(StandardCharsets.UTF_8));
+            out.getOutputStream().flush();
+            assertFalse(out.isCommitted(), "Body committed before the timings were known");
+        }));
+
+        // Then
+        String serverTiming = response.getHeader(RequestAccountingFilter.SERVER_TIMING);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("auth;dur="), serverTiming);
+        assertTrue(serverTiming.contains("db;dur=") && serverTiming.contains("desc=\"0 statements, 0 rows\""), serverTiming);
+        assertTrue(serverTiming.contains("ser;dur=") && serverTiming.contains("total;dur="), serverTiming);
+        assertEquals("[1,2]", response.getContentAsString());
+    }
+
+    @Test
+    void testServerTiming_LargeBodyStreamsPastBuffer() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void setHeader(String name, String value) {
+                assertFalse(isCommitted(), name + " set after the response was committed");
+                super.setHeader(name, value);
+            }
+        };
+        String body = "x".repeat(100);
+
+        // When - the body is larger than the 16 byte buffer, written through a writer
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/expenses"), response, chain((request, out) -> {
+            out.setCharacterEncoding("UTF-8");
+            out.getWriter().write(body.substring(0, 10));
+            out.getWriter().flush();
+            out.getWriter().write(body.substring(10));
+            out.getWriter().flush();
+        }));
+
+        // Then - the header precedes the body, which arrives whole and in order
+        assertNotNull(response.getHeader(RequestAccountingFilter.SERVER_TIMING));
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    void testSendError_DiscardsBufferedBody() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/expenses"), response, chain((request, out) -> {
+            out.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+            out.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }));
+
+        // Then
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, response.getStatus());
+        assertEquals("", response.getContentAsString());
+        assertNotNull(response.getHeader(RequestAccountingFilter.SERVER_TIMING));
+    }
+
+    @Test
+    void testServerTimingDisabled_NoHeaderAndBodyUnbuffered() throws Exception {
+        // Given
+        RequestAccountingFilter quiet = new RequestAccountingFilter(10, Duration.ofSeconds(1), false, 16);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        quiet.doFilter(new MockHttpServletRequest("GET", "/api/expenses"), response, chain((request, out) -> {
+            out.getOutputStream().write("[1,2]".getBytes(StandardCharsets.UTF_8));
+            out.getOutputStream().flush();
+            assertTrue(out.isCommitted(), "Body buffered although no header follows it");
+        }));
+
+        // Then
+        assertNull(response.getHeader(RequestAccountingFilter.SERVER_TIMING));
+        assertEquals("[1,2]", response.getContentAsString());
+    }
+
+    private static MockFilterChain chain(Handler handler) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                handler.handle(request, response);
+            }
+        });
+    }
+
+    /**
+     * Writes a response as a servlet would
+     */
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
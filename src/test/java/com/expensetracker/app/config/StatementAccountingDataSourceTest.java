@@ -0,0 +1,117 @@
+package com.expensetracker.app.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for StatementAccountingDataSource
+ */
+class StatementAccountingDataSourceTest {
+
+    private StatementAccountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:accounting;DB_CLOSE_DELAY=-1");
+        dataSource = new StatementAccountingDataSource(h2);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS items");
+            statement.execute("CREATE TABLE items (id INT PRIMARY KEY)");
+        }
+    }
+
+    @Test
+    void testStatementsAndRows_CountedInScope() throws Exception {
+        // Given
+        RequestAccounting request = RequestAccounting.start();
+        try (Connection connection = dataSource.getConnection()) {
+            // When - a batch of three inserts and one query reading them
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO items (id) VALUES (?)")) {
+                for (int id = 1; id <= 3; id++) {
+                    insert.setInt(1, id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT id FROM items");
+                 ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    // read every row
+                }
+            }
+        } finally {
+            request.stop();
+        }
+
+        // Then
+        assertEquals(2, request.getStatements());
+        assertEquals(3, request.getRows());
+        assertTrue(request.getDatabaseNanos() > 0);
+    }
+
+    @Test
+    void testNestedScopes_CountTowardsOuter() throws Exception {
+        // Given
+        RequestAccounting outer = RequestAccounting.start();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+
+            // When
+            RequestAccounting inner = RequestAccounting.start();
+            statement.execute("SELECT 2");
+            inner.stop();
+
+            // Then
+            assertEquals(1, inner.getStatements());
+            assertEquals(2, outer.getStatements());
+        } finally {
+            outer.stop();
+        }
+    }
+
+    @Test
+    void testOutsideScope_NothingRecorded() throws Exception {
+        // Given
+        RequestAccounting stopped = RequestAccounting.start();
+        stopped.stop();
+
+        // When
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+
+        // Then
+        assertEquals(0, stopped.getStatements());
+    }
+
+    @Test
+    void testProxies_KeepIdentity() throws Exception {
+        // Hibernate keys its registry of open statements and result sets by these objects
+        try (Connection connection = dataSource.getConnection()) {
+            Statement first = connection.createStatement();
+            Statement second = connection.createStatement();
+            Map<Statement, String> registry = new HashMap<>();
+            registry.put(first, "first");
+            registry.put(second, "second");
+
+            assertEquals(first, first);
+            assertNotEquals(first, second);
+            assertEquals("first", registry.get(first));
+            assertEquals("second", registry.get(second));
+            first.close();
+            second.close();
+        }
+    }
+}
@@ -2,12 +2,24 @@ package com.expensetracker.app.controller;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.expensetracker.app.config.QueryCountAssertions.assertMaxQueries;
+import static com.expensetracker.app.config.QueryCountAssertions.reset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +28,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -23,15 +37,28 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import com.expensetracker.app.config.BinaryEncodingConfig;
+import com.expensetracker.app.config.RequestAccountingFilter;
+import com.expensetracker.app.dto.RegisterRequest;
 import com.expensetracker.app.model.Expense;
 import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
 import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.UserRepository;
+import com.expensetracker.app.service.AuthService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.servlet.Filter;
 
 /**
  * Integration tests for ExpenseController
@@ -42,6 +69,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Transactional
 class ExpenseControllerIntegrationTest {
     
+    private static final AtomicLong TRANSACTION_SEQUENCE = new AtomicLong(System.currentTimeMillis());
+    
     @Autowired
     private WebApplicationContext webApplicationContext;
     
@@ -51,12 +80,31 @@ class ExpenseControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AuthService authService;
+    
     private MockMvc mockMvc;
     
+    private User testUser;
+    
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
         expenseRepository.deleteAll();
+        
+        String token = authService.register(
+                new RegisterRequest("integrationuser", "integration@example.com", "password")).getToken();
+        testUser = authService.getUserByUsername("integrationuser");
+        
+        // Run the security filter chain so controllers receive the authenticated principal,
+        // inside the statement accounting as deployed
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(webApplicationContext.getBean(RequestAccountingFilter.class),
+                        webApplicationContext.getBean("springSecurityFilterChain", Filter.class))
+                .defaultRequest(get("/").header("Authorization", "Bearer " + token))
+                .build();
     }
     
     @Test
@@ -75,6 +123,7 @@ class ExpenseControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(expense)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.amount", is(100.0)))
+                .andExpect(jsonPath("$.user").doesNotExist())
                 .andExpect(jsonPath("$.category", is("Food")))
                 .andExpect(jsonPath("$.paymentMethod", is("CASH")))
                 .andExpect(jsonPath("$.notes", is("Test expense")));
@@ -106,6 +155,89 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(jsonPath("$.payerName", is("John Doe")));
     }
     
+    @Test
+    void testCreateExpense_IdempotencyKeyReplaysFirstResponse() throws Exception {
+        // Given
+        String body = objectMapper.writeValueAsString(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("40.00")));
+        MvcResult first = mockMvc.perform(post("/api/expenses")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn();
+        int id = objectMapper.readTree(first.getResponse().getContentAsString()).get("id").asInt();
+        
+        // When & Then - the retry gets the same expense and nothing new is stored
+        mockMvc.perform(post("/api/expenses")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id", is(id)))
+                .andExpect(jsonPath("$.amount", is(40.0)));
+        assertEquals(1, expenseRepository.findByUser(testUser).size());
+
+        // And the key sent with a different expense is rejected
+        mockMvc.perform(post("/api/expenses")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("41.00")))))
+                .andExpect(status().isUnprocessableEntity());
+        assertEquals(1, expenseRepository.findByUser(testUser).size());
+
+        // And a different key creates another expense
+        mockMvc.perform(post("/api/expenses")
+                .header("Idempotency-Key", "retry-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", not(id)));
+        assertEquals(2, expenseRepository.findByUser(testUser).size());
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testCreateExpense_DuplicateUpiTransaction_Conflict() throws Exception {
+        // The rejected insert rolls back its own transaction, so each request must commit separately
+        try {
+            // Given
+            Expense expense = createTestExpense("Travel", PaymentMethod.UPI, new BigDecimal("150.00"));
+            MvcResult first = mockMvc.perform(post("/api/expenses")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(expense)))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            int id = objectMapper.readTree(first.getResponse().getContentAsString()).get("id").asInt();
+            
+            // When & Then - a retry without a key is answered with the stored expense
+            expense.setAmount(new BigDecimal("151.00"));
+            mockMvc.perform(post("/api/expenses")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(expense)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.id", is(id)))
+                    .andExpect(jsonPath("$.amount", is(150.0)));
+            
+            // And the same transaction ID on a cash expense is not constrained
+            Expense cash = createTestExpense("Travel", PaymentMethod.CASH, new BigDecimal("20.00"));
+            cash.setTransactionId(expense.getTransactionId());
+            mockMvc.perform(post("/api/expenses")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(cash)))
+                    .andExpect(status().isCreated());
+            
+            mockMvc.perform(get("/api/expenses/summary"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalAmount", is(170.0)))
+                    .andExpect(jsonPath("$.totalTransactions", is(2)));
+        } finally {
+            expenseRepository.deleteAll();
+            userRepository.delete(testUser);
+        }
+    }
+    
     @Test
     void testCreateExpense_InvalidAmount() throws Exception {
         // Given
@@ -122,6 +254,44 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
     
+    @Test
+    void testCreateExpensesBulk_ReportsRowErrors() throws Exception {
+        // Given - the middle row is a UPI payment without a VPA
+        Expense invalid = createTestExpense("Travel", PaymentMethod.UPI, new BigDecimal("30.00"));
+        invalid.setUpiVpa(null);
+        List<Expense> expenses = List.of(
+                createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00")),
+                invalid,
+                createTestExpense("Travel", PaymentMethod.UPI, new BigDecimal("100.00")));
+        
+        // When & Then
+        mockMvc.perform(post("/api/expenses/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(expenses)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.rows[0].id").isNumber())
+                .andExpect(jsonPath("$.rows[1].id").doesNotExist())
+                .andExpect(jsonPath("$.rows[1].errors[0]", is("UPI VPA is required for UPI payments")))
+                .andExpect(jsonPath("$.rows[2].id").isNumber());
+        
+        mockMvc.perform(get("/api/expenses/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAmount", is(150.0)))
+                .andExpect(jsonPath("$.totalTransactions", is(2)));
+    }
+    
+    @Test
+    void testCreateExpensesBulk_EmptyRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/expenses/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     void testGetAllExpenses() throws Exception {
         // Given
@@ -131,11 +301,14 @@ class ExpenseControllerIntegrationTest {
         expenseRepository.save(expense2);
         
         // When & Then
+        reset();
         mockMvc.perform(get("/api/expenses"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(RequestAccountingFilter.SERVER_TIMING, containsString("db;dur=")))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].category", containsInAnyOrder("Food", "Travel")))
                 .andExpect(jsonPath("$[*].paymentMethod", containsInAnyOrder("CASH", "UPI")));
+        assertMaxQueries(2);
     }
     
     @Test
@@ -145,11 +318,13 @@ class ExpenseControllerIntegrationTest {
         Expense savedExpense = expenseRepository.save(expense);
         
         // When & Then
+        reset();
         mockMvc.perform(get("/api/expenses/{id}", savedExpense.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(savedExpense.getId().intValue())))
                 .andExpect(jsonPath("$.category", is("Food")))
                 .andExpect(jsonPath("$.amount", is(75.0)));
+        assertMaxQueries(1);
     }
     
     @Test
@@ -163,15 +338,17 @@ class ExpenseControllerIntegrationTest {
     void testUpdateExpense_Success() throws Exception {
         // Given
         Expense expense = createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00"));
-        Expense savedExpense = expenseRepository.save(expense);
+        Expense savedExpense = expenseRepository.saveAndFlush(expense);
         
-        savedExpense.setAmount(new BigDecimal("75.00"));
-        savedExpense.setCategory("Travel");
+        // Edit a copy as a client would; changing the managed entity would itself be a concurrent write
+        Expense edited = clientCopy(savedExpense);
+        edited.setAmount(new BigDecimal("75.00"));
+        edited.setCategory("Travel");
         
         // When & Then
         mockMvc.perform(put("/api/expenses/{id}", savedExpense.getId())
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(savedExpense)))
+                .content(objectMapper.writeValueAsString(edited)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.amount", is(75.0)))
                 .andExpect(jsonPath("$.category", is("Travel")));
@@ -192,6 +369,100 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
     
+    @Test
+    void testUpdateExpense_StaleVersion_Conflict() throws Exception {
+        // Given
+        Expense savedExpense = expenseRepository.saveAndFlush(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00")));
+        Expense edited = clientCopy(savedExpense);
+        edited.setAmount(new BigDecimal("75.00"));
+        String firstEdit = objectMapper.writeValueAsString(edited);
+        mockMvc.perform(put("/api/expenses/{id}", savedExpense.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(firstEdit))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)));
+        
+        // When & Then - a second edit made from the same version is refused
+        mockMvc.perform(put("/api/expenses/{id}", savedExpense.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(firstEdit.replace("75.0", "80.0")))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/expenses/{id}", savedExpense.getId()))
+                .andExpect(jsonPath("$.amount", is(75.0)));
+    }
+    
+    @Test
+    void testUpdateAndDeleteExpense_OfAnotherUser_NotFound() throws Exception {
+        // Given
+        User other = userRepository.save(new User("otheruser", "other@example.com", "password"));
+        Expense othersExpense = createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00"));
+        othersExpense.setUser(other);
+        othersExpense = expenseRepository.save(othersExpense);
+        
+        // When & Then
+        mockMvc.perform(put("/api/expenses/{id}", othersExpense.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTestExpense("Travel", PaymentMethod.CASH, BigDecimal.TEN))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/expenses/{id}", othersExpense.getId()))
+                .andExpect(status().isNotFound());
+        assertTrue(expenseRepository.findById(othersExpense.getId()).isPresent());
+    }
+    
+    @Test
+    void testUpdateExpense_OfAnotherUserWithInvalidBody_NotFound() throws Exception {
+        // Given - a UPI expense without its VPA passes bean validation but not the service's
+        User other = userRepository.save(new User("otheruser", "other@example.com", "password"));
+        Expense othersExpense = createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00"));
+        othersExpense.setUser(other);
+        othersExpense = expenseRepository.save(othersExpense);
+        Expense invalid = createTestExpense("Travel", PaymentMethod.UPI, BigDecimal.TEN);
+        invalid.setUpiVpa(null);
+        
+        // When & Then - the expense is looked up before the body is validated
+        mockMvc.perform(put("/api/expenses/{id}", othersExpense.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/expenses/{id}", Long.MAX_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isNotFound());
+        assertEquals(new BigDecimal("50.00"), expenseRepository.findById(othersExpense.getId()).orElseThrow().getAmount());
+    }
+    
+    @Test
+    void testBulkCategoryAndDelete() throws Exception {
+        // Given
+        Expense food = expenseRepository.save(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00")));
+        Expense travel = expenseRepository.save(createTestExpense("Travel", PaymentMethod.UPI, new BigDecimal("20.00")));
+        Expense rent = expenseRepository.save(createTestExpense("Rent", PaymentMethod.CASH, new BigDecimal("500.00")));
+        
+        // When & Then
+        mockMvc.perform(post("/api/expenses/bulk/category")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "ids", List.of(food.getId(), travel.getId(), Long.MAX_VALUE), "category", "Misc"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", containsInAnyOrder(food.getId().intValue(), travel.getId().intValue())));
+        mockMvc.perform(post("/api/expenses/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(travel.getId(), rent.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/api/expenses"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].category", is("Misc")));
+        mockMvc.perform(post("/api/expenses/bulk/category")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", List.of(food.getId()), "category", " "))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/expenses/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     void testGetExpensesWithFilters() throws Exception {
         // Given
@@ -218,6 +489,65 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(jsonPath("$[*].paymentMethod", everyItem(is("UPI"))));
     }
     
+    @Test
+    void testGetExpensePage_WalksAllPagesWithCursor() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            Expense expense = createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("10.00"));
+            expense.setExpenseDate(LocalDate.now().minusDays(i % 2));
+            expenseRepository.save(expense);
+        }
+        
+        // When & Then - first page
+        reset();
+        String firstPage = mockMvc.perform(get("/api/expenses/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        assertMaxQueries(1);
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        
+        // Second page
+        String secondPage = mockMvc.perform(get("/api/expenses/page").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andReturn().getResponse().getContentAsString();
+        cursor = objectMapper.readTree(secondPage).get("nextCursor").asText();
+        
+        // Last page
+        mockMvc.perform(get("/api/expenses/page").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    
+    @Test
+    void testGetExpensePage_WithFilters() throws Exception {
+        // Given
+        expenseRepository.save(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00")));
+        expenseRepository.save(createTestExpense("Food", PaymentMethod.UPI, new BigDecimal("75.00")));
+        expenseRepository.save(createTestExpense("Travel", PaymentMethod.UPI, new BigDecimal("100.00")));
+        
+        // When & Then
+        mockMvc.perform(get("/api/expenses/page")
+                .param("category", "Food")
+                .param("paymentMethod", "UPI")
+                .param("upiVpa", "TEST@"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].amount", is(75.0)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+    
+    @Test
+    void testGetExpensePage_InvalidCursor() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/expenses/page").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     void testGetExpenseSummary() throws Exception {
         // Given
@@ -237,6 +567,73 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(jsonPath("$.paymentMethodTotals").exists());
     }
     
+    @Test
+    void testWriteAndSummaryEndpoints_StatementCounts() throws Exception {
+        // Given - the first write builds the user's rollups, so later requests show the steady state
+        String created = mockMvc.perform(post("/api/expenses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("20.00")))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Expense edited = objectMapper.readValue(created, Expense.class);
+        edited.setAmount(new BigDecimal("30.00"));
+        
+        // When & Then
+        reset();
+        mockMvc.perform(post("/api/expenses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("40.00")))))
+                .andExpect(status().isCreated());
+        assertMaxQueries(5);
+        
+        reset();
+        mockMvc.perform(put("/api/expenses/{id}", edited.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(edited)))
+                .andExpect(status().isOk());
+        // State read, owner-checked UPDATE, net amount delta on the summary, category and month rows, data version
+        assertMaxQueries(6);
+        
+        reset();
+        mockMvc.perform(get("/api/expenses/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAmount", is(70.0)));
+        assertMaxQueries(3);
+        
+        reset();
+        mockMvc.perform(delete("/api/expenses/{id}", edited.getId()))
+                .andExpect(status().isNoContent());
+        // State read, owner-checked DELETE, decrements of the summary, category and month rows,
+        // removal of rows left empty in both totals tables, data version
+        assertMaxQueries(8);
+    }
+    
+    @Test
+    void testRequestWithoutToken_IsRejected() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/expenses").header("Authorization", ""))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void testUpdateBudget_RefreshesCachedPrincipal() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/expenses/budget"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+        
+        // When
+        mockMvc.perform(put("/api/expenses/budget")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("2500.00"))
+                .andExpect(status().isOk());
+        
+        // Then
+        mockMvc.perform(get("/api/expenses/budget"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2500.00"));
+    }
+    
     @Test
     void testGetCategories() throws Exception {
         // Given
@@ -246,26 +643,229 @@ class ExpenseControllerIntegrationTest {
         expenseRepository.save(expense2);
         
         // When & Then
+        reset();
         mockMvc.perform(get("/api/expenses/categories"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$", containsInAnyOrder("Food", "Travel")));
+        assertMaxQueries(2);
     }
     
     @Test
-    void testExportToCsv() throws Exception {
+    void testGetAllExpenses_NotModifiedUntilExpenseCreated() throws Exception {
         // Given
-        Expense expense = createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00"));
-        expenseRepository.save(expense);
+        MvcResult first = mockMvc.perform(get("/api/expenses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn();
+        List<String> etags = first.getResponse().getHeaders("ETag");
+        assertEquals(1, etags.size());
+        String etag = etags.get(0);
         
-        // When & Then
-        mockMvc.perform(get("/api/expenses/export/csv"))
+        mockMvc.perform(get("/api/expenses").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        
+        // When
+        mockMvc.perform(post("/api/expenses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("25.00")))))
+                .andExpect(status().isCreated());
+        
+        // Then
+        mockMvc.perform(get("/api/expenses").header("If-None-Match", etag))
                 .andExpect(status().isOk())
-                .andExpect(header().string("Content-Type", "text/csv"))
-                .andExpect(header().exists("Content-Disposition"))
-                .andExpect(content().string(containsString("ID,Amount,Category")))
-                .andExpect(content().string(containsString("Food")))
-                .andExpect(content().string(containsString("50.00")));
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+    
+    @Test
+    void testGetAllExpenses_NegotiatesCbor() throws Exception {
+        // Given
+        expenseRepository.save(createTestExpense("Food", PaymentMethod.UPI, new BigDecimal("42.50")));
+        String jsonEtag = mockMvc.perform(get("/api/expenses"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].upiVpa", is("test@upi")))
+                .andExpect(jsonPath("$[0].createdAt").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+        
+        // When
+        MvcResult result = mockMvc.perform(get("/api/expenses").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn();
+        
+        // Then
+        String cborEtag = result.getResponse().getHeader("ETag");
+        assertNotEquals(jsonEtag, cborEtag);
+        List<Map<String, Object>> expenses = new ObjectMapper(new CBORFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() { });
+        assertEquals(1, expenses.size());
+        assertEquals("Food", expenses.get(0).get("category"));
+        assertEquals("UPI", expenses.get(0).get("paymentMethod"));
+        assertEquals(LocalDate.now().toString(), expenses.get(0).get("expenseDate"));
+        
+        mockMvc.perform(get("/api/expenses").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cborEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/expenses").header("If-None-Match", cborEtag))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void testGetAllExpenses_NegotiatesSmile() throws Exception {
+        // Given
+        expenseRepository.save(createTestExpense("Travel", PaymentMethod.CASH, new BigDecimal("12.00")));
+        
+        // When
+        MvcResult result = mockMvc.perform(get("/api/expenses").accept(BinaryEncodingConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryEncodingConfig.APPLICATION_SMILE))
+                .andExpect(header().string("ETag", endsWith("-smile\"")))
+                .andReturn();
+        
+        // Then
+        List<Map<String, Object>> expenses = new ObjectMapper(new SmileFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() { });
+        assertEquals(1, expenses.size());
+        assertEquals("Travel", expenses.get(0).get("category"));
+        assertFalse(expenses.get(0).containsKey("upiVpa"));
+    }
+    
+    @Test
+    void testGetSummaryAndBudget_NotModifiedUntilBudgetUpdated() throws Exception {
+        // Given
+        String summaryEtag = mockMvc.perform(get("/api/expenses/summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String budgetEtag = mockMvc.perform(get("/api/expenses/budget"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/api/expenses/summary").header("If-None-Match", summaryEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/expenses/budget").header("If-None-Match", budgetEtag))
+                .andExpect(status().isNotModified());
+        
+        // When
+        mockMvc.perform(put("/api/expenses/budget")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("1200.00"))
+                .andExpect(status().isOk());
+        
+        // Then
+        mockMvc.perform(get("/api/expenses/summary").header("If-None-Match", summaryEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budget", is(1200.0)));
+        mockMvc.perform(get("/api/expenses/budget").header("If-None-Match", budgetEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1200.00"));
+    }
+    
+    @Test
+    void testGetBootstrap_ReturnsPageSummaryBudgetAndCategories() throws Exception {
+        // Given
+        authService.updateBudget(authService.loadAuthenticatedUser("integrationuser"), new BigDecimal("500.00"));
+        for (Expense expense : List.of(createTestExpense("Travel", PaymentMethod.UPI, new BigDecimal("100.00")),
+                createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00")),
+                createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("25.00")))) {
+            mockMvc.perform(post("/api/expenses")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(expense)))
+                    .andExpect(status().isCreated());
+        }
+        
+        // When
+        reset();
+        MvcResult result = mockMvc.perform(get("/api/bootstrap").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenses.content", hasSize(2)))
+                .andExpect(jsonPath("$.expenses.hasMore", is(true)))
+                .andExpect(jsonPath("$.summary.totalAmount", is(175.0)))
+                .andExpect(jsonPath("$.summary.remainingBudget", is(325.0)))
+                .andExpect(jsonPath("$.budget", is(500.0)))
+                .andExpect(jsonPath("$.categories", is(List.of("Food", "Travel"))))
+                .andReturn();
+        assertMaxQueries(4);
+        String etag = result.getResponse().getHeader("ETag");
+        
+        // Then
+        mockMvc.perform(get("/api/bootstrap").param("size", "2").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/bootstrap").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenses.content", hasSize(3)));
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testExportToCsv() throws Exception {
+        // The export streams on another thread in its own transaction, so the data must be committed
+        try {
+            // Given
+            Expense expense = createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("50.00"));
+            expenseRepository.save(expense);
+            
+            // When & Then
+            MvcResult result = mockMvc.perform(get("/api/expenses/export/csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", "text/csv"))
+                    .andExpect(header().exists("Content-Disposition"))
+                    .andExpect(content().string(containsString("ID,Amount,Category")))
+                    .andExpect(content().string(containsString("Food")))
+                    .andExpect(content().string(containsString("50.00")));
+        } finally {
+            expenseRepository.deleteAll();
+            userRepository.delete(testUser);
+        }
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testStreamExpenses_PushesCommittedChanges() throws Exception {
+        // Events are only sent once the write has committed
+        try {
+            // Given
+            MvcResult stream = mockMvc.perform(get("/api/expenses/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            
+            // When
+            mockMvc.perform(post("/api/expenses")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createTestExpense("Food", PaymentMethod.CASH, new BigDecimal("75.00")))))
+                    .andExpect(status().isCreated());
+            
+            // Then - the event name and its data are written separately
+            awaitContent(stream, "event:expense-created");
+            awaitContent(stream, "\"category\":\"Food\"");
+            awaitContent(stream, "\"totalAmount\":75");
+            assertTrue(stream.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        } finally {
+            expenseRepository.deleteAll();
+            userRepository.delete(testUser);
+        }
+    }
+    
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+    
+    private Expense clientCopy(Expense expense) throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsString(expense), Expense.class);
     }
     
     private Expense createTestExpense(String category, PaymentMethod paymentMethod, BigDecimal amount) {
@@ -274,10 +874,12 @@ class ExpenseControllerIntegrationTest {
         expense.setCategory(category);
         expense.setExpenseDate(LocalDate.now());
         expense.setPaymentMethod(paymentMethod);
+        expense.setUser(testUser);
         
         if (paymentMethod == PaymentMethod.UPI) {
             expense.setUpiVpa("test@upi");
-            expense.setTransactionId("TXN" + System.currentTimeMillis());
+            // UPI transaction IDs are unique per user
+            expense.setTransactionId("TXN" + TRANSACTION_SEQUENCE.incrementAndGet());
             expense.setPayerName("Test User");
         }
         
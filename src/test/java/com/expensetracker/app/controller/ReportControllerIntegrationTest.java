@@ -0,0 +1,125 @@
+package com.expensetracker.app.controller;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static com.expensetracker.app.model.ExpenseFixtures.expense;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.expensetracker.app.dto.RegisterRequest;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.AuthService;
+import com.expensetracker.app.service.ExpenseService;
+
+import jakarta.servlet.Filter;
+
+/**
+ * Integration tests for ReportController
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+class ReportControllerIntegrationTest {
+    
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+    
+    @Autowired
+    private AuthService authService;
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    private MockMvc mockMvc;
+    
+    private User testUser;
+    
+    private User otherUser;
+    
+    @BeforeEach
+    void setUp() {
+        String token = authService.register(
+                new RegisterRequest("reportuser", "report@example.com", "password")).getToken();
+        testUser = authService.getUserByUsername("reportuser");
+        authService.register(new RegisterRequest("otherreportuser", "otherreport@example.com", "password"));
+        otherUser = authService.getUserByUsername("otherreportuser");
+        
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(webApplicationContext.getBean("springSecurityFilterChain", Filter.class))
+                .defaultRequest(get("/").header("Authorization", "Bearer " + token))
+                .build();
+        
+        expenseService.createExpense(expense("Food", PaymentMethod.CASH, "40.00", LocalDate.of(2024, 3, 5)), testUser);
+        expenseService.createExpense(expense("Food", PaymentMethod.UPI, "25.00", LocalDate.of(2024, 3, 20)), testUser);
+        expenseService.createExpense(expense("Travel", PaymentMethod.UPI, "70.00", LocalDate.of(2024, 3, 9)), testUser);
+        expenseService.createExpense(expense("Rent", PaymentMethod.CASH, "500.00", LocalDate.of(2024, 4, 1)), testUser);
+        // Another user's expenses must never appear in the caller's reports
+        expenseService.createExpense(expense("Food", PaymentMethod.CASH, "999.00", LocalDate.of(2024, 3, 5)), otherUser);
+    }
+    
+    @Test
+    void testGetMonthlySummary_ScopedToCaller() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/reports/monthly-summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0][0]", is(2024)))
+                .andExpect(jsonPath("$[0][1]", is(4)))
+                .andExpect(jsonPath("$[0][2]", is(500.0)))
+                .andExpect(jsonPath("$[0][3]", is(1)))
+                .andExpect(jsonPath("$[1][1]", is(3)))
+                .andExpect(jsonPath("$[1][2]", is(135.0)))
+                .andExpect(jsonPath("$[1][3]", is(3)));
+    }
+    
+    @Test
+    void testGetMonthlyCategorySummary() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/reports/monthly-category-summary")
+                .param("year", "2024")
+                .param("month", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*][0]", contains("Travel", "Food")))
+                .andExpect(jsonPath("$[1][1]", is(65.0)))
+                .andExpect(jsonPath("$[1][2]", is(2)));
+    }
+    
+    @Test
+    void testGetMonthlyCategorySummary_InvalidMonth() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/reports/monthly-category-summary")
+                .param("year", "2024")
+                .param("month", "13"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void testGetCategoryAndCashUpiTotals() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/reports/category-totals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*][0]", contains("Rent", "Travel", "Food")));
+        
+        mockMvc.perform(get("/api/reports/cash-upi-totals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCash", is(540.0)))
+                .andExpect(jsonPath("$.totalUpi", is(95.0)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.expensetracker.app.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Expenses and amount assertions shared by the tests. UPI expenses get a
+ * transaction ID unique within the test run, as the IDs are unique per user
+ * and tests often create several expenses of the same category and amount.
+ */
+public final class ExpenseFixtures {
+
+    private static final AtomicLong TRANSACTION_SEQUENCE = new AtomicLong();
+
+    private ExpenseFixtures() {
+    }
+
+    /**
+     * An expense dated today, not yet owned by a user
+     */
+    public static Expense expense(String category, PaymentMethod method, String amount) {
+        return expense(null, category, method, amount, LocalDate.now());
+    }
+
+    /**
+     * An expense on a date, not yet owned by a user
+     */
+    public static Expense expense(String category, PaymentMethod method, String amount, LocalDate date) {
+        return expense(null, category, method, amount, date);
+    }
+
+    /**
+     * An expense of a user on a date, for saving through the repository
+     */
+    public static Expense expense(User user, String category, PaymentMethod method, String amount, LocalDate date) {
+        Expense expense = new Expense(new BigDecimal(amount), category, date, method, user);
+        if (method == PaymentMethod.UPI) {
+            expense.setUpiVpa("shop@upi");
+            expense.setTransactionId("TXN-" + category + "-" + amount + "-" + TRANSACTION_SEQUENCE.incrementAndGet());
+        }
+        return expense;
+    }
+
+    /**
+     * Assert that an amount equals the expected one, whatever the scale of either
+     */
+    public static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+}
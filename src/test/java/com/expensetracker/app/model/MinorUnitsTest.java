@@ -0,0 +1,119 @@
+package com.expensetracker.app.model;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Property tests for MinorUnits: over many random amounts, summing in minor
+ * units must give exactly the BigDecimal result
+ */
+class MinorUnitsTest {
+
+    private static final int TRIALS = 2_000;
+
+    // Fixed seed, so a failure is reproducible
+    private final Random random = new Random(20240301L);
+
+    @Test
+    void testRoundTrip_IsExact() {
+        for (int i = 0; i < TRIALS; i++) {
+            // Given
+            BigDecimal amount = randomAmount(Long.MAX_VALUE / 100);
+
+            // When
+            long minorUnits = MinorUnits.of(amount);
+
+            // Then
+            assertEquals(0, amount.compareTo(MinorUnits.toDecimal(minorUnits)), amount.toPlainString());
+            assertEquals(amount.movePointRight(2).longValueExact(), minorUnits, amount.toPlainString());
+        }
+    }
+
+    @Test
+    void testSum_MatchesBigDecimalSum() {
+        for (int i = 0; i < TRIALS; i++) {
+            // Given
+            int size = random.nextInt(200);
+            BigDecimal expected = BigDecimal.ZERO;
+            long actual = 0;
+
+            // When
+            for (int j = 0; j < size; j++) {
+                BigDecimal amount = randomAmount(100_000_000_00L);
+                expected = expected.add(amount);
+                actual = MinorUnits.add(actual, MinorUnits.of(amount));
+            }
+
+            // Then
+            assertEquals(expected.setScale(MinorUnits.SCALE), MinorUnits.toDecimal(actual));
+        }
+    }
+
+    @Test
+    void testGroupedTotals_MatchBigDecimalTotals() {
+        for (int i = 0; i < TRIALS / 10; i++) {
+            // Given
+            Map<Integer, BigDecimal> expected = new HashMap<>();
+            Map<Integer, MinorUnits.Total> actual = new HashMap<>();
+
+            // When
+            for (int j = 0; j < 500; j++) {
+                int group = random.nextInt(8);
+                BigDecimal amount = randomAmount(99_999_999L);
+                expected.merge(group, amount, BigDecimal::add);
+                actual.computeIfAbsent(group, key -> new MinorUnits.Total()).add(MinorUnits.of(amount));
+            }
+
+            // Then
+            assertEquals(expected.keySet(), actual.keySet());
+            expected.forEach((group, total) ->
+                    assertEquals(total.setScale(MinorUnits.SCALE), actual.get(group).getDecimalAmount()));
+        }
+    }
+
+    @Test
+    void testOf_ExtraDecimals() {
+        // When & Then - trailing zeros are fine, a third significant decimal is not
+        assertEquals(150, MinorUnits.of(new BigDecimal("1.500")));
+        assertEquals(150, MinorUnits.of(new BigDecimal("1.5")));
+        assertEquals(100, MinorUnits.of(BigDecimal.ONE));
+        assertThrows(ArithmeticException.class, () -> MinorUnits.of(new BigDecimal("1.005")));
+    }
+
+    @Test
+    void testOverflow_Detected() {
+        // Given
+        BigDecimal largest = MinorUnits.toDecimal(Long.MAX_VALUE);
+
+        // When & Then
+        assertEquals(Long.MAX_VALUE, MinorUnits.of(largest));
+        assertThrows(ArithmeticException.class, () -> MinorUnits.of(largest.add(new BigDecimal("0.01"))));
+        assertThrows(ArithmeticException.class, () -> MinorUnits.add(Long.MAX_VALUE, 1));
+
+        MinorUnits.Total total = new MinorUnits.Total();
+        total.add(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> total.add(1));
+    }
+
+    /**
+     * A random signed amount of up to {@code maxMinorUnits}, written with trailing zeros stripped, with two or with three decimals
+     */
+    private BigDecimal randomAmount(long maxMinorUnits) {
+        long minorUnits = Math.floorMod(random.nextLong(), maxMinorUnits);
+        if (random.nextBoolean()) {
+            minorUnits = -minorUnits;
+        }
+        BigDecimal amount = BigDecimal.valueOf(minorUnits, 2);
+        return switch (random.nextInt(3)) {
+            case 0 -> amount.stripTrailingZeros();
+            case 1 -> amount.setScale(3);
+            default -> amount;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.expensetracker.app.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that records the SQL generated on the current
+ * thread while capturing is switched on, so tests can inspect the real
+ * statements behind repository methods.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    /**
+     * Start recording statements on the current thread
+     */
+    static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop recording and return the statements seen since {@link #start()}
+     *
+     * @return captured SQL in execution order
+     */
+    static List<String> stop() {
+        List<String> statements = CAPTURED.get();
+        CAPTURED.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
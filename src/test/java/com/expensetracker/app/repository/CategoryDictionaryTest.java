@@ -0,0 +1,133 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.ExpenseService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the category dictionary and the category id columns
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CategoryDictionaryTest {
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("dictionaryuser", "dictionary@example.com", "password"));
+    }
+
+    @Test
+    void testCreateExpense_StoresCategoryId() {
+        // When
+        Expense expense = expenseService.createExpense(expense("Stationery"), user);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        Integer categoryId = jdbcTemplate.queryForObject(
+                "SELECT category_id FROM expenses WHERE id = ?", Integer.class, expense.getId());
+        assertEquals(categoryDictionary.intern("Stationery"), categoryId);
+        assertEquals("Stationery", categoryDictionary.nameOf(categoryId));
+        assertEquals("Stationery", expenseRepository.findById(expense.getId()).orElseThrow().getCategory());
+        assertEquals(List.of("Stationery"), expenseService.getDistinctCategories(user));
+    }
+
+    @Test
+    void testIntern_SameNameSameId() {
+        // When
+        Integer first = categoryDictionary.intern("Gardening");
+        Integer second = categoryDictionary.intern("Gardening");
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, countCategories("Gardening"));
+    }
+
+    @Test
+    void testIntern_RolledBack_NotCached() {
+        // Given - a name added by a transaction of its own that rolls back
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            Integer id = categoryDictionary.intern("Rolled Back");
+            assertEquals(id, categoryDictionary.intern("Rolled Back"));
+            assertEquals("Rolled Back", categoryDictionary.nameOf(id));
+            status.setRollbackOnly();
+        });
+
+        // When / Then - the row is gone and the dictionary adds it again
+        assertFalse(categoryDictionary.findId("Rolled Back").isPresent());
+        Integer id = categoryDictionary.intern("Rolled Back");
+        assertEquals(1, countCategories("Rolled Back"));
+        assertEquals("Rolled Back", categoryDictionary.nameOf(id));
+    }
+
+    @Test
+    void testFilter_UnknownCategory_ReturnsNothingAndAddsNothing() {
+        // Given
+        expenseService.createExpense(expense("Groceries"), user);
+        entityManager.flush();
+
+        // When
+        List<Expense> result = expenseService.getFilteredExpenses(
+                new ExpenseFilterDTO("No Such Category", null, null, null, null, null), user);
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertFalse(categoryDictionary.findId("No Such Category").isPresent());
+        assertEquals(0, countCategories("No Such Category"));
+    }
+
+    private Expense expense(String category) {
+        return new Expense(new BigDecimal("12.50"), category, LocalDate.now(), PaymentMethod.CASH, user);
+    }
+
+    private int countCategories(String name) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories WHERE name = ?", Integer.class, name);
+    }
+}
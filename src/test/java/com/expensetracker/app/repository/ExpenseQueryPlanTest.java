@@ -0,0 +1,278 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.dto.ExpenseCursor;
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+
+/**
+ * Query plan regression suite: loads a large synthetic dataset into a database
+ * created from schema.sql and asserts, via EXPLAIN on the SQL Hibernate actually
+ * generates, that every user-scoped repository query is answered from an index.
+ * The legacy global report queries aggregate the whole table by design and are
+ * not covered.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.expensetracker.app.repository.CapturingStatementInspector"
+})
+@ActiveProfiles("test")
+@Transactional
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpenseQueryPlanTest {
+
+    private static final int USERS = 200;
+    private static final int ROWS = Integer.getInteger("queryplan.rows", 100_000);
+
+    // Any index seek keyed on the owning user; H2 serves plain user_id lookups from the foreign key index
+    private static final String USER_LOOKUP = "USER_ID = ?";
+    private static final String PRIMARY_KEY = "PRIMARY_KEY";
+    private static final String USER_DATE_INDEX = "IDX_EXPENSES_USER_DATE_ID";
+    private static final String USER_CATEGORY_INDEX = "IDX_EXPENSES_USER_CATEGORY_DATE";
+    private static final String USER_PAYMENT_INDEX = "IDX_EXPENSES_USER_PAYMENT_DATE";
+    private static final String USER_UPI_TRANSACTION_INDEX = "UK_EXPENSES_USER_UPI_TRANSACTION";
+
+    // Access path comments in H2 plans, e.g. "/* PUBLIC.IDX_NAME: USER_ID = ?1 */" or "/* PUBLIC.EXPENSES.tableScan */"
+    private static final Pattern INDEX_ACCESS = Pattern.compile("/\\* (PUBLIC\\.[^*]*)\\*/");
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "expenseDate", "id");
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExpenseSummaryRepository summaryRepository;
+
+    @Autowired
+    private UserCategoryTotalRepository categoryTotalRepository;
+
+    @Autowired
+    private UserMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private ExpenseSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeAll
+    void loadDataset() {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, budget) " +
+                "SELECT 'planuser' || X, 'planuser' || X || '@example.com', 'password', 1000 " +
+                "FROM SYSTEM_RANGE(1, ?)", USERS);
+        Long firstUserId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE username LIKE 'planuser%'", Long.class);
+
+        jdbcTemplate.update("INSERT INTO categories (name) SELECT 'Category' || X FROM SYSTEM_RANGE(0, 19)");
+        jdbcTemplate.update("INSERT INTO expenses (user_id, amount, category_id, expense_date, payment_method, " +
+                "cash_amount, upi_amount, upi_vpa, transaction_id, upi_transaction_id, payer_name, notes) " +
+                "SELECT ? + MOD(X, ?), 10 + MOD(X, 500), " +
+                "(SELECT id FROM categories WHERE name = 'Category' || MOD(X, 20)), " +
+                "DATEADD('DAY', -MOD(X, 1095), DATE '2025-01-01'), " +
+                "CASE WHEN MOD(X, 2) = 0 THEN 'CASH' ELSE 'UPI' END, " +
+                "CASE WHEN MOD(X, 2) = 0 THEN 10 + MOD(X, 500) ELSE 0 END, " +
+                "CASE WHEN MOD(X, 2) = 0 THEN 0 ELSE 10 + MOD(X, 500) END, " +
+                "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE 'payee' || MOD(X, 1000) || '@upi' END, " +
+                "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE 'TXN' || X END, " +
+                "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE 'TXN' || X END, " +
+                "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE 'Payer ' || MOD(X, 1000) END, " +
+                "'Synthetic expense ' || X " +
+                "FROM SYSTEM_RANGE(1, ?)", firstUserId, USERS, ROWS);
+
+        jdbcTemplate.update("INSERT INTO user_category_totals (user_id, category_id, total_amount, transaction_count) " +
+                "SELECT user_id, category_id, SUM(amount), COUNT(*) FROM expenses GROUP BY user_id, category_id");
+        jdbcTemplate.update("INSERT INTO user_expense_summaries (user_id, total_amount, cash_amount, upi_amount, " +
+                "transaction_count, cash_count, upi_count) " +
+                "SELECT user_id, SUM(amount), SUM(cash_amount), SUM(upi_amount), COUNT(*), " +
+                "SUM(CASE WHEN payment_method = 'CASH' THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN payment_method = 'UPI' THEN 1 ELSE 0 END) " +
+                "FROM expenses GROUP BY user_id");
+        jdbcTemplate.update("INSERT INTO user_monthly_totals (user_id, expense_year, expense_month, category_id, " +
+                "payment_method, total_amount, transaction_count) " +
+                "SELECT user_id, YEAR(expense_date), MONTH(expense_date), category_id, payment_method, " +
+                "SUM(amount), COUNT(*) FROM expenses " +
+                "GROUP BY user_id, YEAR(expense_date), MONTH(expense_date), category_id, payment_method");
+
+        // Refresh selectivity statistics so the planner sees the real data distribution
+        jdbcTemplate.execute("ANALYZE");
+
+        user = userRepository.findByUsername("planuser7").orElseThrow();
+    }
+
+    Stream<Arguments> repositoryQueries() {
+        ExpenseCursor cursor = new ExpenseCursor(LocalDate.of(2024, 6, 1), 50_000L);
+        return Stream.of(
+                query("findByUser", USER_LOOKUP,
+                        () -> expenseRepository.findByUser(user)),
+                query("findByUserOrderByExpenseDateDesc", USER_LOOKUP,
+                        () -> expenseRepository.findByUserOrderByExpenseDateDesc(user)),
+                query("findByUserAndUpiVpaContainingIgnoreCase", USER_LOOKUP,
+                        () -> expenseRepository.findByUserAndUpiVpaContainingIgnoreCase(user, "payee1")),
+                query("findByUserAndTransactionIdContainingIgnoreCase", USER_LOOKUP,
+                        () -> expenseRepository.findByUserAndTransactionIdContainingIgnoreCase(user, "TXN1")),
+                query("findByUserAndUpiTransactionId", USER_UPI_TRANSACTION_INDEX,
+                        () -> expenseRepository.findByUserAndUpiTransactionId(user, "TXN1407")),
+                query("findUpiTransactionIds", USER_UPI_TRANSACTION_INDEX,
+                        () -> expenseRepository.findUpiTransactionIds(user, List.of("TXN1407", "TXN1607"))),
+                query("findDistinctCategoriesByUser", USER_CATEGORY_INDEX,
+                        () -> expenseRepository.findDistinctCategoriesByUser(user)),
+                query("getCategoryTotalsByUser", USER_LOOKUP,
+                        () -> expenseRepository.getCategoryTotalsByUser(user)),
+                query("getMonthlyTotalsByUser", USER_LOOKUP,
+                        () -> expenseRepository.getMonthlyTotalsByUser(user)),
+                query("getPaymentMethodTotalsByUser", USER_LOOKUP,
+                        () -> expenseRepository.getPaymentMethodTotalsByUser(user)),
+                query("getCategoryTotalsByUserAndDateRange", USER_DATE_INDEX,
+                        () -> expenseRepository.getCategoryTotalsByUserAndDateRange(user, START, END)),
+                query("getPaymentMethodTotalsByUserAndDateRange", USER_DATE_INDEX,
+                        () -> expenseRepository.getPaymentMethodTotalsByUserAndDateRange(user, START, END)),
+                query("filter: none", USER_LOOKUP,
+                        () -> findMatching(new ExpenseFilterDTO())),
+                query("filter: category", USER_CATEGORY_INDEX,
+                        () -> findMatching(new ExpenseFilterDTO("Category3", null, null, null, null, null))),
+                query("filter: payment method", USER_PAYMENT_INDEX,
+                        () -> findMatching(new ExpenseFilterDTO(null, PaymentMethod.UPI, null, null, null, null))),
+                query("filter: date range", USER_DATE_INDEX,
+                        () -> findMatching(new ExpenseFilterDTO(null, null, START, END, null, null))),
+                query("filter: category and date range", USER_CATEGORY_INDEX,
+                        () -> findMatching(new ExpenseFilterDTO("Category3", null, START, END, null, null))),
+                query("filter: payment method and date range", USER_PAYMENT_INDEX,
+                        () -> findMatching(new ExpenseFilterDTO(null, PaymentMethod.CASH, START, END, null, null))),
+                query("keyset page", USER_DATE_INDEX,
+                        () -> expenseRepository.findItems(
+                                ExpenseSpecifications.belongsTo(user).and(ExpenseSpecifications.after(cursor)),
+                                KEYSET_SORT, 51)),
+                query("streamAll (CSV export)", USER_LOOKUP,
+                        () -> {
+                            try (Stream<Expense> rows = expenseRepository.streamAll(
+                                    ExpenseSpecifications.belongsTo(user), KEYSET_SORT, 500)) {
+                                rows.limit(10).forEach(expense -> { });
+                            }
+                        }),
+                query("findById", PRIMARY_KEY,
+                        () -> expenseRepository.findById(50_000L)),
+                query("findStateByIdAndUserId", PRIMARY_KEY,
+                        () -> expenseRepository.findStateByIdAndUserId(50_000L, user.getId())),
+                query("findStatesForUpdate", PRIMARY_KEY,
+                        () -> expenseRepository.findStatesForUpdate(List.of(50_000L, 50_200L), user.getId())),
+                query("deleteOwned", PRIMARY_KEY,
+                        () -> expenseRepository.deleteOwned(50_000L, user.getId(), 0L)),
+                query("deleteAllOwned", PRIMARY_KEY,
+                        () -> expenseRepository.deleteAllOwned(List.of(50_000L, 50_200L), user.getId())),
+                query("updateCategoryOfOwned", PRIMARY_KEY,
+                        () -> expenseRepository.updateCategoryOfOwned(List.of(50_000L, 50_200L), user.getId(),
+                                "Category3", LocalDateTime.now())),
+                query("UserRepository.findByUsername", "USERNAME = ?",
+                        () -> userRepository.findByUsername("planuser42")),
+                query("UserRepository.updateBudget", PRIMARY_KEY,
+                        () -> userRepository.updateBudget(user.getId(), new BigDecimal("2500.00"))),
+                query("UserRepository.findDataVersionById", PRIMARY_KEY,
+                        () -> userRepository.findDataVersionById(user.getId())),
+                query("UserRepository.incrementDataVersion", PRIMARY_KEY,
+                        () -> userRepository.incrementDataVersion(user.getId())),
+                query("UserExpenseSummaryRepository.applyDelta", PRIMARY_KEY,
+                        () -> summaryRepository.applyDelta(user.getId(), BigDecimal.ONE, BigDecimal.ONE,
+                                BigDecimal.ZERO, 1, 1, 0)),
+                query("UserCategoryTotalRepository.findByUserId", USER_LOOKUP,
+                        () -> categoryTotalRepository.findByUserId(user.getId())),
+                query("UserCategoryTotalRepository.applyDelta", USER_LOOKUP,
+                        () -> categoryTotalRepository.applyDelta(user.getId(), "Category3", BigDecimal.ONE, 1)),
+                query("UserCategoryTotalRepository.deleteEmpty", USER_LOOKUP,
+                        () -> categoryTotalRepository.deleteEmpty(user.getId())),
+                query("UserMonthlyTotalRepository.getMonthlySummary", USER_LOOKUP,
+                        () -> monthlyTotalRepository.getMonthlySummary(user.getId())),
+                query("UserMonthlyTotalRepository.getCategorySummaryForMonth", USER_LOOKUP,
+                        () -> monthlyTotalRepository.getCategorySummaryForMonth(user.getId(), 2024, 3)),
+                query("UserMonthlyTotalRepository.applyDelta", USER_LOOKUP,
+                        () -> monthlyTotalRepository.applyDelta(user.getId(), 2024, 3, "Category3",
+                                PaymentMethod.UPI, BigDecimal.ONE, 1)),
+                query("UserMonthlyTotalRepository.deleteEmpty", USER_LOOKUP,
+                        () -> monthlyTotalRepository.deleteEmpty(user.getId())));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryUsesIndex(Runnable repositoryCall, String expectedAccess) {
+        CapturingStatementInspector.start();
+        List<String> statements;
+        try {
+            repositoryCall.run();
+        } finally {
+            statements = CapturingStatementInspector.stop();
+        }
+        assertFalse(statements.isEmpty(), "no SQL was captured");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            List<String> accessPaths = INDEX_ACCESS.matcher(plan).results()
+                    .map(match -> match.group(1).replaceAll("\\s+", " "))
+                    .toList();
+            assertFalse(accessPaths.isEmpty(), () -> "no index access in plan:\n" + plan);
+            for (String access : accessPaths) {
+                assertFalse(access.contains(".tableScan"), () -> "table scan in plan:\n" + plan);
+            }
+            assertTrue(accessPaths.stream().anyMatch(access -> access.contains(expectedAccess)),
+                    () -> "expected access via " + expectedAccess + " in plan:\n" + plan);
+        }
+    }
+
+    private List<Expense> findMatching(ExpenseFilterDTO filter) {
+        return expenseRepository.findAll(ExpenseSpecifications.matching(filter, user, categoryDictionary, searchIndex), KEYSET_SORT);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        });
+    }
+
+    private static Arguments query(String name, String expectedIndex, Runnable repositoryCall) {
+        return Arguments.of(Named.of(name, repositoryCall), expectedIndex);
+    }
+}
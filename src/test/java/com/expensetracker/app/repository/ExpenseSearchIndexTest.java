@@ -0,0 +1,207 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.service.ExpenseService;
+
+/**
+ * Integration tests for the expense search index. The index only serves
+ * read-only transactions over committed data, so these tests commit their
+ * rows and clean up afterwards instead of rolling back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExpenseSearchIndexTest {
+
+    @Autowired
+    private ExpenseSearchIndex searchIndex;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private User user;
+    private List<Expense> expenses;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        user = userRepository.save(new User("searchuser", "search@example.com", "password"));
+        User other = userRepository.save(new User("searchother", "search-other@example.com", "password"));
+        List<Expense> owned = new ArrayList<>();
+        List<Expense> others = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            owned.add(upiExpense(user, i));
+            // The same text for another user must never match
+            others.add(upiExpense(other, i));
+        }
+        owned.add(new Expense(new BigDecimal("5.00"), "Food", LocalDate.now(), PaymentMethod.CASH, user));
+        expenses = expenseRepository.saveAll(owned);
+        expenseRepository.saveAll(others);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String username : List.of("searchuser", "searchother")) {
+            userRepository.findByUsername(username).ifPresent(owner -> {
+                expenseRepository.deleteAllInBatch(expenseRepository.findByUser(owner));
+                userRepository.delete(owner);
+            });
+        }
+    }
+
+    @Test
+    void testFind_MatchesSubstringSearch() {
+        List<String> queries = List.of("shop7", "SHOP7@", "@okaxis", "xis", "txn-00", "txn-0042", "-ab",
+                "Kumar", "priya s", "nomatch", "7@o", "hop1@ok");
+        for (String query : queries) {
+            assertSearch(ExpenseSearchIndex.Field.UPI_VPA, query, Expense::getUpiVpa);
+            assertSearch(ExpenseSearchIndex.Field.TRANSACTION_ID, query, Expense::getTransactionId);
+            assertSearch(ExpenseSearchIndex.Field.PAYER_NAME, query, Expense::getPayerName);
+        }
+    }
+
+    @Test
+    void testFind_TrigramsOutOfSequence_NotMatched() {
+        // When - "okaxis" and "xis@ok" share their trigrams' letters but not the sequence
+        Optional<List<Long>> result = readOnly.execute(status ->
+                searchIndex.find(user, ExpenseSearchIndex.Field.UPI_VPA, "xis@ok"));
+
+        // Then
+        assertEquals(Optional.of(List.of()), result);
+    }
+
+    @Test
+    void testFind_RebuiltAfterWrite() {
+        // Given
+        assertEquals(0, search(filter -> filter.setUpiVpa("newshop")).size());
+
+        // When
+        Expense created = expenseService.createExpense(upiExpense(user, 500), user);
+        created.setUpiVpa("newshop@ybl");
+        expenseService.updateExpense(created.getId(), created, user);
+
+        // Then
+        List<Expense> found = search(filter -> filter.setUpiVpa("newshop"));
+        assertEquals(1, found.size());
+        assertEquals(created.getId(), found.get(0).getId());
+    }
+
+    @Test
+    void testFind_RefreshedWithChangedRows() {
+        // Given - an index built before the writes
+        assertEquals(1, search(filter -> filter.setUpiVpa("shop7@")).size());
+
+        // When - one expense's text changes, another is deleted, and the previous text is searched again
+        Expense changed = expenses.get(7);
+        changed.setUpiVpa("renamed@ybl");
+        changed.setVersion(null);
+        expenseService.updateExpense(changed.getId(), changed, user);
+        expenseService.deleteExpense(expenses.get(17).getId(), user);
+
+        // Then - the old text no longer matches, the new text and untouched rows do
+        assertEquals(0, search(filter -> filter.setUpiVpa("shop7@")).size());
+        assertEquals(List.of(changed.getId()),
+                search(filter -> filter.setUpiVpa("renamed")).stream().map(Expense::getId).toList());
+        assertEquals(0, search(filter -> filter.setUpiVpa("shop17@")).size());
+        assertEquals(1, search(filter -> filter.setUpiVpa("shop27@")).size());
+        assertEquals(List.of(changed.getId()),
+                search(filter -> filter.setTransactionId("txn-0007")).stream().map(Expense::getId).toList());
+
+        // And a second change refreshes the refreshed index
+        changed.setUpiVpa("shop7@okaxis");
+        changed.setVersion(null);
+        expenseService.updateExpense(changed.getId(), changed, user);
+        assertEquals(0, search(filter -> filter.setUpiVpa("renamed")).size());
+        assertEquals(1, search(filter -> filter.setUpiVpa("shop7@")).size());
+    }
+
+    @Test
+    void testFind_FallsBackToLike() {
+        // Given
+        ExpenseSearchIndex smallIndex = new ExpenseSearchIndex(expenseRepository, jdbcTemplate, 1_000_000, 5);
+
+        // When & Then - short text, too many matches and a read-write transaction are not answered
+        assertFalse(readOnly.execute(status ->
+                smallIndex.find(user, ExpenseSearchIndex.Field.UPI_VPA, "sh")).isPresent());
+        assertFalse(readOnly.execute(status ->
+                smallIndex.find(user, ExpenseSearchIndex.Field.UPI_VPA, "@okaxis")).isPresent());
+        assertTrue(readOnly.execute(status ->
+                smallIndex.find(user, ExpenseSearchIndex.Field.UPI_VPA, "shop17@")).isPresent());
+        assertFalse(new TransactionTemplate(transactionManager).execute(status ->
+                smallIndex.find(user, ExpenseSearchIndex.Field.UPI_VPA, "shop17@")).isPresent());
+
+        // And the service still returns every match
+        assertEquals(120, search(filter -> filter.setUpiVpa("@okaxis")).size());
+    }
+
+    private void assertSearch(ExpenseSearchIndex.Field field, String query, Function<Expense, String> value) {
+        // Given
+        List<Long> expected = expenses.stream()
+                .filter(expense -> value.apply(expense) != null
+                        && value.apply(expense).toLowerCase().contains(query.toLowerCase()))
+                .map(Expense::getId)
+                .sorted()
+                .toList();
+
+        // When
+        List<Long> found = readOnly.execute(status -> searchIndex.find(user, field, query))
+                .orElseThrow(() -> new AssertionError("Index did not answer " + field + " " + query))
+                .stream().sorted().toList();
+
+        // Then
+        assertEquals(expected, found, field + " " + query);
+    }
+
+    private List<Expense> search(Consumer<ExpenseFilterDTO> criteria) {
+        ExpenseFilterDTO filter = new ExpenseFilterDTO();
+        criteria.accept(filter);
+        return expenseService.getFilteredExpenses(filter, user);
+    }
+
+    private static Expense upiExpense(User owner, int i) {
+        Expense expense = new Expense(new BigDecimal("10.00"), "Shopping", LocalDate.now().minusDays(i % 30),
+                PaymentMethod.UPI, owner);
+        expense.setUpiVpa("Shop" + i + "@okaxis");
+        expense.setTransactionId(String.format("TXN-%04d-AB", i));
+        expense.setPayerName(i % 3 == 0 ? "Priya Sharma" : "Ravi Kumar " + i);
+        return expense;
+    }
+}
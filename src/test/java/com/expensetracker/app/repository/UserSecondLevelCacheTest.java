@@ -0,0 +1,121 @@
+package com.expensetracker.app.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.config.SecondLevelCacheConfig;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for the second-level cache of users. Entries are only
+ * shared once their transaction commits, so these tests commit their rows
+ * and clean up afterwards instead of rolling back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Cache cache;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cache = entityManagerFactory.getCache();
+        alice = userRepository.save(new User("cachealice", "cache-alice@example.com", "password"));
+        bob = userRepository.save(new User("cachebob", "cache-bob@example.com", "password"));
+        cache.evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(List.of(alice.getId(), bob.getId()));
+    }
+
+    @Test
+    void testFindByUsername_CachedWithoutSql() {
+        // Given
+        userRepository.findByUsername("cachealice").orElseThrow();
+        statistics.clear();
+
+        // When
+        User found = userRepository.findByUsername("cachealice").orElseThrow();
+
+        // Then
+        assertEquals(alice.getId(), found.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1L, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.USERS_REGION).getHitCount());
+        assertEquals(1L, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.USERNAMES_REGION).getHitCount());
+    }
+
+    @Test
+    void testUpdateBudget_ReplacesOnlyThatUsersEntry() {
+        // Given
+        userRepository.findByUsername("cachealice").orElseThrow();
+        userRepository.findByUsername("cachebob").orElseThrow();
+
+        // When
+        assertEquals(1, userRepository.updateBudget(alice.getId(), new BigDecimal("750.00")));
+        statistics.clear();
+
+        // Then - both users are still served from the cache, Alice with her new budget
+        assertEquals(0, new BigDecimal("750.00").compareTo(
+                userRepository.findByUsername("cachealice").orElseThrow().getBudget()));
+        assertTrue(cache.contains(User.class, bob.getId()));
+        userRepository.findById(bob.getId()).orElseThrow();
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, userRepository.updateBudget(Long.MAX_VALUE, BigDecimal.ONE));
+    }
+
+    @Test
+    void testIncrementDataVersion_KeepsCachedUsers() {
+        // Given
+        userRepository.findByUsername("cachealice").orElseThrow();
+        userRepository.findByUsername("cachebob").orElseThrow();
+
+        // When
+        userRepository.incrementDataVersion(alice.getId());
+
+        // Then
+        assertTrue(cache.contains(User.class, alice.getId()));
+        assertTrue(cache.contains(User.class, bob.getId()));
+        assertEquals(1L, userRepository.findDataVersionById(alice.getId()).orElseThrow());
+    }
+
+    @Test
+    void testUpdateUser_ReplacesCachedEntry() {
+        // Given
+        User loaded = userRepository.findByUsername("cachebob").orElseThrow();
+
+        // When
+        loaded.setEmail("cache-bob-new@example.com");
+        userRepository.save(loaded);
+        statistics.clear();
+
+        // Then
+        assertEquals("cache-bob-new@example.com", userRepository.findByUsername("cachebob").orElseThrow().getEmail());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
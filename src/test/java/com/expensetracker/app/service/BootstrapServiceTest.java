@@ -0,0 +1,107 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.expensetracker.app.model.ExpenseFixtures.assertAmount;
+import static com.expensetracker.app.model.ExpenseFixtures.expense;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.dto.BootstrapDTO;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.UserExpenseSummaryRepository;
+import com.expensetracker.app.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the dashboard bootstrap data
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BootstrapServiceTest {
+
+    @Autowired
+    private BootstrapService bootstrapService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExpenseSummaryRepository summaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("bootstrapuser", "bootstrap@example.com", "password"));
+        user.setBudget(new BigDecimal("300.00"));
+    }
+
+    @Test
+    void testGetBootstrap_ThreeQueries() {
+        // Given
+        expenseService.createExpense(expense("Travel", PaymentMethod.UPI, "80.00", LocalDate.now().minusDays(3)), user);
+        expenseService.createExpense(expense("Food", PaymentMethod.CASH, "20.00", LocalDate.now().minusDays(2)), user);
+        expenseService.createExpense(expense("Food", PaymentMethod.CASH, "15.00", LocalDate.now().minusDays(1)), user);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        BootstrapDTO bootstrap = bootstrapService.getBootstrap(user, 2);
+
+        // Then - summary row, category totals and the first page
+        assertEquals(2, bootstrap.getExpenses().getContent().size());
+        assertEquals("15.00", bootstrap.getExpenses().getContent().get(0).getAmount().toPlainString());
+        assertTrue(bootstrap.getExpenses().isHasMore());
+        assertAmount("115.00", bootstrap.getSummary().getTotalAmount());
+        assertAmount("185.00", bootstrap.getSummary().getRemainingBudget());
+        assertAmount("300.00", bootstrap.getBudget());
+        assertEquals(List.of("Food", "Travel"), bootstrap.getCategories());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBootstrap_WithoutAggregates_DoesNotBuildThem() {
+        // Given - expenses written around the service, so no aggregates exist
+        expenseRepository.save(expense(user, "Food", PaymentMethod.CASH, "40.00", LocalDate.now()));
+        expenseRepository.save(expense(user, "Shopping", PaymentMethod.UPI, "60.00", LocalDate.now()));
+        entityManager.flush();
+
+        // When
+        BootstrapDTO bootstrap = bootstrapService.getBootstrap(user, null);
+
+        // Then
+        assertEquals(2, bootstrap.getExpenses().getContent().size());
+        assertAmount("100.00", bootstrap.getSummary().getTotalAmount());
+        assertAmount("40.00", bootstrap.getSummary().getTotalCashAmount());
+        assertEquals(List.of("Food", "Shopping"), bootstrap.getCategories());
+        assertFalse(summaryRepository.existsById(user.getId()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.expensetracker.app.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+
+/**
+ * Unit tests for CsvExportService
+ */
+class CsvExportServiceTest {
+    
+    private static final long LARGE_EXPORT_ROWS = 1_000_000L;
+    
+    private final CsvExportService csvExportService = new CsvExportService(null, null, null, null, 500, 1000);
+    
+    @Test
+    void testWriteCsv_HeaderAndRows() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        long rows = csvExportService.writeCsv(syntheticExpenses(2), out);
+        
+        // Then
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2, rows);
+        assertTrue(csv.startsWith("ID,Amount,Category"));
+        assertTrue(csv.contains("\"Shop, \"\"Main\"\" branch\""));
+        assertEquals(3, csv.lines().count());
+    }
+    
+    @Test
+    void testWriteCsv_MillionRowsUnderSmallHeap() throws Exception {
+        // Run in a separate JVM whose heap is far smaller than the generated CSV
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Xmx24m",
+                "-cp", System.getProperty("java.class.path"),
+                LargeExport.class.getName(), Long.toString(LARGE_EXPORT_ROWS))
+                .redirectErrorStream(true)
+                .start();
+        
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES), "Large export timed out");
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        
+        assertEquals(0, process.exitValue(), output);
+        assertTrue(output.contains("rows=" + LARGE_EXPORT_ROWS), output);
+    }
+    
+    /**
+     * Entry point for the small-heap export run
+     */
+    static class LargeExport {
+        
+        public static void main(String[] args) {
+            long count = Long.parseLong(args[0]);
+            CountingOutputStream out = new CountingOutputStream();
+            long rows = new CsvExportService(null, null, null, null, 500, 1000).writeCsv(syntheticExpenses(count), out);
+            // The CSV is many times larger than the heap, so it cannot have been buffered
+            System.out.println("rows=" + rows + " bytes=" + out.bytes);
+        }
+    }
+    
+    private static Stream<Expense> syntheticExpenses(long count) {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 12, 0);
+        return LongStream.range(0, count).mapToObj(i -> {
+            Expense expense = new Expense();
+            expense.setId(i + 1);
+            expense.setAmount(new BigDecimal("125.50"));
+            expense.setCategory("Food");
+            expense.setExpenseDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            expense.setPaymentMethod(PaymentMethod.UPI);
+            expense.setUpiVpa("merchant" + i + "@upi");
+            expense.setTransactionId("TXN" + i);
+            expense.setPayerName("Test Payer");
+            expense.setNotes("Shop, \"Main\" branch");
+            expense.setCreatedAt(timestamp);
+            expense.setUpdatedAt(timestamp);
+            return expense;
+        });
+    }
+    
+    private static class CountingOutputStream extends OutputStream {
+        
+        private long bytes;
+        
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
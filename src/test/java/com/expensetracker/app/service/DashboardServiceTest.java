@@ -0,0 +1,130 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.User;
+
+/**
+ * Unit tests for DashboardService
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+    
+    @Mock
+    private ExpenseService expenseService;
+    
+    @Mock
+    private ReportService reportService;
+    
+    @Mock
+    private ExpenseSummaryService expenseSummaryService;
+    
+    private ExecutorService executor;
+    
+    private User testUser;
+    
+    private ExpenseSummaryDTO summary;
+    
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        testUser = new User("testuser", "test@example.com", "password");
+        testUser.setId(1L);
+        
+        summary = new ExpenseSummaryDTO(new BigDecimal("150.00"), new BigDecimal("50.00"),
+                new BigDecimal("100.00"), 2L);
+        summary.setCategoryTotals(Map.of("Food", new BigDecimal("50.00"), "Travel", new BigDecimal("100.00")));
+        summary.setPaymentMethodTotals(Map.of("CASH", new BigDecimal("50.00"), "UPI", new BigDecimal("100.00")));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void testGetDashboard_DerivesTotalsFromOneSummaryRead() {
+        // Given
+        List<Object[]> monthly = List.<Object[]>of(new Object[] {2024, 3, new BigDecimal("150.00"), 2L});
+        when(expenseService.getExpenseSummary(testUser)).thenReturn(summary);
+        when(reportService.getMonthlySummary(testUser)).thenReturn(monthly);
+        
+        // When
+        Map<String, Object> dashboard = service(Duration.ofSeconds(5)).getDashboard(testUser);
+        
+        // Then
+        verify(expenseSummaryService).ensureBuilt(testUser);
+        assertSame(summary, dashboard.get("summary"));
+        assertSame(monthly, dashboard.get("monthlySummary"));
+        List<?> categoryTotals = (List<?>) dashboard.get("categoryTotals");
+        assertEquals("Travel", ((Object[]) categoryTotals.get(0))[0]);
+        assertEquals(Map.of("totalCash", new BigDecimal("50.00"), "totalUpi", new BigDecimal("100.00")),
+                dashboard.get("cashUpiTotals"));
+        assertEquals(List.of(), dashboard.get("degraded"));
+        Map<?, ?> timings = (Map<?, ?>) dashboard.get("timings");
+        assertNotNull(timings.get("summary"));
+        assertNotNull(timings.get("monthlySummary"));
+        assertNotNull(timings.get("total"));
+    }
+    
+    @Test
+    void testGetDashboard_FailedPartIsDegraded() {
+        // Given
+        when(expenseService.getExpenseSummary(testUser)).thenReturn(summary);
+        when(reportService.getMonthlySummary(testUser)).thenThrow(new IllegalStateException("rollups unavailable"));
+        
+        // When
+        Map<String, Object> dashboard = service(Duration.ofSeconds(5)).getDashboard(testUser);
+        
+        // Then
+        assertSame(summary, dashboard.get("summary"));
+        assertNull(dashboard.get("monthlySummary"));
+        assertEquals(List.of("monthlySummary"), dashboard.get("degraded"));
+    }
+    
+    @Test
+    void testGetDashboard_SlowPartTimesOut() {
+        // Given
+        when(expenseService.getExpenseSummary(testUser)).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return summary;
+        });
+        when(reportService.getMonthlySummary(testUser)).thenReturn(List.of());
+        
+        // When
+        long start = System.nanoTime();
+        Map<String, Object> dashboard = service(Duration.ofMillis(100)).getDashboard(testUser);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        // Then
+        assertTrue(elapsedMillis < 1_000, "dashboard waited " + elapsedMillis + " ms");
+        assertNull(dashboard.get("summary"));
+        assertNull(dashboard.get("categoryTotals"));
+        assertEquals(List.of(), dashboard.get("monthlySummary"));
+        assertEquals(List.of("summary"), dashboard.get("degraded"));
+    }
+    
+    private DashboardService service(Duration partTimeout) {
+        return new DashboardService(expenseService, reportService, expenseSummaryService, executor, partTimeout);
+    }
+}
@@ -0,0 +1,183 @@
+package com.expensetracker.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.expensetracker.app.model.ExpenseFixtures.assertAmount;
+import static com.expensetracker.app.model.ExpenseFixtures.expense;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.dto.BulkExpenseResultDTO;
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.UserRepository;
+
+import jakarta.validation.Validator;
+
+/**
+ * Integration tests for batched bulk expense creation
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExpenseBulkServiceTest {
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Autowired
+    private ExpenseSummaryService expenseSummaryService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationMetrics applicationMetrics;
+    
+    private ExpenseBulkService bulkService;
+    
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        // Small chunks so a handful of rows spans several batches
+        bulkService = new ExpenseBulkService(expenseRepository, expenseSummaryService, dataVersionService, eventPublisher, validator,
+                transactionManager, applicationMetrics, 2, 10);
+        user = userRepository.save(new User("bulkuser", "bulk@example.com", "password"));
+    }
+    
+    @Test
+    void testCreateExpenses_InsertsValidRowsAcrossChunks() {
+        // Given
+        expenseService.createExpense(expense("Food", PaymentMethod.CASH, "5.00"), user);
+        Expense blankCategory = expense(" ", PaymentMethod.CASH, "7.00");
+        Expense missingTransaction = expense("Travel", PaymentMethod.UPI, "8.00");
+        missingTransaction.setTransactionId(null);
+        List<Expense> expenses = new ArrayList<>(List.of(
+                expense("Food", PaymentMethod.CASH, "10.00"),
+                blankCategory,
+                expense("Travel", PaymentMethod.UPI, "20.00"),
+                missingTransaction,
+                expense("Rent", PaymentMethod.UPI, "30.00")));
+        expenses.add(null);
+        
+        // When
+        BulkExpenseResultDTO result = bulkService.createExpenses(expenses, user);
+        
+        // Then
+        assertEquals(6, result.getReceived());
+        assertEquals(3, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertNotNull(result.getRows().get(0).getId());
+        assertEquals(List.of("category: Category is required"), result.getRows().get(1).getErrors());
+        assertEquals(List.of("Transaction ID is required for UPI payments"), result.getRows().get(3).getErrors());
+        assertNull(result.getRows().get(5).getId());
+        
+        Expense saved = expenseRepository.findById(result.getRows().get(4).getId()).orElseThrow();
+        assertAmount("30.00", saved.getUpiAmount());
+        assertAmount("0", saved.getCashAmount());
+        assertNotNull(saved.getCreatedAt());
+        
+        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user);
+        assertAmount("65.00", summary.getTotalAmount());
+        assertEquals(4, summary.getTotalTransactions());
+        assertAmount("15.00", summary.getCategoryTotals().get("Food"));
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+    }
+    
+    @Test
+    void testCreateExpenses_BuildsAggregatesForFirstExpenses() {
+        // When
+        bulkService.createExpenses(List.of(
+                expense("Food", PaymentMethod.CASH, "10.00"),
+                expense("Food", PaymentMethod.UPI, "20.00"),
+                expense("Travel", PaymentMethod.CASH, "30.00")), user);
+        
+        // Then
+        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user);
+        assertAmount("60.00", summary.getTotalAmount());
+        assertAmount("40.00", summary.getTotalCashAmount());
+        assertEquals(3, summary.getTotalTransactions());
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+    }
+    
+    @Test
+    void testCreateExpenses_RejectsRepeatedUpiTransactions() {
+        // Given
+        Expense stored = expenseService.createExpense(expense("Travel", PaymentMethod.UPI, "20.00"), user);
+        Expense first = expense("Food", PaymentMethod.UPI, "5.00");
+        Expense storedAgain = expense("Travel", PaymentMethod.UPI, "20.00");
+        storedAgain.setTransactionId(stored.getTransactionId());
+        Expense repeated = expense("Food", PaymentMethod.UPI, "5.00");
+        repeated.setTransactionId(first.getTransactionId());
+        Expense cashWithSameId = expense("Food", PaymentMethod.CASH, "5.00");
+        cashWithSameId.setTransactionId(first.getTransactionId());
+        List<Expense> expenses = List.of(
+                first,
+                storedAgain,
+                repeated,
+                cashWithSameId,
+                expense("Rent", PaymentMethod.UPI, "30.00"));
+        
+        // When
+        BulkExpenseResultDTO result = bulkService.createExpenses(expenses, user);
+        
+        // Then - the rows sharing a chunk with the duplicates are still saved
+        assertEquals(3, result.getCreated());
+        assertNotNull(result.getRows().get(0).getId());
+        assertEquals(List.of("Transaction ID " + stored.getTransactionId() + " is already stored"),
+                result.getRows().get(1).getErrors());
+        assertEquals(List.of("Transaction ID " + first.getTransactionId() + " is repeated from row 0"),
+                result.getRows().get(2).getErrors());
+        assertNotNull(result.getRows().get(3).getId());
+        assertNotNull(result.getRows().get(4).getId());
+        
+        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user);
+        assertAmount("60.00", summary.getTotalAmount());
+        assertEquals(4, summary.getTotalTransactions());
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+    }
+    
+    @Test
+    void testCreateExpenses_RejectsOversizedRequest() {
+        // Given
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            expenses.add(expense("Food", PaymentMethod.CASH, "1.00"));
+        }
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bulkService.createExpenses(expenses, user));
+        assertEquals(0, expenseRepository.findByUserOrderByExpenseDateDesc(user).size());
+    }
+}
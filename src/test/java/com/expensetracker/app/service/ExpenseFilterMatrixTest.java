@@ -0,0 +1,179 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.dto.ExpenseFilterDTO;
+import com.expensetracker.app.dto.ExpenseListItemDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks that every combination of ExpenseFilterDTO criteria returns the same rows
+ * as the previous in-memory filtering, using a single SQL statement.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExpenseFilterMatrixTest {
+    
+    private static final LocalDate START = LocalDate.of(2024, 1, 10);
+    private static final LocalDate END = LocalDate.of(2024, 1, 20);
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private User owner;
+    
+    private List<Expense> ownerExpenses;
+    
+    @BeforeEach
+    void setUp() {
+        expenseRepository.deleteAll();
+        owner = userRepository.save(new User("matrixowner", "matrix-owner@example.com", "password"));
+        User other = userRepository.save(new User("matrixother", "matrix-other@example.com", "password"));
+        
+        ownerExpenses = new ArrayList<>();
+        String[] categories = {"Food", "Travel", "Utilities"};
+        for (int i = 0; i < 30; i++) {
+            PaymentMethod method = i % 2 == 0 ? PaymentMethod.CASH : PaymentMethod.UPI;
+            LocalDate date = LocalDate.of(2024, 1, 1).plusDays(i);
+            ownerExpenses.add(expenseRepository.save(
+                    createExpense(owner, categories[i % 3], method, date, i)));
+            // Identical rows for another user must never leak into the owner's results
+            expenseRepository.save(createExpense(other, categories[i % 3], method, date, i));
+        }
+        
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    static Stream<Arguments> filterCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (int mask = 0; mask < 32; mask++) {
+            combinations.add(Arguments.of(new ExpenseFilterDTO(
+                    (mask & 1) != 0 ? "Food" : null,
+                    (mask & 2) != 0 ? PaymentMethod.UPI : null,
+                    (mask & 4) != 0 ? START : null,
+                    (mask & 4) != 0 ? END : null,
+                    (mask & 8) != 0 ? "SHOP1" : null,
+                    (mask & 16) != 0 ? "txn-1" : null)));
+        }
+        return combinations.stream();
+    }
+    
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void testFilterCombination_MatchesLegacyResultsInOneStatement(ExpenseFilterDTO filter) {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        // When
+        List<Expense> result = expenseService.getFilteredExpenses(filter, owner);
+        
+        // Then
+        assertEquals(legacyFilter(filter), ids(result), filter.toString());
+        assertEquals(1, statistics.getPrepareStatementCount(), filter.toString());
+    }
+    
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void testExpenseList_MatchesFilteredEntitiesWithoutLoadingThem(ExpenseFilterDTO filter) {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        // When
+        List<ExpenseListItemDTO> result = expenseService.getExpenseList(filter, owner);
+        
+        // Then
+        assertEquals(legacyFilter(filter),
+                result.stream().map(ExpenseListItemDTO::getId).collect(Collectors.toCollection(TreeSet::new)),
+                filter.toString());
+        assertEquals(1, statistics.getPrepareStatementCount(), filter.toString());
+        assertEquals(0, statistics.getEntityLoadCount(), filter.toString());
+    }
+    
+    @Test
+    void testHalfOpenDateRange_IsApplied() {
+        // Previously a start date without an end date was silently ignored
+        ExpenseFilterDTO filter = new ExpenseFilterDTO(null, null, END, null, null, null);
+        
+        List<Expense> result = expenseService.getFilteredExpenses(filter, owner);
+        
+        assertFalse(result.isEmpty());
+        assertEquals(ownerExpenses.stream()
+                .filter(e -> !e.getExpenseDate().isBefore(END))
+                .map(Expense::getId)
+                .collect(Collectors.toCollection(TreeSet::new)), ids(result));
+    }
+    
+    /**
+     * Reference implementation of the former in-memory filtering rules
+     */
+    private Set<Long> legacyFilter(ExpenseFilterDTO filter) {
+        return ownerExpenses.stream()
+                .filter(e -> filter.getCategory() == null || e.getCategory().equals(filter.getCategory()))
+                .filter(e -> filter.getPaymentMethod() == null || e.getPaymentMethod() == filter.getPaymentMethod())
+                .filter(e -> filter.getStartDate() == null || filter.getEndDate() == null
+                        || (!e.getExpenseDate().isBefore(filter.getStartDate())
+                                && !e.getExpenseDate().isAfter(filter.getEndDate())))
+                .filter(e -> filter.getUpiVpa() == null || (e.getUpiVpa() != null
+                        && e.getUpiVpa().toLowerCase().contains(filter.getUpiVpa().toLowerCase())))
+                .filter(e -> filter.getTransactionId() == null || (e.getTransactionId() != null
+                        && e.getTransactionId().toLowerCase().contains(filter.getTransactionId().toLowerCase())))
+                .map(Expense::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+    
+    private Set<Long> ids(List<Expense> expenses) {
+        return expenses.stream().map(Expense::getId).collect(Collectors.toCollection(TreeSet::new));
+    }
+    
+    private Expense createExpense(User user, String category, PaymentMethod method, LocalDate date, int index) {
+        Expense expense = new Expense(new BigDecimal("10.00").add(BigDecimal.valueOf(index)), category, date, method, user);
+        if (method == PaymentMethod.UPI) {
+            expense.setUpiVpa("shop" + (index % 4) + "@upi");
+            expense.setTransactionId("TXN-" + index);
+            expense.setPayerName("Payer " + index);
+        }
+        return expense;
+    }
+}
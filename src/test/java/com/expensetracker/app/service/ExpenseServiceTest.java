@@ -4,22 +4,42 @@ import com.expensetracker.app.dto.ExpenseFilterDTO;
 import com.expensetracker.app.dto.ExpenseSummaryDTO;
 import com.expensetracker.app.model.Expense;
 import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.repository.CategoryTotalProjection;
+import com.expensetracker.app.repository.CategoryDictionary;
 import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.ExpenseSearchIndex;
+import com.expensetracker.app.repository.ExpenseStateProjection;
+import com.expensetracker.app.repository.PaymentMethodTotalProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,13 +51,39 @@ class ExpenseServiceTest {
     @Mock
     private ExpenseRepository expenseRepository;
     
+    @Mock
+    private ExpenseSummaryService expenseSummaryService;
+    
+    @Mock
+    private DataVersionService dataVersionService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Mock
+    private ExpenseSearchIndex searchIndex;
+
+    @Spy
+    private UserCategoryCache userCategoryCache = new UserCategoryCache(100, Duration.ofMinutes(5));
+
+    @Mock
+    private ApplicationMetrics applicationMetrics;
+    
     @InjectMocks
     private ExpenseService expenseService;
     
     private Expense testExpense;
     
+    private User testUser;
+    
     @BeforeEach
     void setUp() {
+        testUser = new User("testuser", "test@example.com", "password");
+        testUser.setId(1L);
+        
         testExpense = new Expense();
         testExpense.setId(1L);
         testExpense.setAmount(new BigDecimal("100.00"));
@@ -45,6 +91,7 @@ class ExpenseServiceTest {
         testExpense.setExpenseDate(LocalDate.now());
         testExpense.setPaymentMethod(PaymentMethod.CASH);
         testExpense.setNotes("Test expense");
+        testExpense.setUser(testUser);
     }
     
     @Test
@@ -53,13 +100,14 @@ class ExpenseServiceTest {
         when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
         
         // When
-        Expense result = expenseService.createExpense(testExpense);
+        Expense result = expenseService.createExpense(testExpense, testUser);
         
         // Then
         assertNotNull(result);
         assertEquals(testExpense.getId(), result.getId());
         assertEquals(testExpense.getAmount(), result.getAmount());
         verify(expenseRepository, times(1)).save(testExpense);
+        verify(dataVersionService).bump(testUser);
     }
     
     @Test
@@ -69,7 +117,7 @@ class ExpenseServiceTest {
         
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
-            expenseService.createExpense(testExpense);
+            expenseService.createExpense(testExpense, testUser);
         });
         
         verify(expenseRepository, never()).save(any(Expense.class));
@@ -82,7 +130,7 @@ class ExpenseServiceTest {
         
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
-            expenseService.createExpense(testExpense);
+            expenseService.createExpense(testExpense, testUser);
         });
         
         verify(expenseRepository, never()).save(any(Expense.class));
@@ -96,7 +144,7 @@ class ExpenseServiceTest {
         
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
-            expenseService.createExpense(testExpense);
+            expenseService.createExpense(testExpense, testUser);
         });
         
         verify(expenseRepository, never()).save(any(Expense.class));
@@ -113,57 +161,99 @@ class ExpenseServiceTest {
         updatedExpense.setUpiVpa("test@upi");
         updatedExpense.setTransactionId("TXN123");
         
-        when(expenseRepository.findById(1L)).thenReturn(Optional.of(testExpense));
-        when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
+        when(expenseRepository.findStateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(storedState(3L)));
+        when(expenseRepository.updateOwned(updatedExpense, 1L, 3L)).thenReturn(1);
         
         // When
-        Expense result = expenseService.updateExpense(1L, updatedExpense);
+        Expense result = expenseService.updateExpense(1L, updatedExpense, testUser);
         
         // Then
         assertNotNull(result);
-        verify(expenseRepository, times(1)).findById(1L);
-        verify(expenseRepository, times(1)).save(any(Expense.class));
+        assertEquals(1L, result.getId());
+        verify(expenseRepository, times(1)).updateOwned(updatedExpense, 1L, 3L);
+        verify(expenseRepository, never()).save(any(Expense.class));
+        verify(dataVersionService).bump(testUser);
     }
     
     @Test
     void testUpdateExpense_NotFound() {
+        // Given - also the answer for another user's expense
+        when(expenseRepository.findStateByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThrows(EmptyResultDataAccessException.class, () -> {
+            expenseService.updateExpense(1L, testExpense, testUser);
+        });
+        
+        verify(expenseRepository, never()).updateOwned(any(Expense.class), any(Long.class), anyLong());
+    }
+    
+    @Test
+    void testUpdateExpense_StaleVersion() {
         // Given
-        when(expenseRepository.findById(1L)).thenReturn(Optional.empty());
+        testExpense.setVersion(2L);
+        when(expenseRepository.findStateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(storedState(3L)));
         
         // When & Then
-        assertThrows(IllegalArgumentException.class, () -> {
-            expenseService.updateExpense(1L, testExpense);
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            expenseService.updateExpense(1L, testExpense, testUser);
         });
         
-        verify(expenseRepository, times(1)).findById(1L);
-        verify(expenseRepository, never()).save(any(Expense.class));
+        verify(expenseRepository, never()).updateOwned(any(Expense.class), any(Long.class), anyLong());
+        verify(dataVersionService, never()).bump(testUser);
+    }
+    
+    @Test
+    void testUpdateExpense_ConcurrentChange() {
+        // Given - the version changed between the read and the UPDATE
+        when(expenseRepository.findStateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(storedState(3L)));
+        when(expenseRepository.updateOwned(testExpense, 1L, 3L)).thenReturn(0);
+        
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            expenseService.updateExpense(1L, testExpense, testUser);
+        });
+        
+        verify(expenseSummaryService, never()).recordUpdated(any(), any(), any());
     }
     
     @Test
     void testDeleteExpense_Success() {
         // Given
-        when(expenseRepository.existsById(1L)).thenReturn(true);
+        when(expenseRepository.findStateByIdAndUserId(1L, 1L)).thenReturn(Optional.of(storedState(3L)));
+        when(expenseRepository.deleteOwned(1L, 1L, 3L)).thenReturn(1);
         
         // When
-        expenseService.deleteExpense(1L);
+        expenseService.deleteExpense(1L, testUser);
         
         // Then
-        verify(expenseRepository, times(1)).existsById(1L);
-        verify(expenseRepository, times(1)).deleteById(1L);
+        verify(expenseRepository, times(1)).deleteOwned(1L, 1L, 3L);
+        verify(expenseRepository, never()).deleteById(any(Long.class));
+        verify(dataVersionService).bump(testUser);
     }
     
     @Test
     void testDeleteExpense_NotFound() {
         // Given
-        when(expenseRepository.existsById(1L)).thenReturn(false);
+        when(expenseRepository.findStateByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
         
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
-            expenseService.deleteExpense(1L);
+            expenseService.deleteExpense(1L, testUser);
         });
         
-        verify(expenseRepository, times(1)).existsById(1L);
-        verify(expenseRepository, never()).deleteById(any(Long.class));
+        verify(expenseRepository, never()).deleteOwned(any(Long.class), any(Long.class), anyLong());
+    }
+    
+    @Test
+    void testDeleteExpenses_TooManyIds() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, ExpenseService.MAX_BULK_IDS + 1).boxed().toList();
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> expenseService.deleteExpenses(ids, testUser));
+        assertThrows(IllegalArgumentException.class, () -> expenseService.deleteExpenses(List.of(), testUser));
+        verify(expenseRepository, never()).deleteAllOwned(any(), any(Long.class));
     }
     
     @Test
@@ -172,7 +262,7 @@ class ExpenseServiceTest {
         when(expenseRepository.findById(1L)).thenReturn(Optional.of(testExpense));
         
         // When
-        Expense result = expenseService.getExpenseById(1L);
+        Expense result = expenseService.getExpenseById(1L, testUser);
         
         // Then
         assertNotNull(result);
@@ -187,7 +277,7 @@ class ExpenseServiceTest {
         
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
-            expenseService.getExpenseById(1L);
+            expenseService.getExpenseById(1L, testUser);
         });
         
         verify(expenseRepository, times(1)).findById(1L);
@@ -197,16 +287,16 @@ class ExpenseServiceTest {
     void testGetAllExpenses() {
         // Given
         List<Expense> expenses = Arrays.asList(testExpense);
-        when(expenseRepository.findAllByOrderByExpenseDateDesc()).thenReturn(expenses);
+        when(expenseRepository.findByUserOrderByExpenseDateDesc(testUser)).thenReturn(expenses);
         
         // When
-        List<Expense> result = expenseService.getAllExpenses();
+        List<Expense> result = expenseService.getAllExpenses(testUser);
         
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testExpense.getId(), result.get(0).getId());
-        verify(expenseRepository, times(1)).findAllByOrderByExpenseDateDesc();
+        verify(expenseRepository, times(1)).findByUserOrderByExpenseDateDesc(testUser);
     }
     
     @Test
@@ -214,15 +304,15 @@ class ExpenseServiceTest {
         // Given
         ExpenseFilterDTO filter = new ExpenseFilterDTO();
         List<Expense> expenses = Arrays.asList(testExpense);
-        when(expenseRepository.findAllByOrderByExpenseDateDesc()).thenReturn(expenses);
+        when(expenseRepository.findByUserOrderByExpenseDateDesc(testUser)).thenReturn(expenses);
         
         // When
-        List<Expense> result = expenseService.getFilteredExpenses(filter);
+        List<Expense> result = expenseService.getFilteredExpenses(filter, testUser);
         
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(expenseRepository, times(1)).findAllByOrderByExpenseDateDesc();
+        verify(expenseRepository, times(1)).findByUserOrderByExpenseDateDesc(testUser);
     }
     
     @Test
@@ -231,22 +321,28 @@ class ExpenseServiceTest {
         ExpenseFilterDTO filter = new ExpenseFilterDTO();
         filter.setCategory("Food");
         List<Expense> expenses = Arrays.asList(testExpense);
-        when(expenseRepository.findByCategory("Food")).thenReturn(expenses);
+        when(expenseRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(expenses);
         
         // When
-        List<Expense> result = expenseService.getFilteredExpenses(filter);
+        List<Expense> result = expenseService.getFilteredExpenses(filter, testUser);
         
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(expenseRepository, times(1)).findByCategory("Food");
+        verify(expenseRepository, times(1)).findAll(any(Specification.class), any(Sort.class));
+        verify(expenseRepository, never()).findByUserOrderByExpenseDateDesc(any(User.class));
     }
     
     @Test
     void testGetExpenseSummary() {
         // Given
-        List<Expense> expenses = Arrays.asList(testExpense);
-        when(expenseRepository.findAll()).thenReturn(expenses);
+        ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+        when(expenseRepository.getCategoryTotals()).thenReturn(List.of(
+                projections.createProjection(CategoryTotalProjection.class, Map.of(
+                        "category", "Food", "totalAmount", new BigDecimal("100.00"), "transactionCount", 1L))));
+        when(expenseRepository.getPaymentMethodTotals()).thenReturn(List.of(
+                projections.createProjection(PaymentMethodTotalProjection.class, Map.of(
+                        "paymentMethod", PaymentMethod.CASH, "totalAmount", new BigDecimal("100.00"), "transactionCount", 1L))));
         
         // When
         ExpenseSummaryDTO result = expenseService.getExpenseSummary();
@@ -254,20 +350,21 @@ class ExpenseServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(new BigDecimal("100.00"), result.getTotalAmount());
+        assertEquals(new BigDecimal("100.00"), result.getTotalCashAmount());
         assertEquals(1L, result.getTotalTransactions());
         assertNotNull(result.getCategoryTotals());
         assertNotNull(result.getPaymentMethodTotals());
-        verify(expenseRepository, times(1)).findAll();
+        verify(expenseRepository, never()).findAll();
     }
     
     @Test
     void testGetDistinctCategories() {
         // Given
         List<String> categories = Arrays.asList("Food", "Travel", "Utilities");
-        when(expenseRepository.findDistinctCategories()).thenReturn(categories);
+        when(expenseRepository.findDistinctCategoriesByUser(testUser)).thenReturn(categories);
         
         // When
-        List<String> result = expenseService.getDistinctCategories();
+        List<String> result = expenseService.getDistinctCategories(testUser);
         
         // Then
         assertNotNull(result);
@@ -275,6 +372,43 @@ class ExpenseServiceTest {
         assertTrue(result.contains("Food"));
         assertTrue(result.contains("Travel"));
         assertTrue(result.contains("Utilities"));
-        verify(expenseRepository, times(1)).findDistinctCategories();
+        verify(expenseRepository, times(1)).findDistinctCategoriesByUser(testUser);
+    }
+    
+    @Test
+    void testGetDistinctCategories_CachedUntilCategoryChanges() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        userCategoryCache.bindTo(registry);
+        when(expenseRepository.findDistinctCategoriesByUser(testUser)).thenReturn(List.of("Travel", "Food"));
+        expenseService.getDistinctCategories(testUser);
+        
+        // When - a new category is added in place, a kept one changes nothing
+        testExpense.setCategory("Bills");
+        userCategoryCache.onExpenseChange(ExpenseChangeEvent.created(testUser, testExpense));
+        userCategoryCache.onExpenseChange(ExpenseChangeEvent.updated(testUser, testExpense, "Bills"));
+        List<String> cached = expenseService.getDistinctCategories(testUser);
+        
+        // Then
+        assertEquals(List.of("Bills", "Food", "Travel"), cached);
+        verify(expenseRepository, times(1)).findDistinctCategoriesByUser(testUser);
+        
+        // When - a category may have lost its last expense
+        userCategoryCache.onExpenseChange(ExpenseChangeEvent.updated(testUser, testExpense, "Travel"));
+        expenseService.getDistinctCategories(testUser);
+        userCategoryCache.onExpenseChange(ExpenseChangeEvent.deleted(testUser, 1L));
+        expenseService.getDistinctCategories(testUser);
+        
+        // Then
+        verify(expenseRepository, times(3)).findDistinctCategoriesByUser(testUser);
+        assertEquals(3.0, registry.get("cache.gets").tag("cache", UserCategoryCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+    
+    private ExpenseStateProjection storedState(long version) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ExpenseStateProjection.class, Map.of(
+                "id", 1L, "amount", new BigDecimal("100.00"), "category", "Food",
+                "paymentMethod", PaymentMethod.CASH, "expenseDate", LocalDate.now(), "version", version,
+                "createdAt", LocalDateTime.now()));
     }
 }
@@ -0,0 +1,174 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.expensetracker.app.dto.AuthenticatedUser;
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+
+/**
+ * Unit tests for ExpenseStreamService
+ */
+@ExtendWith(MockitoExtension.class)
+class ExpenseStreamServiceTest {
+    
+    @Mock
+    private ExpenseService expenseService;
+    
+    @Mock
+    private AuthService authService;
+    
+    private final List<Runnable> pending = new ArrayList<>();
+    
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    
+    private User testUser;
+    
+    private AuthenticatedUser principal;
+    
+    @BeforeEach
+    void setUp() {
+        testUser = new User("streamuser", "stream@example.com", "password");
+        testUser.setId(1L);
+        principal = AuthenticatedUser.of(testUser);
+    }
+    
+    @Test
+    void testSubscribe_SendsSummaryThenDeltas() {
+        // Given
+        stubSummary();
+        ExpenseStreamService service = service(Runnable::run, 8, 8);
+        RecordingEmitter emitter = subscribe(service);
+        
+        // When
+        service.onExpenseChange(ExpenseChangeEvent.created(testUser, expense(10L)));
+        service.onExpenseChange(ExpenseChangeEvent.deleted(testUser, 10L));
+        
+        // Then
+        assertEquals(List.of(ExpenseStreamService.SUMMARY,
+                ExpenseStreamService.CREATED, ExpenseStreamService.SUMMARY,
+                ExpenseStreamService.DELETED, ExpenseStreamService.SUMMARY), emitter.eventNames());
+        assertTrue(emitter.messages.get(1).contains("Food"));
+    }
+    
+    @Test
+    void testOnExpenseChange_WithoutSubscribers_DoesNoWork() {
+        // Given
+        ExpenseStreamService service = service(Runnable::run, 8, 8);
+        
+        // When
+        service.onExpenseChange(ExpenseChangeEvent.created(testUser, expense(10L)));
+        
+        // Then
+        verify(expenseService, never()).getExpenseSummary(any(User.class));
+        assertEquals(0, service.getSubscriberCount(testUser.getId()));
+    }
+    
+    @Test
+    void testSlowSubscriber_IsToldToResyncInsteadOfBuffering() {
+        // Given a pool that has not run anything yet
+        ExpenseStreamService service = service(pending::add, 4, 8);
+        RecordingEmitter emitter = subscribe(service);
+        pending.clear();
+        
+        // When more changes arrive than the buffer holds
+        for (long id = 1; id <= 10; id++) {
+            service.onExpenseChange(ExpenseChangeEvent.deleted(testUser, id));
+        }
+        runPending();
+        
+        // Then the dropped deltas are replaced by one resync, followed by what arrived after it
+        assertEquals(List.of(ExpenseStreamService.RESYNC, ExpenseStreamService.DELETED), emitter.eventNames());
+        assertTrue(emitter.messages.get(1).contains("10"));
+    }
+    
+    @Test
+    void testSubscribe_RejectsBeyondLimitPerUser() {
+        // Given
+        ExpenseStreamService service = service(pending::add, 8, 2);
+        subscribe(service);
+        subscribe(service);
+        
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> service.subscribe(principal));
+        assertEquals(2, service.getSubscriberCount(testUser.getId()));
+    }
+    
+    private ExpenseStreamService service(Executor executor, int bufferSize, int maxSubscribersPerUser) {
+        return new ExpenseStreamService(expenseService, authService, executor,
+                Duration.ofMinutes(1), bufferSize, maxSubscribersPerUser) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+    
+    private RecordingEmitter subscribe(ExpenseStreamService service) {
+        service.subscribe(principal);
+        return emitters.get(emitters.size() - 1);
+    }
+    
+    private void stubSummary() {
+        when(authService.loadAuthenticatedUser("streamuser")).thenReturn(principal);
+        when(expenseService.getExpenseSummary(any(User.class))).thenReturn(
+                new ExpenseSummaryDTO(new BigDecimal("10.00"), new BigDecimal("10.00"), BigDecimal.ZERO, 1L));
+    }
+    
+    private void runPending() {
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+        }
+    }
+    
+    private Expense expense(Long id) {
+        Expense expense = new Expense(new BigDecimal("10.00"), "Food", LocalDate.of(2024, 3, 1), PaymentMethod.CASH, testUser);
+        expense.setId(id);
+        return expense;
+    }
+    
+    /**
+     * Emitter recording what is sent instead of writing to a response
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        
+        private final List<String> messages = new ArrayList<>();
+        
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            messages.add(items.stream().map(item -> String.valueOf(item.getData())).collect(Collectors.joining()));
+        }
+        
+        List<String> eventNames() {
+            return messages.stream()
+                    .map(message -> message.substring("event:".length(), message.indexOf('\n')))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.expensetracker.app.model.ExpenseFixtures.assertAmount;
+import static com.expensetracker.app.model.ExpenseFixtures.expense;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.app.dto.ExpenseSummaryDTO;
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+import com.expensetracker.app.model.User;
+import com.expensetracker.app.model.UserMonthlyTotal;
+import com.expensetracker.app.repository.ExpenseRepository;
+import com.expensetracker.app.repository.UserMonthlyTotalRepository;
+import com.expensetracker.app.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for the incrementally maintained summary aggregates
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExpenseSummaryServiceTest {
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Autowired
+    private ExpenseSummaryService expenseSummaryService;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserMonthlyTotalRepository monthlyTotalRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("summaryuser", "summary@example.com", "password"));
+        user.setBudget(new BigDecimal("1000.00"));
+    }
+    
+    @Test
+    void testCreateUpdateDelete_KeepAggregatesConsistent() {
+        // Given
+        Expense food = expenseService.createExpense(expense("Food", PaymentMethod.CASH, "40.00"), user);
+        Expense travel = expenseService.createExpense(expense("Travel", PaymentMethod.UPI, "60.00"), user);
+        expenseService.createExpense(expense("Food", PaymentMethod.UPI, "25.50"), user);
+        
+        // When
+        Expense change = expense("Utilities", PaymentMethod.UPI, "45.00");
+        expenseService.updateExpense(food.getId(), change, user);
+        expenseService.deleteExpense(travel.getId(), user);
+        
+        // Then
+        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user);
+        assertAmount("70.50", summary.getTotalAmount());
+        assertAmount("0", summary.getTotalCashAmount());
+        assertAmount("70.50", summary.getTotalUpiAmount());
+        assertEquals(2, summary.getTotalTransactions());
+        assertAmount("929.50", summary.getRemainingBudget());
+        assertEquals(Map.of("Food", new BigDecimal("25.50"), "Utilities", new BigDecimal("45.00")),
+                summary.getCategoryTotals());
+        assertEquals(1, summary.getPaymentMethodTotals().size());
+        assertAmount("70.50", summary.getPaymentMethodTotals().get("UPI"));
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+    }
+    
+    @Test
+    void testUpdateMovingMonth_KeepsMonthlyRollupsConsistent() {
+        // Given
+        Expense march = expense("Food", PaymentMethod.CASH, "40.00");
+        march.setExpenseDate(LocalDate.of(2024, 3, 10));
+        march = expenseService.createExpense(march, user);
+        Expense april = expense("Food", PaymentMethod.CASH, "15.00");
+        april.setExpenseDate(LocalDate.of(2024, 4, 2));
+        expenseService.createExpense(april, user);
+        
+        // When - only the date changes, which moves the expense between monthly rollups
+        Expense change = expense("Food", PaymentMethod.CASH, "40.00");
+        change.setExpenseDate(LocalDate.of(2024, 4, 20));
+        expenseService.updateExpense(march.getId(), change, user);
+        
+        // Then
+        List<UserMonthlyTotal> rollups = monthlyTotalRepository.findByUserId(user.getId());
+        assertEquals(1, rollups.size());
+        assertEquals(4, rollups.get(0).getExpenseMonth());
+        assertAmount("55.00", rollups.get(0).getTotalAmount());
+        assertEquals(2, rollups.get(0).getTransactionCount());
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+    }
+    
+    @Test
+    void testBulkDeleteAndRecategorize_KeepAggregatesConsistent() {
+        // Given
+        Expense food = expenseService.createExpense(expense("Food", PaymentMethod.CASH, "40.00"), user);
+        Expense travel = expenseService.createExpense(expense("Travel", PaymentMethod.UPI, "60.00"), user);
+        Expense rent = expenseService.createExpense(expense("Rent", PaymentMethod.CASH, "500.00"), user);
+        expenseService.createExpense(expense("Bills", PaymentMethod.UPI, "30.00"), user);
+        User other = userRepository.save(new User("summaryother", "summary-other@example.com", "password"));
+        Expense othersExpense = expenseService.createExpense(
+                new Expense(new BigDecimal("9.00"), "Food", LocalDate.now(), PaymentMethod.CASH, other), other);
+        
+        // When - another user's expense is skipped
+        List<Long> moved = expenseService.recategorizeExpenses(
+                List.of(food.getId(), travel.getId(), othersExpense.getId()), "Misc", user);
+        List<Long> deleted = expenseService.deleteExpenses(
+                List.of(rent.getId(), travel.getId(), othersExpense.getId()), user);
+        
+        // Then
+        assertEquals(Set.of(food.getId(), travel.getId()), Set.copyOf(moved));
+        assertEquals(Set.of(rent.getId(), travel.getId()), Set.copyOf(deleted));
+        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user);
+        assertAmount("70.00", summary.getTotalAmount());
+        assertEquals(2, summary.getTotalTransactions());
+        assertEquals(Map.of("Misc", new BigDecimal("40.00"), "Bills", new BigDecimal("30.00")),
+                summary.getCategoryTotals());
+        assertEquals(1L, expenseRepository.findById(food.getId()).orElseThrow().getVersion());
+        assertTrue(expenseRepository.findById(othersExpense.getId()).isPresent());
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+        assertTrue(expenseSummaryService.findInconsistencies(other).isEmpty());
+    }
+    
+    @Test
+    void testUpdateAndDelete_OneStatementEachAfterTheStateRead() {
+        // Given
+        Expense food = expenseService.createExpense(expense("Food", PaymentMethod.CASH, "40.00"), user);
+        Expense travel = expenseService.createExpense(expense("Travel", PaymentMethod.CASH, "60.00"), user);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        
+        // When
+        Expense change = expense("Food", PaymentMethod.CASH, "45.00");
+        change.setVersion(food.getVersion());
+        statistics.clear();
+        Expense updated = expenseService.updateExpense(food.getId(), change, user);
+        long updateEntityLoads = statistics.getEntityLoadCount();
+        long updateStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        expenseService.deleteExpense(travel.getId(), user);
+        entityManager.flush();
+        
+        // Then - no expense entity is hydrated; a stale version is refused
+        assertEquals(0, updateEntityLoads);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(updateStatements > 0);
+        assertEquals(food.getVersion() + 1, updated.getVersion());
+        assertEquals(1L, expenseRepository.findById(food.getId()).orElseThrow().getVersion());
+        Expense stale = expense("Food", PaymentMethod.CASH, "99.00");
+        stale.setVersion(0L);
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> expenseService.updateExpense(food.getId(), stale, user));
+        assertAmount("45.00", expenseService.getExpenseSummary(user).getTotalAmount());
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+    }
+    
+    @Test
+    void testUpdate_DetachesOnlyTheUpdatedExpense() {
+        // Given - both expenses loaded into the persistence context
+        Expense food = expenseService.createExpense(expense("Food", PaymentMethod.CASH, "40.00"), user);
+        Expense travel = expenseService.createExpense(expense("Travel", PaymentMethod.CASH, "60.00"), user);
+        entityManager.flush();
+        entityManager.clear();
+        Expense loadedFood = expenseRepository.findById(food.getId()).orElseThrow();
+        Expense loadedTravel = expenseRepository.findById(travel.getId()).orElseThrow();
+        
+        // When
+        expenseService.updateExpense(food.getId(), expense("Food", PaymentMethod.CASH, "45.00"), user);
+        
+        // Then - the stale copy is gone, the other expense is still managed
+        assertFalse(entityManager.contains(loadedFood));
+        assertTrue(entityManager.contains(loadedTravel));
+        assertAmount("45.00", expenseRepository.findById(food.getId()).orElseThrow().getAmount());
+    }
+    
+    @Test
+    void testGetSummary_BuildsAggregatesForExistingLedger() {
+        // Given - rows written before aggregates existed
+        expenseRepository.save(expense(user, "Food", PaymentMethod.CASH, "10.00", LocalDate.now()));
+        expenseRepository.save(expense(user, "Food", PaymentMethod.CASH, "15.00", LocalDate.now()));
+        
+        // When
+        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user);
+        
+        // Then
+        assertAmount("25.00", summary.getTotalAmount());
+        assertEquals(2, summary.getTotalTransactions());
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testConcurrentFirstWrites_BothCountedOnce() throws Exception {
+        // Given - a user without aggregates, committed so two transactions can see it
+        User racer = userRepository.save(new User("summaryracer", "summary-racer@example.com", "password"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            // When - both first writes find no summary row and build it
+            Future<Expense> first = executor.submit(() -> {
+                start.await();
+                return expenseService.createExpense(
+                        new Expense(new BigDecimal("10.00"), "Food", LocalDate.now(), PaymentMethod.CASH, racer), racer);
+            });
+            Future<Expense> second = executor.submit(() -> {
+                start.await();
+                return expenseService.createExpense(
+                        new Expense(new BigDecimal("15.00"), "Travel", LocalDate.now(), PaymentMethod.CASH, racer), racer);
+            });
+            start.countDown();
+            first.get();
+            second.get();
+            
+            // Then - neither failed on the summary key and the aggregates hold both
+            assertAmount("25.00", expenseSummaryService.findSummary(racer).orElseThrow().getTotalAmount());
+            assertTrue(expenseSummaryService.findInconsistencies(racer).isEmpty());
+        } finally {
+            executor.shutdownNow();
+            for (String table : List.of("expenses", "user_category_totals", "user_monthly_totals",
+                    "user_expense_summaries")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", racer.getId());
+            }
+            userRepository.deleteById(racer.getId());
+            userRepository.deleteById(user.getId());
+        }
+    }
+    
+    @Test
+    void testConsistencyCheckAndRebuild_RepairDrift() {
+        // Given
+        expenseService.createExpense(expense("Food", PaymentMethod.CASH, "10.00"), user);
+        // A write that bypasses the service leaves the aggregates stale
+        expenseRepository.save(expense(user, "Travel", PaymentMethod.UPI, "30.00", LocalDate.now()));
+        
+        // When
+        boolean driftDetected = !expenseSummaryService.findInconsistencies(user).isEmpty();
+        ExpenseSummaryDTO repaired = expenseService.rebuildExpenseSummary(user);
+        
+        // Then
+        assertTrue(driftDetected);
+        assertTrue(expenseSummaryService.findInconsistencies(user).isEmpty());
+        assertAmount("40.00", repaired.getTotalAmount());
+        assertEquals(2, repaired.getTotalTransactions());
+    }
+    
+    @Test
+    void testGetExpenseSummary_DateRangeAggregatesInDatabase() {
+        // Given
+        Expense old = expense("Food", PaymentMethod.CASH, "10.00");
+        old.setExpenseDate(LocalDate.now().minusMonths(2));
+        expenseService.createExpense(old, user);
+        expenseService.createExpense(expense("Food", PaymentMethod.UPI, "20.00"), user);
+        expenseService.createExpense(expense("Travel", PaymentMethod.CASH, "5.00"), user);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        // When
+        ExpenseSummaryDTO summary = expenseService.getExpenseSummary(user, LocalDate.now().minusDays(7), null);
+        
+        // Then - two grouped queries, no expense entities hydrated
+        assertAmount("25.00", summary.getTotalAmount());
+        assertAmount("5.00", summary.getTotalCashAmount());
+        assertAmount("20.00", summary.getTotalUpiAmount());
+        assertEquals(2, summary.getTotalTransactions());
+        assertAmount("20.00", summary.getCategoryTotals().get("Food"));
+        assertAmount("975.00", summary.getRemainingBudget());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,191 @@
+package com.expensetracker.app.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.app.model.Expense;
+import com.expensetracker.app.model.PaymentMethod;
+
+/**
+ * Unit tests for IdempotencyKeyStore
+ */
+class IdempotencyKeyStoreTest {
+
+    private static final byte[] REQUEST = "{\"amount\":10.00}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final IdempotencyKeyStore store = new IdempotencyKeyStore(2, Duration.ofHours(24), Duration.ofSeconds(5), nanos::get);
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Test
+    void testCreateOnce_ReplaysFirstResult() {
+        // When
+        IdempotencyKeyStore.Result first = store.createOnce(1L, "key-a", REQUEST, this::create);
+        IdempotencyKeyStore.Result retry = store.createOnce(1L, "key-a", REQUEST, this::create);
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertSame(first.expense(), retry.expense());
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void testCreateOnce_KeysAreScopedToUser() {
+        // When
+        IdempotencyKeyStore.Result alice = store.createOnce(1L, "key-a", REQUEST, this::create);
+        IdempotencyKeyStore.Result bob = store.createOnce(2L, "key-a", REQUEST, this::create);
+
+        // Then
+        assertFalse(bob.replayed());
+        assertEquals(2, creates.get());
+        assertEquals(1L, alice.expense().getId());
+        assertEquals(2L, bob.expense().getId());
+    }
+
+    @Test
+    void testCreateOnce_FailureIsNotRemembered() {
+        // Given
+        assertThrows(IllegalArgumentException.class, () -> store.createOnce(1L, "key-a", REQUEST, () -> {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }));
+
+        // When
+        IdempotencyKeyStore.Result retry = store.createOnce(1L, "key-a", REQUEST, this::create);
+
+        // Then
+        assertFalse(retry.replayed());
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void testCreateOnce_KeyExpiresAfterTtl() {
+        // Given
+        store.createOnce(1L, "key-a", REQUEST, this::create);
+
+        // When
+        nanos.addAndGet(Duration.ofHours(24).plusSeconds(1).toNanos());
+        IdempotencyKeyStore.Result later = store.createOnce(1L, "key-a", REQUEST, this::create);
+
+        // Then
+        assertFalse(later.replayed());
+        assertEquals(2, creates.get());
+    }
+
+    @Test
+    void testCreateOnce_EvictsBeyondMaximumSize() {
+        // When
+        store.createOnce(1L, "key-1", REQUEST, this::create);
+        store.createOnce(1L, "key-2", REQUEST, this::create);
+        store.createOnce(1L, "key-3", REQUEST, this::create);
+
+        // Then
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testCreateOnce_RejectsInvalidKeys() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> store.createOnce(1L, " ", REQUEST, this::create));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.createOnce(1L, "k".repeat(IdempotencyKeyStore.MAX_KEY_LENGTH + 1), REQUEST, this::create));
+        assertEquals(0, creates.get());
+    }
+
+    @Test
+    void testCreateOnce_ConcurrentRetryWaitsForFirstRequest() throws Exception {
+        // Given - the first request is still creating when the retry arrives
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<IdempotencyKeyStore.Result> first = executor.submit(() -> store.createOnce(1L, "key-a", REQUEST, () -> {
+                creating.countDown();
+                await(release);
+                return create();
+            }));
+            assertTrue(creating.await(5, TimeUnit.SECONDS));
+            Future<IdempotencyKeyStore.Result> retry = executor.submit(() -> store.createOnce(1L, "key-a", REQUEST, this::create));
+
+            // When
+            release.countDown();
+
+            // Then
+            assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+            assertTrue(retry.get(5, TimeUnit.SECONDS).replayed());
+            assertSame(first.get().expense(), retry.get().expense());
+            assertEquals(1, creates.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCreateOnce_KeyReusedForDifferentRequest() {
+        // Given
+        store.createOnce(1L, "key-a", REQUEST, this::create);
+        byte[] other = "{\"amount\":20.00}".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        assertThrows(IdempotencyKeyStore.KeyReusedException.class,
+                () -> store.createOnce(1L, "key-a", other, this::create));
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void testCreateOnce_RetryGivesUpWaitingForSlowFirstRequest() throws Exception {
+        // Given - the first request is still creating when the retry stops waiting
+        IdempotencyKeyStore impatient = new IdempotencyKeyStore(2, Duration.ofHours(24), Duration.ofMillis(50), nanos::get);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotencyKeyStore.Result> first = executor.submit(() -> impatient.createOnce(1L, "key-a", REQUEST, () -> {
+                creating.countDown();
+                await(release);
+                return create();
+            }));
+            assertTrue(creating.await(5, TimeUnit.SECONDS));
+
+            // When & Then
+            assertThrows(IdempotencyKeyStore.InProgressException.class,
+                    () -> impatient.createOnce(1L, "key-a", REQUEST, this::create));
+            release.countDown();
+            assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+            assertTrue(impatient.createOnce(1L, "key-a", REQUEST, this::create).replayed());
+            assertEquals(1, creates.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Expense create() {
+        Expense expense = new Expense(new BigDecimal("10.00"), "Food", LocalDate.now(), PaymentMethod.CASH, null);
+        expense.setId((long) creates.incrementAndGet());
+        return expense;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.expensetracker.app.service;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for VerifiedTokenCache
+ */
+class VerifiedTokenCacheTest {
+    
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(2, Duration.ofMinutes(15), Runnable::run);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    @BeforeEach
+    void setUp() {
+        cache.bindTo(registry);
+    }
+    
+    @Test
+    void testGetSubject_HitAfterPut() {
+        // Given
+        cache.put("token-a", "alice", inMinutes(5));
+        
+        // When & Then
+        assertEquals("alice", cache.getSubject("token-a"));
+        assertNull(cache.getSubject("token-b"));
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+    
+    @Test
+    void testPut_IgnoresExpiredOrUnboundedTokens() {
+        // When
+        cache.put("expired", "alice", new Date(System.currentTimeMillis() - 1000));
+        cache.put("no-expiry", "alice", null);
+        
+        // Then
+        assertNull(cache.getSubject("expired"));
+        assertNull(cache.getSubject("no-expiry"));
+    }
+    
+    @Test
+    void testGetSubject_HonoursTokenExpiry() throws InterruptedException {
+        // Given
+        cache.put("short-lived", "alice", new Date(System.currentTimeMillis() + 50));
+        
+        // When
+        Thread.sleep(100);
+        
+        // Then
+        assertNull(cache.getSubject("short-lived"));
+    }
+    
+    @Test
+    void testPut_EvictsBeyondMaximumSize() {
+        // When
+        cache.put("token-1", "alice", inMinutes(5));
+        cache.put("token-2", "bob", inMinutes(5));
+        cache.put("token-3", "carol", inMinutes(5));
+        
+        // Then
+        assertEquals(2.0, meter("cache.size").gauge().value());
+        assertEquals(1.0, meter("cache.evictions").functionCounter().count());
+    }
+    
+    private double gets(String result) {
+        return meter("cache.gets").tag("result", result).functionCounter().count();
+    }
+    
+    private RequiredSearch meter(String name) {
+        return registry.get(name).tag("cache", VerifiedTokenCache.CACHE_NAME);
+    }
+    
+    private static Date inMinutes(int minutes) {
+        return new Date(System.currentTimeMillis() + Duration.ofMinutes(minutes).toMillis());
+    }
+}
@@ -0,0 +1,132 @@
+-- schema.sql as it was before the category dictionary, for CategoryMigrationTest
+-- Expense Tracker Database Schema
+-- This script creates the database schema for the expense tracker application
+
+-- Create users table
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    budget DECIMAL(10, 2) DEFAULT 0.00,
+    data_version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Databases created before data_version existed
+ALTER TABLE users ADD COLUMN IF NOT EXISTS data_version BIGINT NOT NULL DEFAULT 0;
+
+-- Create indexes for users table
+CREATE INDEX IF NOT EXISTS idx_username ON users (username);
+CREATE INDEX IF NOT EXISTS idx_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_created_at ON users (created_at);
+
+-- Create expenses table
+CREATE TABLE IF NOT EXISTS expenses (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL CHECK (amount > 0),
+    category VARCHAR(50) NOT NULL,
+    expense_date DATE NOT NULL,
+    payment_method VARCHAR(10) NOT NULL CHECK (payment_method IN ('CASH', 'UPI')),
+
+    -- Cash specific fields
+    cash_amount DECIMAL(10, 2) DEFAULT 0.00,
+
+    -- UPI specific fields
+    upi_amount DECIMAL(10, 2) DEFAULT 0.00,
+    upi_vpa VARCHAR(100),
+    transaction_id VARCHAR(100),
+    payer_name VARCHAR(100),
+
+    -- Common fields
+    notes TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    -- Foreign key constraint
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Create indexes for expenses table
+CREATE INDEX IF NOT EXISTS idx_expense_date ON expenses (expense_date);
+CREATE INDEX IF NOT EXISTS idx_category ON expenses (category);
+CREATE INDEX IF NOT EXISTS idx_payment_method ON expenses (payment_method);
+CREATE INDEX IF NOT EXISTS idx_created_at ON expenses (created_at);
+-- User-leading indexes: every API query is scoped by WHERE user_id = ?
+-- (checked by ExpenseQueryPlanTest, which fails the build when a query falls back to a scan)
+-- Listing, date ranges, keyset pagination and export: ORDER BY expense_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_expenses_user_date_id ON expenses (user_id, expense_date DESC, id DESC);
+-- Category filter (optionally with a date range), per-user category totals and distinct categories
+CREATE INDEX IF NOT EXISTS idx_expenses_user_category_date ON expenses (user_id, category, expense_date);
+-- Payment method filter (optionally with a date range) and per-user payment method totals
+CREATE INDEX IF NOT EXISTS idx_expenses_user_payment_date ON expenses (user_id, payment_method, expense_date);
+
+-- Per-user expense aggregates, maintained incrementally on every expense write
+CREATE TABLE IF NOT EXISTS user_expense_summaries (
+    user_id BIGINT PRIMARY KEY,
+    total_amount DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    cash_amount DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    upi_amount DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    cash_count BIGINT NOT NULL DEFAULT 0,
+    upi_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS user_category_totals (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_user_category_totals UNIQUE (user_id, category),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Per-user monthly rollups behind the report endpoints; the unique key leads with
+-- (user_id, expense_year, expense_month) so a month's rows are one index range
+CREATE TABLE IF NOT EXISTS user_monthly_totals (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    expense_year INT NOT NULL,
+    expense_month INT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    payment_method VARCHAR(10) NOT NULL,
+    total_amount DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_user_monthly_totals UNIQUE (user_id, expense_year, expense_month, category, payment_method),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Aggregates built before the monthly rollups existed are dropped and rebuilt on next use
+DELETE FROM user_expense_summaries s
+WHERE NOT EXISTS (SELECT 1 FROM user_monthly_totals m WHERE m.user_id = s.user_id);
+
+-- Create categories table for reference (optional enhancement)
+CREATE TABLE IF NOT EXISTS categories (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    description TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Insert default categories
+INSERT INTO categories (name, description) VALUES
+('Food', 'Food and dining expenses'),
+('Travel', 'Transportation and travel expenses'),
+('Utilities', 'Utility bills and services'),
+('Entertainment', 'Entertainment and leisure activities'),
+('Healthcare', 'Medical and healthcare expenses'),
+('Shopping', 'Shopping and retail purchases'),
+('Education', 'Educational expenses'),
+('Miscellaneous', 'Other miscellaneous expenses');
+
+-- Insert demo user (password: demo)
+INSERT INTO users (username, email, password, budget) VALUES
+('demo', 'demo@example.com', '$2a$10$8K2LZ5fHvqQ3Jc8QyQX5Ue4oKoEa3Ro9llC/.og/at2.uheWG/igi', 5000.00);
+
+-- Note: Views removed for H2 compatibility
+-- They can be added back when using a different database